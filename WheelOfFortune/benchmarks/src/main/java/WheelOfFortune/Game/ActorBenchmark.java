@@ -0,0 +1,132 @@
+package WheelOfFortune.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark of many threads driving one {@link GameActor} at once.
+ * <p>Each producer thread plays one seat. It reads the latest {@link GameState} and when it shows the seat's turn,
+ * submits the command that state calls for and waits to be called back before the next one. Producers that share a
+ * seat race for every turn of it, and the losers are turned away by the actor. Prints commands applied per second, games per second, how many commands were turned away and how
+ * many commands the actor applied per snapshot.</p>
+ * <p>With {@code --locked} the same commands are applied by the producers themselves under one lock, with a snapshot
+ * after every command, to compare with the actor.</p>
+ * <pre>java -cp benchmarks/target/benchmarks.jar WheelOfFortune.Game.ActorBenchmark --producers 8 --players 4 --seconds 10</pre>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameActor
+ */
+public class ActorBenchmark {
+	int producers = Runtime.getRuntime().availableProcessors() * 2;
+	int players = 2;
+	int seconds = 10;
+	boolean locked;
+	GameActor actor;
+	final LongAdder commands = new LongAdder();
+	final LongAdder rejected = new LongAdder();
+	volatile boolean running = true;
+
+	public static void main(String[] args) throws Exception {
+		ActorBenchmark benchmark = new ActorBenchmark();
+		for (int n = 0; n < args.length; n++) {
+			switch (args[n]) {
+				case "--producers":
+					benchmark.producers = Integer.parseInt(args[++n]);
+					break;
+				case "--players":
+					benchmark.players = Integer.parseInt(args[++n]);
+					break;
+				case "--seconds":
+					benchmark.seconds = Integer.parseInt(args[++n]);
+					break;
+				case "--locked":
+					benchmark.locked = true;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[n]);
+			}
+		}
+		benchmark.run();
+	}
+
+	/**
+	 * Runs the benchmark and prints the results.
+	 */
+	void run() throws Exception {
+		actor = new GameActor(players, null, new PhraseScheduler(Game.phraseCount(null), GameRandom.nextSeed()), null);
+		List<Thread> threads = new ArrayList<>();
+		for (int n = 0; n < producers; n++) {
+			int seat = n % players;
+			Thread thread = new Thread(() -> produce(seat), "producer" + n);
+			thread.setDaemon(true);
+			threads.add(thread);
+		}
+		long start = System.nanoTime();
+		for (Thread thread : threads) thread.start();
+		Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+		running = false;
+		for (Thread thread : threads) thread.join();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		actor.close();
+
+		GameState state = actor.state();
+		System.out.printf("producers:      %d on %d seats, %s%n", producers, players, locked ? "one lock" : "actor");
+		System.out.printf("commands/sec:   %.0f%n", commands.sum() / elapsed);
+		System.out.printf("games/sec:      %.1f%n", state.games / elapsed);
+		System.out.printf("turned away:    %.1f%%%n", 100.0 * rejected.sum() / commands.sum());
+		if (!locked) System.out.printf("per snapshot:   %.2f commands%n", (double) actor.applied / actor.batches);
+		if (actor.applied != commands.sum()) throw new IllegalStateException("Applied " + actor.applied + " of " + commands.sum());
+	}
+
+	/**
+	 * Plays a seat until the benchmark ends, one command at a time.
+	 */
+	void produce(int seat) {
+		Thread producer = Thread.currentThread();
+		while (running) {
+			GameState state = actor.state();
+			if (state.currentPlayer != seat) {
+				Thread.yield();
+				continue;
+			}
+			GameActor.Command command = new GameActor.Command(next(state), seat, letter(state), done -> LockSupport.unpark(producer));
+			if (locked) {
+				synchronized (actor) {
+					// The actor's thread never has anything to take, so the producers can play its game under the lock.
+					actor.apply(command);
+					actor.state = new GameState(actor);
+					command.state = actor.state;
+				}
+			} else {
+				actor.submit(command);
+				while (command.state() == null) LockSupport.park(this);
+			}
+			commands.increment();
+			String outcome = command.outcome();
+			if (outcome.equals("notYourTurn") || outcome.equals("expecting")) rejected.increment();
+		}
+	}
+
+	/**
+	 * @return Command the state calls for: a letter after a money spin, otherwise a spin (String)
+	 */
+	static String next(GameState state) {
+		return state.expecting().equals("letter") ? "LETTER" : "SPIN";
+	}
+
+	/**
+	 * @return The most common letter not guessed yet, with vowels only if the current player can buy one (String)
+	 */
+	static String letter(GameState state) {
+		boolean canBuyVowel = state.money(state.currentPlayer) >= 200;
+		for (int n = 0; n < ServerBenchmark.LETTER_FREQUENCY.length(); n++) {
+			char letter = ServerBenchmark.LETTER_FREQUENCY.charAt(n);
+			if (!state.guessed(letter) && (canBuyVowel || !FrequencyPolicy.isVowel(letter))) return String.valueOf(letter);
+		}
+		return "z";
+	}
+}
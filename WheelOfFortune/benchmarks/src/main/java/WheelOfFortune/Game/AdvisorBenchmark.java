@@ -0,0 +1,67 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Advisor} decisions after two correct letters, against the generated corpus of the
+ * {@link SolverBenchmark}.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Advisor
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Thread)
+public class AdvisorBenchmark {
+	static final int GAMES = 1024;
+
+	@Param({"10000", "1000000"})
+	int corpusSize;
+
+	PhraseIndex index;
+	Advisor advisor;
+	Engine[] engines = new Engine[GAMES];
+	Random random = new Random(1);
+	int next;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String[] phrases = SolverBenchmark.corpus(corpusSize, random);
+		index = new PhraseIndex(phrases);
+		advisor = new Advisor(index);
+
+		for (int n = 0; n < GAMES; n++) {
+			Game game = new Game(phrases[random.nextInt(corpusSize)]);
+			game.setNumberOfPlayers(2);
+			game.currentPlayerAddMoney(1000);
+			engines[n] = new Engine(game);
+			engines[n].guessLetter('t');
+			engines[n].guessLetter('n');
+		}
+	}
+
+	/**
+	 * Decision with an empty cache, valuing every state looked ahead to.
+	 */
+	@Benchmark
+	public Advisor.Advice cold() {
+		Arrays.fill(advisor.keys, 0);
+		return advisor.advise(engines[next++ & (GAMES - 1)]);
+	}
+
+	/**
+	 * Decision in a game advised on before, as for a hint shown again or a bot asking every turn.
+	 */
+	@Benchmark
+	public Advisor.Advice warm() {
+		return advisor.advise(engines[next++ & 7]);
+	}
+}
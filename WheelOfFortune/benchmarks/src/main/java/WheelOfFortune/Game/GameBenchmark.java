@@ -0,0 +1,61 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of letter guesses against the game phrase.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game#compareGuessToPhrase(char)
+ * @see Game#checkGuessErrors(char)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+	static final String LETTERS = "etaoinshrdlcumwfgypbvkjxqz";
+
+	@Param({"its not rocket science", "kill two birds with one stone and then some more birds with another stone"})
+	String phrase;
+
+	Game game;
+
+	@Setup
+	public void setup() {
+		game = new Game(phrase);
+		game.setNumberOfPlayers(2);
+	}
+
+	/**
+	 * Reveals one letter on a fresh board. Measures the cost of a guess that finds letters.
+	 */
+	@Benchmark
+	public int compareGuessToPhrase() {
+		game.lettersRevealed = 0;
+		return game.compareGuessToPhrase('e');
+	}
+
+	/**
+	 * Checks a consonant that hasn't been found, the most common path through the error checks.
+	 */
+	@Benchmark
+	public String checkGuessErrors() {
+		return game.checkGuessErrors('t');
+	}
+
+	/**
+	 * Sets up the phrase and reveals every letter, one full round of guesses.
+	 */
+	@Benchmark
+	public boolean revealWholePhrase() {
+		game.setPhrase(phrase);
+		for (int n = 0; n < LETTERS.length(); n++) game.compareGuessToPhrase(LETTERS.charAt(n));
+		return game.phraseFound();
+	}
+}
@@ -0,0 +1,108 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of recording games to a {@link GameJournal} and recovering them.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameJournal
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalBenchmark {
+	static final String LETTERS = "tnshrdlcmwfgypbvkjxqzeaoiu";
+
+	/**
+	 * Rounds recorded before recovering.
+	 */
+	@Param({"1000", "10000"})
+	int rounds;
+
+	/**
+	 * Records between snapshots. A huge interval means recovery replays the whole journal.
+	 */
+	@Param({"1000", "1000000000"})
+	int snapshotInterval;
+
+	Path directory;
+	WheelLayout layout;
+	GameJournal appending;
+	Engine engine;
+	Random random = new Random(1);
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		layout = WheelLayout.defaultLayout();
+		directory = Files.createTempDirectory("journal");
+		GameJournal journal = new GameJournal(directory, false);
+		journal.snapshotInterval = snapshotInterval;
+		Engine recorded = newGame(journal);
+		for (int n = 0; n < rounds; n++) recorded = playRound(journal, recorded);
+		journal.close();
+
+		appending = new GameJournal(Files.createTempDirectory("journal"), false);
+		engine = newGame(appending);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		appending.close();
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	/**
+	 * Recovers the last game from the journal recorded in setup.
+	 */
+	@Benchmark
+	public Engine recover() throws IOException {
+		return GameJournal.recover(directory, layout);
+	}
+
+	/**
+	 * Plays one round with a journal attached. Measures what recording costs the game thread.
+	 */
+	@Benchmark
+	public Engine playRoundWithJournal() {
+		engine = playRound(appending, engine);
+		return engine;
+	}
+
+	Engine newGame(GameJournal journal) {
+		Game game = new Game();
+		game.setNumberOfPlayers(3);
+		game.randomPlayer();
+		Engine started = new Engine(game, layout);
+		journal.attach(started);
+		return started;
+	}
+
+	/**
+	 * Spins and guesses the next letter, starting a new game once the phrase is found.
+	 */
+	Engine playRound(GameJournal journal, Engine playing) {
+		if (!playing.spin(new Quadratic(random.nextDouble() * 2 + 1, random.nextDouble() * 20 + 40)).equals("money")) return playing;
+		for (int n = 0; n < LETTERS.length(); n++) {
+			char letter = LETTERS.charAt(n);
+			if (playing.guessed(letter)) continue;
+			playing.guessLetter(letter);
+			break;
+		}
+		return playing.solved() ? newGame(journal) : playing;
+	}
+}
@@ -0,0 +1,64 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of full phrase guesses against the game phrase.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see PhraseMatcher
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhraseMatchBenchmark {
+
+	@Param({"its not rocket science", "kill two birds with one stone and then some more birds with another stone"})
+	String phrase;
+
+	@Param({"0", "2"})
+	int maxEdits;
+
+	PhraseMatcher matcher;
+	String exact;
+	String typo;
+	String miss;
+
+	@Setup
+	public void setup() {
+		matcher = new PhraseMatcher(phrase);
+		exact = "  " + phrase.toUpperCase().replace(" ", "  ") + "!";
+		typo = phrase.substring(0, phrase.length() / 2) + "x" + phrase.substring(phrase.length() / 2 + 1);
+		miss = "wheel of fortune";
+	}
+
+	/**
+	 * A correct guess with different case, spacing and punctuation.
+	 */
+	@Benchmark
+	public boolean exactGuess() {
+		return matcher.matches(exact, maxEdits);
+	}
+
+	/**
+	 * A guess one substitution away from the phrase.
+	 */
+	@Benchmark
+	public boolean typoGuess() {
+		return matcher.matches(typo, maxEdits);
+	}
+
+	/**
+	 * A guess of a different phrase.
+	 */
+	@Benchmark
+	public boolean missedGuess() {
+		return matcher.matches(miss, maxEdits);
+	}
+}
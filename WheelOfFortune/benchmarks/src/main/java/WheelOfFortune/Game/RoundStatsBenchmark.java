@@ -0,0 +1,77 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of appending rounds to the stats store and of aggregates over every round kept.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see RoundStats
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Thread)
+public class RoundStatsBenchmark {
+
+	@Param({"4194304"})
+	int rows;
+
+	RoundStats stats;
+	SplittableRandom random;
+
+	@Setup
+	public void setup() {
+		random = new SplittableRandom(1);
+		stats = new RoundStats(rows);
+		for (int n = 0; n < rows; n++) appendRandom();
+	}
+
+	void appendRandom() {
+		int sector = random.nextInt(8);
+		int flags = (random.nextInt(6) == 0 ? RoundStats.FIRST : 0) | (sector == 1 ? RoundStats.BANKRUPT : 0);
+		boolean won = random.nextInt(6) == 0;
+		if (won) flags |= RoundStats.WON;
+		stats.append(random.nextInt(3), sector, random.nextInt(4), random.nextInt(2), flags, random.nextInt(1000),
+				won ? 5000 : 0, won ? 4750 : 0);
+	}
+
+	/**
+	 * Appends one round to a full store, which retires a chunk every 65,536 rounds.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public void append() {
+		appendRandom();
+	}
+
+	/**
+	 * Scans the flags column.
+	 */
+	@Benchmark
+	public double bankruptcyRate() {
+		return stats.bankruptcyRate();
+	}
+
+	/**
+	 * Scans the flags and seat columns.
+	 */
+	@Benchmark
+	public double winShare() {
+		return stats.winShare(0);
+	}
+
+	/**
+	 * Scans the sector and earned columns.
+	 */
+	@Benchmark
+	public double[] averageEarningsBySector() {
+		return stats.averageEarningsBySector(8);
+	}
+}
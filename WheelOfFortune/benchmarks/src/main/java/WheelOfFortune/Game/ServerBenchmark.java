@@ -0,0 +1,164 @@
+package WheelOfFortune.Game;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency benchmark of the {@link GameServer} over loopback.
+ * <p>Starts a server in this process, then plays full games in many rooms at once with scripted
+ * {@link GameClient}s, two players per room. Every command is timed from sending it to receiving the
+ * {@code TURN} that follows it. Prints commands per second, latency percentiles and rooms per event loop.</p>
+ * <pre>java -cp benchmarks/target/benchmarks.jar WheelOfFortune.Game.ServerBenchmark --rooms 1000 --loops 4 --seconds 20</pre>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameServer
+ */
+public class ServerBenchmark {
+	static final String LETTER_FREQUENCY = "etaoinshrdlcumwfgypbvkjxqz";
+
+	int rooms = 1000;
+	int loops = Runtime.getRuntime().availableProcessors();
+	int seconds = 20;
+	final LongAdder commands = new LongAdder();
+	final LongAdder games = new LongAdder();
+	/**
+	 * Latency histogram with one bucket per power of two microseconds.
+	 */
+	final AtomicLongArray latencies = new AtomicLongArray(40);
+	volatile boolean running = true;
+
+	public static void main(String[] args) throws Exception {
+		ServerBenchmark benchmark = new ServerBenchmark();
+		for (int n = 0; n + 1 < args.length; n += 2) {
+			switch (args[n]) {
+				case "--rooms":
+					benchmark.rooms = Integer.parseInt(args[n + 1]);
+					break;
+				case "--loops":
+					benchmark.loops = Integer.parseInt(args[n + 1]);
+					break;
+				case "--seconds":
+					benchmark.seconds = Integer.parseInt(args[n + 1]);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[n]);
+			}
+		}
+		benchmark.run();
+	}
+
+	/**
+	 * Runs the benchmark and prints the results.
+	 */
+	void run() throws Exception {
+		try (GameServer server = new GameServer(0, loops, null)) {
+			CountDownLatch seated = new CountDownLatch(rooms);
+			List<Thread> players = new ArrayList<>();
+			for (int n = 0; n < rooms; n++) {
+				String room = "room" + n;
+				Thread thread = new Thread(() -> play(server.port(), room, seated), room);
+				thread.setDaemon(true);
+				thread.start();
+				players.add(thread);
+			}
+			seated.await();
+
+			long start = System.nanoTime();
+			Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+			running = false;
+			double elapsed = (System.nanoTime() - start) / 1e9;
+			for (Thread thread : players) thread.join(1000);
+
+			System.out.printf("rooms:          %d on %d event loops (%.1f rooms per loop)%n", rooms, loops, (double) rooms / loops);
+			System.out.printf("commands/sec:   %.0f%n", commands.sum() / elapsed);
+			System.out.printf("games/sec:      %.1f%n", games.sum() / elapsed);
+			System.out.printf("latency p50:    %s%n", percentile(0.5));
+			System.out.printf("latency p99:    %s%n", percentile(0.99));
+			System.out.printf("latency p99.9:  %s%n", percentile(0.999));
+		}
+	}
+
+	/**
+	 * Plays games in one room until the benchmark ends. Seat 0 watches the room's messages to decide what to do,
+	 * seat 1 reads the same broadcasts so its socket never backs up.
+	 */
+	void play(int port, String room, CountDownLatch seated) {
+		try (GameClient first = new GameClient("localhost", port); GameClient second = new GameClient("localhost", port)) {
+			GameClient[] seats = {first, second};
+			first.send("JOIN " + room + " 2");
+			first.readUntil("JOINED");
+			second.send("JOIN " + room + " 2");
+			second.readUntil("JOINED");
+			seated.countDown();
+
+			boolean[] guessed = new boolean[26];
+			String turn = readTurn(first, guessed);
+			second.readUntil("TURN");
+			while (running) {
+				String[] fields = turn.split(" ");
+				int seat = Integer.parseInt(fields[1]);
+				boolean canBuyVowel = Integer.parseInt(fields[3]) >= 200;
+				String command = fields[2].equals("letter") ? "LETTER " + nextLetter(guessed, canBuyVowel) : "SPIN";
+
+				long sent = System.nanoTime();
+				seats[seat].send(command);
+				String reply = seat == 0 ? readTurn(first, guessed) : second.readUntil("TURN");
+				record(System.nanoTime() - sent);
+				String other = seat == 0 ? second.readUntil("TURN") : readTurn(first, guessed);
+				turn = reply;
+				if (!reply.equals(other)) throw new IllegalStateException("Seats saw different turns: " + reply + " / " + other);
+			}
+		} catch (IOException e) {
+			if (running) e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Reads messages until the next {@code TURN}, forgetting the letters guessed when a new game starts.
+	 */
+	String readTurn(GameClient client, boolean[] guessed) throws IOException {
+		while (true) {
+			String line = client.readLine();
+			if (line.startsWith("TURN ")) return line;
+			if (line.startsWith("START ")) Arrays.fill(guessed, false);
+			if (line.startsWith("WON ")) games.increment();
+		}
+	}
+
+	/**
+	 * Picks the most common letter not guessed yet this game.
+	 */
+	char nextLetter(boolean[] guessed, boolean canBuyVowel) {
+		for (int n = 0; n < LETTER_FREQUENCY.length(); n++) {
+			char letter = LETTER_FREQUENCY.charAt(n);
+			if (guessed[letter - 'a'] || (!canBuyVowel && FrequencyPolicy.isVowel(letter))) continue;
+			guessed[letter - 'a'] = true;
+			return letter;
+		}
+		return 'z';
+	}
+
+	void record(long nanos) {
+		commands.increment();
+		long micros = Math.max(1, nanos / 1000);
+		latencies.incrementAndGet(Math.min(latencies.length() - 1, 63 - Long.numberOfLeadingZeros(micros)));
+	}
+
+	String percentile(double fraction) {
+		long total = 0;
+		for (int n = 0; n < latencies.length(); n++) total += latencies.get(n);
+		long seen = 0;
+		for (int n = 0; n < latencies.length(); n++) {
+			seen += latencies.get(n);
+			if (seen >= total * fraction) return "< " + (1L << (n + 1)) + " us";
+		}
+		return "n/a";
+	}
+}
@@ -0,0 +1,94 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link SolverPolicy} decisions against a generated corpus.
+ * <p>Phrases are two to five made up words with English letter frequencies, so groups of the same shape are
+ * about as big as they would be in a real corpus of the same size.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see SolverPolicy
+ * @see PhraseIndex
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@State(Scope.Thread)
+public class SolverBenchmark {
+	static final String LETTERS = "eeeeeeeeeeeetttttttttaaaaaaaaooooooooiiiiiiinnnnnnnsssssshhhhhhrrrrrrddddllllcccuuummwwffggyyppbbvkjxqz";
+	static final int GAMES = 1024;
+
+	@Param({"10000", "1000000"})
+	int corpusSize;
+
+	PhraseIndex index;
+	Engine[] engines = new Engine[GAMES];
+	Random random = new Random(1);
+	int next;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String[] phrases = corpus(corpusSize, random);
+		index = new PhraseIndex(phrases);
+
+		for (int n = 0; n < GAMES; n++) {
+			Game game = new Game(phrases[random.nextInt(corpusSize)]);
+			game.setNumberOfPlayers(2);
+			game.currentPlayerAddMoney(1000);
+			engines[n] = new Engine(game);
+			engines[n].guessLetter('t');
+			engines[n].guessLetter('n');
+		}
+	}
+
+	/**
+	 * Generates a corpus of phrases of two to five made up words.
+	 *
+	 * @param size   Number of phrases (Integer)
+	 * @param random Random numbers to make them from (Random)
+	 * @return Phrases (String[])
+	 */
+	static String[] corpus(int size, Random random) {
+		String[] words = new String[30_000];
+		for (int n = 0; n < words.length; n++) {
+			StringBuilder word = new StringBuilder();
+			for (int letter = 2 + random.nextInt(8); letter > 0; letter--) word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+			words[n] = word.toString();
+		}
+		String[] phrases = new String[size];
+		for (int n = 0; n < size; n++) {
+			StringBuilder phrase = new StringBuilder(words[random.nextInt(words.length)]);
+			for (int word = 1 + random.nextInt(4); word > 0; word--) phrase.append(' ').append(words[random.nextInt(words.length)]);
+			phrases[n] = phrase.toString();
+		}
+		return phrases;
+	}
+
+	/**
+	 * First decision of a game, while every phrase of the board's shape is still possible.
+	 */
+	@Benchmark
+	public char firstLetter() {
+		Engine engine = engines[next++ & (GAMES - 1)];
+		int guessed = engine.guessedLetters;
+		engine.guessedLetters = 0;
+		char letter = new SolverPolicy(index).chooseLetter(engine, random);
+		engine.guessedLetters = guessed;
+		return letter;
+	}
+
+	/**
+	 * Decision after two letters have been guessed, which prunes the candidates twice and counts the rest.
+	 */
+	@Benchmark
+	public char letterAfterPruning() {
+		return new SolverPolicy(index).chooseLetter(engines[next++ & (GAMES - 1)], random);
+	}
+}
@@ -0,0 +1,215 @@
+package WheelOfFortune.Game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark of the {@link SpectatorFeed} fan-out of the {@link GameServer} over loopback.
+ * <p>Two scripted players play in one room as fast as they can while many spectators watch it. Some of the
+ * spectators are slow, reading a line every {@link SpectatorBenchmark#SLOW_READ_MILLIS} milliseconds through a small
+ * receive buffer, so the server has to coalesce them. Every spectator rebuilds the game with a {@link SpectatorFeed.View}. When the players stop, the view of every
+ * spectator is checked against the snapshot a new spectator is sent, and no view may have missed a delta without
+ * being sent a snapshot. Prints deltas delivered per second, how often slow spectators were coalesced and the checks.</p>
+ * <pre>java -cp benchmarks/target/benchmarks.jar WheelOfFortune.Game.SpectatorBenchmark --spectators 500 --slow 50 --seconds 10</pre>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Room#publish()
+ */
+public class SpectatorBenchmark {
+	static final String ROOM = "arena";
+	static final int SLOW_RECEIVE_BUFFER = 4096;
+	static final int SLOW_READ_MILLIS = 10;
+	static final int QUIET_MILLIS = 1000;
+
+	int spectators = 500;
+	int slow = 50;
+	int seconds = 10;
+	final ServerBenchmark script = new ServerBenchmark();
+	final LongAdder deltas = new LongAdder();
+	final LongAdder snapshots = new LongAdder();
+	/**
+	 * Snapshots that skipped deltas, sent to a spectator in place of what it couldn't keep up with.
+	 */
+	final LongAdder coalesced = new LongAdder();
+	final LongAdder skipped = new LongAdder();
+	final LongAdder outOfSync = new LongAdder();
+	volatile boolean running = true;
+
+	public static void main(String[] args) throws Exception {
+		SpectatorBenchmark benchmark = new SpectatorBenchmark();
+		for (int n = 0; n + 1 < args.length; n += 2) {
+			switch (args[n]) {
+				case "--spectators":
+					benchmark.spectators = Integer.parseInt(args[n + 1]);
+					break;
+				case "--slow":
+					benchmark.slow = Integer.parseInt(args[n + 1]);
+					break;
+				case "--seconds":
+					benchmark.seconds = Integer.parseInt(args[n + 1]);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[n]);
+			}
+		}
+		benchmark.run();
+	}
+
+	/**
+	 * Runs the benchmark and prints the results.
+	 */
+	void run() throws Exception {
+		try (GameServer server = new GameServer(0, 1, null);
+			 GameClient first = new GameClient("localhost", server.port());
+			 GameClient second = new GameClient("localhost", server.port())) {
+			first.send("JOIN " + ROOM + " 2");
+			first.readUntil("JOINED");
+			second.send("JOIN " + ROOM + " 2");
+			second.readUntil("JOINED");
+
+			CountDownLatch watching = new CountDownLatch(spectators);
+			Spectator[] watchers = new Spectator[spectators];
+			List<Thread> threads = new ArrayList<>();
+			for (int n = 0; n < spectators; n++) {
+				watchers[n] = new Spectator(server.port(), n < slow, watching);
+				Thread thread = new Thread(watchers[n], "spectator" + n);
+				thread.setDaemon(true);
+				thread.start();
+				threads.add(thread);
+			}
+			watching.await();
+
+			long start = System.nanoTime();
+			Thread player = new Thread(() -> play(first, second), "players");
+			player.start();
+			Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+			running = false;
+			player.join();
+			double elapsed = (System.nanoTime() - start) / 1e9;
+			for (Thread thread : threads) thread.join();
+
+			SpectatorFeed.View latest = new SpectatorFeed.View();
+			try (GameClient late = new GameClient("localhost", server.port())) {
+				late.send("WATCH " + ROOM);
+				late.readUntil("WATCHING");
+				latest.apply(late.readUntil("SNAP"));
+			}
+			int matching = 0;
+			for (Spectator watcher : watchers) {
+				SpectatorFeed.View view = watcher.view;
+				if (view.sequence == latest.sequence && view.player == latest.player
+						&& Arrays.equals(view.money, latest.money) && Arrays.equals(view.board, latest.board)) matching++;
+			}
+
+			System.out.printf("spectators:     %d (%d slow)%n", spectators, slow);
+			System.out.printf("commands/sec:   %.0f%n", script.commands.sum() / elapsed);
+			System.out.printf("deltas/sec:     %.0f delivered to all spectators%n", deltas.sum() / elapsed);
+			System.out.printf("snapshots:      %d, %d coalescing %d deltas%n", snapshots.sum(), coalesced.sum(), skipped.sum());
+			System.out.printf("out of sync:    %d%n", outOfSync.sum());
+			System.out.printf("latest state:   %d of %d spectators at sequence %d%n", matching, spectators, latest.sequence);
+		}
+	}
+
+	/**
+	 * Plays games until the benchmark ends, stopping after a whole command so the room is left between commands.
+	 */
+	void play(GameClient first, GameClient second) {
+		try {
+			GameClient[] seats = {first, second};
+			boolean[] guessed = new boolean[26];
+			String turn = script.readTurn(first, guessed);
+			second.readUntil("TURN");
+			while (running) {
+				String[] fields = turn.split(" ");
+				int seat = Integer.parseInt(fields[1]);
+				boolean canBuyVowel = Integer.parseInt(fields[3]) >= 200;
+				String command = fields[2].equals("letter") ? "LETTER " + script.nextLetter(guessed, canBuyVowel) : "SPIN";
+
+				long sent = System.nanoTime();
+				seats[seat].send(command);
+				turn = script.readTurn(first, guessed);
+				second.readUntil("TURN");
+				script.record(System.nanoTime() - sent);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * A spectator that rebuilds the game from the feed, until the feed has been quiet for a while after the players
+	 * stop. A slow spectator reads slowly while the players play.
+	 */
+	class Spectator implements Runnable {
+		final int port;
+		final boolean slow;
+		final CountDownLatch watching;
+		final SpectatorFeed.View view = new SpectatorFeed.View();
+
+		Spectator(int port, boolean slow, CountDownLatch watching) {
+			this.port = port;
+			this.slow = slow;
+			this.watching = watching;
+		}
+
+		@Override
+		public void run() {
+			try (Socket socket = new Socket()) {
+				if (slow) socket.setReceiveBufferSize(SLOW_RECEIVE_BUFFER);
+				socket.connect(new InetSocketAddress("localhost", port));
+				socket.setSoTimeout(QUIET_MILLIS);
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+				OutputStream out = socket.getOutputStream();
+				out.write(("WATCH " + ROOM + "\n").getBytes(StandardCharsets.ISO_8859_1));
+				out.flush();
+				while (true) {
+					String line;
+					try {
+						line = in.readLine();
+					} catch (SocketTimeoutException e) {
+						if (running) continue;
+						return;
+					}
+					if (line == null) return;
+					if (line.startsWith("WATCHING ")) watching.countDown();
+					else if (line.startsWith("SNAP ")) snapshot(line);
+					else if (view.apply(line)) {
+						deltas.increment();
+						if (view.outOfSync) outOfSync.increment();
+					}
+					if (slow && running) Thread.sleep(SLOW_READ_MILLIS);
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * Applies a snapshot, counting the deltas it stands in for. A new game's snapshot follows the last delta.
+		 */
+		void snapshot(String line) {
+			long expected = view.sequence + 1;
+			view.apply(line);
+			snapshots.increment();
+			if (expected > 0 && view.sequence > expected) {
+				coalesced.increment();
+				skipped.add(view.sequence - expected);
+			}
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the spin model and sector lookup.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Quadratic
+ * @see WheelLayout#sectorAt(double)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpinBenchmark {
+	Quadratic quadratic;
+	Engine engine;
+	WheelLayout layout;
+	double radians;
+
+	@Setup
+	public void setup() {
+		quadratic = new Quadratic();
+		layout = WheelLayout.defaultLayout();
+		Game game = new Game("wheel of fortune");
+		game.setNumberOfPlayers(2);
+		engine = new Engine(game, layout);
+	}
+
+	/**
+	 * One step of the quadratic, starting again from x = 0 when the quadratic reaches 0.
+	 */
+	@Benchmark
+	public double quadraticCalculate() {
+		double y = quadratic.calculate();
+		if (y == 0) quadratic.x = 0;
+		return y;
+	}
+
+	/**
+	 * Closed-form stop angle of a spin.
+	 */
+	@Benchmark
+	public double quadraticFinalAngle() {
+		return quadratic.finalAngle();
+	}
+
+	/**
+	 * A whole spin settled by the engine, including applying the sector landed.
+	 */
+	@Benchmark
+	public String engineSpin() {
+		return engine.spin(quadratic);
+	}
+
+	/**
+	 * Sector lookup for a rotation.
+	 */
+	@Benchmark
+	public int sectorAt() {
+		radians += 0.37;
+		return layout.sectorAt(radians);
+	}
+}
@@ -0,0 +1,65 @@
+package WheelOfFortune.Game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of turning and painting the wheel. The wheel is painted into an offscreen image,
+ * so these run headless.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Wheel#rotate(double)
+ * @see Wheel#paintComponent(Graphics)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class WheelBenchmark {
+
+	@Param({"400", "1000"})
+	int diameter;
+
+	Wheel wheel;
+	BufferedImage frame;
+	Graphics2D graphics;
+
+	@Setup
+	public void setup() {
+		wheel = new Wheel();
+		wheel.setBounds(0, 0, diameter, diameter + wheel.imageY * 2);
+		frame = new BufferedImage(diameter, diameter + wheel.imageY * 2, BufferedImage.TYPE_INT_ARGB_PRE);
+		graphics = frame.createGraphics();
+		for (int n = 0; n < Wheel.SPRITE_FRAMES; n++) wheel.sprites.frame(n, graphics);
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	/**
+	 * Turns the wheel by a typical frame's worth of rotation.
+	 */
+	@Benchmark
+	public int rotate() {
+		wheel.rotate(7.3);
+		return wheel.sectorLanded;
+	}
+
+	/**
+	 * Turns the wheel then paints it, one frame of the spin animation.
+	 */
+	@Benchmark
+	public BufferedImage paintComponent() {
+		wheel.rotate(7.3);
+		wheel.paintComponent(graphics);
+		return frame;
+	}
+}
@@ -0,0 +1,435 @@
+package WheelOfFortune.Game;
+
+import java.util.Arrays;
+
+/**
+ * Advises whether to spin again, buy a vowel or solve after a correct letter, by the money each is expected to win.
+ * <p>The phrases still possible come from a {@link PhraseIndex} pruned by every letter guessed, as in the
+ * {@link SolverPolicy}, and each is taken to be equally likely. Money only counts if the player wins, so every
+ * choice is valued as the prize, {@link Game#prizeMoneyTotal()}, times the chance of winning it before the turn is
+ * lost, and losing the turn is worth nothing:</p>
+ * <ul>
+ * <li>Solving now wins with the chance of guessing the phrase from the phrases still possible.</li>
+ * <li>Spinning loses the turn on bankrupt and next player sectors, with the sector sizes of the {@link WheelLayout}.
+ * A money sector adds the average money sector to the player, then the best consonant is guessed. Each pattern it
+ * could leave on the board adds {@link Game#rewardLettersFound(int)}, takes a guess off the bonus
+ * ({@link Game#bonusMoney(int)}) and leaves fewer phrases possible, and the player decides again from there.
+ * A letter in none of the phrases loses the turn.</li>
+ * <li>Buying a vowel is spinning then guessing the best vowel instead, paying {@link Game#vowelCost}.</li>
+ * </ul>
+ * <p>Decisions are looked ahead {@link Advisor#DEPTH} turns, after which solving is the only choice valued. Every
+ * state valued is memoized in a bounded direct-mapped cache keyed by a 64 bit fingerprint of the shape of the
+ * board, every letter guessed and the positions it was found at, the player's money, the guesses left and the
+ * depth. States are reached again and again by different orders of the same letters, by other players and by later
+ * games with the same phrase shape, so most answers are a few cache lookups. An advisor is used by one thread.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see SolverPolicy
+ * @see AdvisorPolicy
+ */
+public class Advisor {
+	/**
+	 * Turns looked ahead, set with {@code -Dwof.advisor.depth}.
+	 */
+	static final int DEPTH = Integer.getInteger("wof.advisor.depth", 2);
+	/**
+	 * Entries in the cache of state values, a power of two, set with {@code -Dwof.advisor.cacheSize}.
+	 */
+	static final int CACHE_SIZE = Integer.highestOneBit(Math.max(1, Integer.getInteger("wof.advisor.cacheSize", 1 << 16)));
+	static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+	/**
+	 * Once no more than one phrase in this many of the group is still possible, the phrases are grouped by the
+	 * positions of each letter read from the phrases themselves, rather than through the group's patterns.
+	 */
+	static final int SPARSE = 8;
+	/**
+	 * Most phrases still possible for a decision to be looked ahead more than one turn. With more, solving is so
+	 * unlikely to pay that looking further ahead never changes the advice, only what it costs.
+	 */
+	static final int LOOK_AHEAD_PHRASES = 256;
+
+	/**
+	 * Advice for one decision: the money each choice is expected to win and the best choice.
+	 */
+	public static class Advice {
+		double spin;
+		double vowel;
+		double solve;
+		/**
+		 * "spin", "vowel" or "solve".
+		 */
+		String best;
+		/**
+		 * Phrases still possible, or 0 if the phrase isn't in the index and only spinning is advised.
+		 */
+		int candidates;
+		/**
+		 * Phrase to guess when solving, the first of the phrases still possible.
+		 */
+		String phrase;
+
+		/**
+		 * @return "spin", "vowel" or "solve" (String)
+		 */
+		public String best() {
+			return best;
+		}
+
+		/**
+		 * @param choice "spin", "vowel" or "solve" (String)
+		 * @return Money the choice is expected to win (Double)
+		 */
+		public double expected(String choice) {
+			switch (choice) {
+				case "spin":
+					return spin;
+				case "vowel":
+					return vowel;
+				case "solve":
+					return solve;
+				default:
+					throw new IllegalArgumentException("Unknown choice: " + choice);
+			}
+		}
+
+		/**
+		 * @return Phrase to guess when solving, or null (String)
+		 */
+		public String phrase() {
+			return phrase;
+		}
+	}
+
+	PhraseIndex index;
+	/**
+	 * Layout of the wheel of the last game advised on, the chance a spin lands on money and the average money it lands
+	 * on when it does.
+	 */
+	WheelLayout layout;
+	double moneyChance;
+	int averageMoney;
+	/**
+	 * Tracks the phrases still possible in the game last advised on.
+	 */
+	SolverPolicy solver;
+	Game tracked;
+	PhraseIndex.Group group;
+	int vowelCost;
+	int letterReward;
+	/**
+	 * Fingerprints of the states cached, 0 for an empty entry, and their values.
+	 */
+	final long[] keys = new long[CACHE_SIZE];
+	final double[] values = new double[CACHE_SIZE];
+	long lookups;
+	long hits;
+
+	/**
+	 * @param index Index of the phrases the game can choose from (PhraseIndex)
+	 */
+	public Advisor(PhraseIndex index) {
+		this.index = index;
+	}
+
+	/**
+	 * Advises the current player after a correct letter.
+	 *
+	 * @param engine Engine playing the game (Engine)
+	 * @return Money each choice is expected to win and the best choice (Advice)
+	 */
+	public Advice advise(Engine engine) {
+		Game game = engine.game;
+		if (game != tracked) {
+			tracked = game;
+			solver = new SolverPolicy(index);
+		}
+		Advice advice = new Advice();
+		if (!solver.update(engine)) {
+			advice.best = "spin";
+			return advice;
+		}
+		group = solver.group;
+		if (engine.layout != layout || game.vowelCost != vowelCost || game.letterReward != letterReward) rules(engine);
+
+		long[] candidates = solver.candidates.clone();
+		int count = solver.candidateCount;
+		long fingerprint = mix(group.ids[0]);
+		for (int letters = engine.guessedLetters; letters != 0; letters &= letters - 1) {
+			int letter = Integer.numberOfTrailingZeros(letters);
+			fingerprint ^= mix(letter, PhraseIndex.pattern(game.guessBoard, (char) ('a' + letter)));
+		}
+		int money = game.currentPlayerMoney();
+		advice.candidates = count;
+		advice.phrase = solver.firstCandidate();
+		advice.solve = solveValue(count, money, game.guessCount);
+		advice.spin = DEPTH == 0 ? 0 : spinValue(candidates, count, engine.guessedLetters, fingerprint, money, game.guessCount, DEPTH, false);
+		advice.vowel = DEPTH == 0 ? 0 : spinValue(candidates, count, engine.guessedLetters, fingerprint, money, game.guessCount, DEPTH, true);
+		advice.best = advice.solve >= advice.spin && advice.solve >= advice.vowel ? "solve" : advice.vowel > advice.spin ? "vowel" : "spin";
+		return advice;
+	}
+
+	/**
+	 * Takes the sector sizes of the wheel, the cost of a vowel and the reward for a letter from an engine, and empties
+	 * the cache if any of them changed the values in it.
+	 *
+	 * @param engine Engine playing the game (Engine)
+	 */
+	void rules(Engine engine) {
+		layout = engine.layout;
+		vowelCost = engine.game.vowelCost;
+		letterReward = engine.game.letterReward;
+		double moneyRadians = 0;
+		for (int sector = 0; sector < layout.size(); sector++) {
+			if (layout.kinds[sector].equals("money")) moneyRadians += layout.starts[sector + 1] - layout.starts[sector];
+		}
+		moneyChance = moneyRadians / (Math.PI * 2);
+		averageMoney = moneyChance == 0 ? 0 : (int) Math.round(layout.expectedMoney() / moneyChance);
+		Arrays.fill(keys, 0);
+	}
+
+	/**
+	 * Values a decision: the best of solving, spinning and buying a vowel, or only solving at the end of the look ahead.
+	 *
+	 * @param candidates  Bitset of the phrases of the group still possible (long[])
+	 * @param count       Number of phrases still possible (Integer)
+	 * @param guessed     Letters guessed, bit n for letter 'a' + n (Integer)
+	 * @param fingerprint Fingerprint of the group and every letter guessed with its pattern (Long)
+	 * @param money       Player's money (Integer)
+	 * @param guessCount  Guesses left before the bonus runs out (Integer)
+	 * @param depth       Turns left to look ahead (Integer)
+	 * @return Money expected to be won (Double)
+	 */
+	double value(long[] candidates, int count, int guessed, long fingerprint, int money, int guessCount, int depth) {
+		double solve = solveValue(count, money, guessCount);
+		if (depth == 0 || count == 1) return solve;
+
+		long key = mix(fingerprint ^ mix((long) money << 32 | guessCount << 8 | depth));
+		if (key == 0) key = 1;
+		int slot = (int) (key ^ key >>> 32) & (CACHE_SIZE - 1);
+		lookups++;
+		if (keys[slot] == key) {
+			hits++;
+			return values[slot];
+		}
+		double best = Math.max(solve, Math.max(
+				spinValue(candidates, count, guessed, fingerprint, money, guessCount, depth, false),
+				spinValue(candidates, count, guessed, fingerprint, money, guessCount, depth, true)));
+		keys[slot] = key;
+		values[slot] = best;
+		return best;
+	}
+
+	/**
+	 * @return Money expected from solving now: the prize times the chance of picking the phrase (Double)
+	 */
+	double solveValue(int count, int money, int guessCount) {
+		return (double) (money + tracked.bonusMoney(guessCount)) / count;
+	}
+
+	/**
+	 * Values spinning then guessing the best consonant, or the best vowel.
+	 *
+	 * @param vowels True to buy a vowel after the spin (Boolean)
+	 * @return Money expected to be won, 0 if no letter can be guessed (Double)
+	 */
+	double spinValue(long[] candidates, int count, int guessed, long fingerprint, int money, int guessCount, int depth, boolean vowels) {
+		if (count > LOOK_AHEAD_PHRASES) depth = 1;
+		int afterSpin = money + averageMoney - (vowels ? vowelCost : 0);
+		if (vowels && money + averageMoney < vowelCost) return 0;
+		int[] phrasesWithLetter = phrasesWithLetter(candidates, count);
+		int[] members = null;
+		long[] positions = null;
+		if (count * SPARSE <= group.ids.length) {
+			members = members(candidates, count);
+			positions = positions(members);
+		}
+		double best = 0;
+		for (int letter = 0; letter < 26; letter++) {
+			if ((guessed & (1 << letter)) != 0 || FrequencyPolicy.isVowel((char) ('a' + letter)) != vowels) continue;
+			if (phrasesWithLetter[letter] == 0) continue;
+			double value = members == null
+					? letterValue(candidates, count, phrasesWithLetter[letter], guessed, fingerprint, afterSpin, guessCount, depth, letter)
+					: sparseLetterValue(members, positions, count, phrasesWithLetter[letter], guessed, fingerprint, afterSpin, guessCount, depth, letter);
+			best = Math.max(best, value);
+		}
+		return moneyChance * best;
+	}
+
+	/**
+	 * @param candidates Bitset of the phrases still possible (long[])
+	 * @param count      Number of phrases still possible (Integer)
+	 * @return Numbers in the group of the phrases still possible (int[])
+	 */
+	int[] members(long[] candidates, int count) {
+		int[] members = new int[count];
+		int n = 0;
+		for (int word = 0; word < candidates.length; word++) {
+			for (long bits = candidates[word]; bits != 0; bits &= bits - 1) members[n++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+		}
+		return members;
+	}
+
+	/**
+	 * Reads where each letter is in some phrases of the group.
+	 *
+	 * @param members Numbers in the group of the phrases (int[])
+	 * @return Positions of letter l in phrase n as bits, at {@code n * 26 + l} (long[])
+	 */
+	long[] positions(int[] members) {
+		long[] positions = new long[members.length * 26];
+		for (int n = 0; n < members.length; n++) {
+			String phrase = index.phrase(group.ids[members[n]]);
+			for (int position = 0; position < phrase.length(); position++) {
+				int letter = phrase.charAt(position) - 'a';
+				if (letter >= 0 && letter < 26) positions[n * 26 + letter] |= 1L << position;
+			}
+		}
+		return positions;
+	}
+
+	/**
+	 * Counts the phrases still possible with each letter, reading the group totals while every phrase is possible.
+	 *
+	 * @param candidates Bitset of the phrases still possible (long[])
+	 * @param count      Number of phrases still possible (Integer)
+	 * @return Number of phrases with each letter (int[])
+	 */
+	int[] phrasesWithLetter(long[] candidates, int count) {
+		if (count == group.ids.length) return group.phrasesWithLetter;
+		int[] phrasesWithLetter = new int[26];
+		byte[] letterCounts = group.letterCounts;
+		for (int word = 0; word < candidates.length; word++) {
+			for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+				int start = ((word << 6) + Long.numberOfTrailingZeros(bits)) * 26;
+				for (int letter = 0; letter < 26; letter++) {
+					if (letterCounts[start + letter] != 0) phrasesWithLetter[letter]++;
+				}
+			}
+		}
+		return phrasesWithLetter;
+	}
+
+	/**
+	 * Values guessing a letter, over every pattern it can leave on the board weighted by the phrases with that pattern.
+	 * Phrases without the letter lose the turn, so their pattern is skipped, and the patterns stop being looked at once
+	 * every phrase with the letter has been found. At the end of the look ahead only the number of phrases with each
+	 * pattern is needed, so the bitset isn't copied for them.
+	 *
+	 * @param withLetter Number of phrases still possible with the letter (Integer)
+	 * @param letter     Letter from 0 to 25 (Integer)
+	 * @return Money expected to be won (Double)
+	 */
+	double letterValue(long[] candidates, int count, int withLetter, int guessed, long fingerprint, int money, int guessCount, int depth, int letter) {
+		double total = 0;
+		int left = withLetter;
+		long[] matching = new long[candidates.length];
+		for (int pattern = group.patternStart[letter]; pattern < group.patternStart[letter + 1] && left > 0; pattern++) {
+			long positions = group.patterns[pattern];
+			if (positions == 0) continue;
+			int matches = intersect(candidates, pattern, matching);
+			if (matches == 0) continue;
+			left -= matches;
+			int found = Long.bitCount(positions);
+			int after = money + letterReward * found;
+			int guessesLeft = Math.max(0, guessCount - 1);
+			if (depth == 1 || matches == 1) total += matches * solveValue(matches, after, guessesLeft);
+			else total += matches * value(matching.clone(), matches, guessed | 1 << letter, fingerprint ^ mix(letter, positions),
+					after, guessesLeft, depth - 1);
+		}
+		return total / count;
+	}
+
+	/**
+	 * Values guessing a letter like {@link Advisor#letterValue}, for a few phrases whose positions have been read,
+	 * grouping them by pattern by sorting the positions of the letter in each.
+	 *
+	 * @param members   Numbers in the group of the phrases still possible (int[])
+	 * @param positions Positions of each letter in each of them (long[])
+	 * @return Money expected to be won (Double)
+	 */
+	double sparseLetterValue(int[] members, long[] positions, int count, int withLetter, int guessed, long fingerprint, int money, int guessCount, int depth, int letter) {
+		long[] patterns = new long[withLetter];
+		int size = 0;
+		for (int n = 0; n < members.length; n++) {
+			if (positions[n * 26 + letter] != 0) patterns[size++] = positions[n * 26 + letter];
+		}
+		Arrays.sort(patterns);
+		double total = 0;
+		int guessesLeft = Math.max(0, guessCount - 1);
+		int end = 0;
+		for (int start = 0; start < size; start = end) {
+			long pattern = patterns[start];
+			while (end < size && patterns[end] == pattern) end++;
+			int matches = end - start;
+			int after = money + letterReward * Long.bitCount(pattern);
+			if (depth == 1 || matches == 1) {
+				total += matches * solveValue(matches, after, guessesLeft);
+				continue;
+			}
+			long[] matching = new long[group.words];
+			for (int n = 0; n < members.length; n++) {
+				if (positions[n * 26 + letter] == pattern) matching[members[n] >>> 6] |= 1L << members[n];
+			}
+			total += matches * value(matching, matches, guessed | 1 << letter, fingerprint ^ mix(letter, pattern), after, guessesLeft, depth - 1);
+		}
+		return total / count;
+	}
+
+	/**
+	 * Finds the phrases still possible with a letter at exactly one pattern of positions.
+	 *
+	 * @param candidates Bitset of the phrases still possible (long[])
+	 * @param pattern    Index of the pattern in the group (Integer)
+	 * @param matching   Filled with the bitset of the phrases with the pattern (long[])
+	 * @return Number of phrases with the pattern (Integer)
+	 */
+	int intersect(long[] candidates, int pattern, long[] matching) {
+		int count = 0;
+		int bitset = group.bitsetStart[pattern];
+		if (bitset >= 0) {
+			for (int word = 0; word < candidates.length; word++) {
+				matching[word] = candidates[word] & group.bitsets[bitset + word];
+				count += Long.bitCount(matching[word]);
+			}
+			return count;
+		}
+		Arrays.fill(matching, 0);
+		for (int posting = group.postingStart[pattern]; posting < group.postingStart[pattern + 1]; posting++) {
+			int phrase = group.postings[posting];
+			long bit = candidates[phrase >>> 6] & (1L << phrase);
+			if (bit != 0) {
+				matching[phrase >>> 6] |= bit;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return Fingerprint of a letter found at a pattern of positions (Long)
+	 */
+	static long mix(int letter, long positions) {
+		return mix(positions * 31 + letter + 1);
+	}
+
+	/**
+	 * Scrambles the bits of a value so that fingerprints combined with XOR rarely collide.
+	 *
+	 * @param value Value to scramble (Long)
+	 * @return Scrambled value (Long)
+	 */
+	static long mix(long value) {
+		long mixed = value * MULTIPLIER;
+		mixed ^= mixed >>> 29;
+		mixed *= 0xBF58476D1CE4E5B9L;
+		return mixed ^ mixed >>> 32;
+	}
+
+	/**
+	 * @return Share of the states looked up that were already in the cache (Double)
+	 */
+	public double hitRate() {
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+}
@@ -0,0 +1,31 @@
+package WheelOfFortune.Game;
+
+/**
+ * Policy that guesses letters like the {@link SolverPolicy} but decides when to solve with an {@link Advisor},
+ * solving as soon as solving is expected to win more money than spinning again or buying a vowel.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Advisor
+ * @see Policy
+ */
+public class AdvisorPolicy extends SolverPolicy {
+	Advisor advisor;
+
+	/**
+	 * @param index   Index of the phrases the game can choose from (PhraseIndex)
+	 * @param advisor Advisor of the thread playing the game, kept from game to game for its cache (Advisor)
+	 */
+	public AdvisorPolicy(PhraseIndex index, Advisor advisor) {
+		super(index);
+		this.advisor = advisor;
+	}
+
+	@Override
+	public String solve(Engine engine) {
+		String phrase = super.solve(engine);
+		if (phrase != null || unknown) return phrase;
+		Advisor.Advice advice = advisor.advise(engine);
+		return advice.best.equals("solve") ? advice.phrase : null;
+	}
+}
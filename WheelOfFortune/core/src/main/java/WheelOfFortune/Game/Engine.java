@@ -0,0 +1,297 @@
+package WheelOfFortune.Game;
+
+/**
+ * Headless game engine for wheel of fortune.
+ * <p>Resolves spins and guesses against a {@link Game} without any Swing components, so the same turn flow
+ * can be driven by the {@link GUI}, the {@link Simulator} or a computer player.</p>
+ * <p>Every method that ends a player's turn also moves play on to the next player, the GUI only has to
+ * display the outcome.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game
+ * @see Quadratic
+ */
+public class Engine {
+	static final GameMetrics metrics = GameMetrics.get();
+
+	Game game;
+	WheelLayout layout;
+	double rotateByRadians;
+	int sectorLanded;
+	int spinValue;
+	int guessedLetters;
+	/**
+	 * Journal every change to the game is recorded in, or null. Set by {@link GameJournal#attach(Engine)}.
+	 */
+	GameJournal journal;
+	/**
+	 * False while a {@link GameJournal} replays a game through the engine, so replayed spins and guesses aren't
+	 * counted in the {@link Engine#metrics} or committed as {@link GameEvents} a second time.
+	 */
+	boolean observed = true;
+	/**
+	 * Store every round played is appended to, or null. Set by {@link RoundStats#attach(Engine)}.
+	 */
+	RoundStats stats;
+	/**
+	 * Round being played for the {@link Engine#stats}: the player, or -1 if no round has started since the last
+	 * ended, the sector landed, letters found, vowels bought, flags and the player's money when it started.
+	 */
+	int roundPlayer = -1;
+	int roundSector;
+	int roundLetters;
+	int roundVowels;
+	int roundFlags;
+	int roundMoney;
+	int roundsPlayed;
+
+	/**
+	 * Constructs an engine that plays the given game on the default wheel.
+	 *
+	 * @param game Game to play (Game)
+	 * @see WheelLayout#defaultLayout()
+	 */
+	public Engine(Game game) {
+		this(game, WheelLayout.defaultLayout());
+	}
+
+	/**
+	 * Constructs an engine that plays the given game on the given wheel.
+	 *
+	 * @param game   Game to play (Game)
+	 * @param layout Layout of the wheel (WheelLayout)
+	 */
+	public Engine(Game game, WheelLayout layout) {
+		this.game = game;
+		this.layout = layout;
+	}
+
+	/**
+	 * Adds the y value of a mathematical function to a rotation, keeping the result within one revolution.
+	 *
+	 * @param radians Current rotation in radians (Double)
+	 * @param y       Y value of a mathematical function in degrees (Double)
+	 * @return New rotation in radians (Double)
+	 * @see Wheel#rotate(double)
+	 */
+	public static double rotate(double radians, double y) {
+		return (radians + Math.toRadians(y)) % (Math.PI * 2);
+	}
+
+	/**
+	 * Spins the wheel straight to {@link Quadratic#finalAngle()}, the angle {@link GUI#wheelSpinAnimationGUI()} replays,
+	 * then applies the sector landed using {@link Engine#landOn(int)}. Costs the same however long the spin is.
+	 *
+	 * @param quadratic Quadratic to spin the wheel with (Quadratic)
+	 * @return Kind of sector landed (String)
+	 * @see Engine#landOn(int)
+	 */
+	public String spin(Quadratic quadratic) {
+		rotateByRadians = rotate(rotateByRadians, quadratic.finalAngle());
+		return landOn(layout.sectorAt(rotateByRadians));
+	}
+
+	/**
+	 * Applies the sector landed to the current player, using the value and kind the {@link WheelLayout} has for it.
+	 * Money sectors add {@link Engine#spinValue} to the current player, bankrupt sets the current player's money to 0
+	 * and moves to the next player, next player sectors only move to the next player.
+	 *
+	 * @param sector Sector landed (Integer)
+	 * @return "money", "bankrupt" or "nextPlayer" (String)
+	 */
+	public String landOn(int sector) {
+		if (journal != null) journal.land(sector, rotateByRadians, game.spins);
+		sectorLanded = sector;
+		spinValue = layout.values[sector];
+		String kind = layout.kinds[sector];
+		if (observed) metrics.landed(sector, kind);
+		if (stats != null) startRound(sector);
+		if (observed && GameEvents.recording) {
+			GameEvents.Landed event = new GameEvents.Landed();
+			event.sector = sector;
+			event.kind = kind;
+			event.value = spinValue;
+			event.player = game.currentPlayer;
+			event.commit();
+		}
+		switch (kind) {
+			case "money":
+				game.currentPlayerAddMoney(spinValue);
+				break;
+			case "bankrupt":
+				game.currentPlayerBankrupt();
+				if (stats != null) endRound(RoundStats.BANKRUPT);
+				game.nextPlayer();
+				break;
+			case "nextPlayer":
+				if (stats != null) endRound(0);
+				game.nextPlayer();
+				break;
+		}
+		return kind;
+	}
+
+	/**
+	 * Checks a letter guess for errors using {@link Game#checkGuessErrors(char)}.
+	 * Vowels are paid for when the check passes.
+	 *
+	 * @param letterGuess Player's letter guess (Character)
+	 * @return Description of outcome (String)
+	 * @see Game#checkGuessErrors(char)
+	 */
+	public String checkLetter(char letterGuess) {
+		if (journal != null) journal.letter(GameJournal.CHECK, letterGuess);
+		game.playerLetterGuess = letterGuess;
+		String check = game.checkGuessErrors(letterGuess);
+		if (stats != null && check.equals("guessVowel")) {
+			if (roundPlayer < 0) startRound(-1);
+			roundVowels++;
+		}
+		return check;
+	}
+
+	/**
+	 * Reveals a letter that has passed {@link Engine#checkLetter(char)} using {@link Game#checkGuessLetterFound(char)}.
+	 * Moves to the next player if the letter is not in the phrase.
+	 *
+	 * @param letterGuess Player's letter guess (Character)
+	 * @return True if the letter was found (Boolean)
+	 * @see Game#checkGuessLetterFound(char)
+	 */
+	public boolean revealLetter(char letterGuess) {
+		if (journal != null) journal.letter(GameJournal.REVEAL, letterGuess);
+		if (letterGuess >= 'a' && letterGuess <= 'z') guessedLetters |= 1 << (letterGuess - 'a');
+		int player = game.currentPlayer;
+		boolean found = game.checkGuessLetterFound(letterGuess);
+		if (observed) {
+			metrics.guessed();
+			if (GameEvents.recording) guessEvent(String.valueOf(letterGuess), found, player);
+		}
+		if (stats != null) {
+			if (roundPlayer < 0) startRound(-1);
+			if (found) roundLetters += game.lettersFound;
+			if (!found || game.phraseFound()) endRound(found ? RoundStats.WON : 0);
+		}
+		if (found) return true;
+		game.nextPlayer();
+		return false;
+	}
+
+	/**
+	 * Guesses a letter in one step by calling {@link Engine#checkLetter(char)} then {@link Engine#revealLetter(char)}.
+	 *
+	 * @param letterGuess Player's letter guess (Character)
+	 * @return "correct", "incorrect" or the error from {@link Game#checkGuessErrors(char)} (String)
+	 */
+	public String guessLetter(char letterGuess) {
+		String check = checkLetter(letterGuess);
+		if (!check.equals("guessVowel") && !check.equals("verifyLetter")) return check;
+		return revealLetter(letterGuess) ? "correct" : "incorrect";
+	}
+
+	/**
+	 * Guesses the full phrase. Moves to the next player if the guess is incorrect.
+	 *
+	 * @param phraseGuess Player's phrase guess (String)
+	 * @return True if the guess matches the game phrase (Boolean)
+	 * @see Game#comparePhraseToPhrase(String, String)
+	 */
+	public boolean guessPhrase(String phraseGuess) {
+		if (journal != null) journal.solve(phraseGuess);
+		game.playerFullGuess = phraseGuess;
+		boolean correct = game.comparePhraseToPhrase(phraseGuess, game.gamePhrase);
+		if (observed) {
+			metrics.guessed();
+			if (GameEvents.recording) guessEvent(phraseGuess, correct, game.currentPlayer);
+		}
+		if (stats != null) {
+			if (roundPlayer < 0) startRound(-1);
+			endRound(correct ? RoundStats.WON : 0);
+		}
+		if (correct) return true;
+		game.nextPlayer();
+		return false;
+	}
+
+	/**
+	 * Starts a round for the {@link Engine#stats}, ending the round before if the turn passed without the engine,
+	 * and remembers the current player's money so the round's earnings can be found when it ends.
+	 *
+	 * @param sector Sector landed, or -1 for a round that didn't start with a spin (Integer)
+	 */
+	void startRound(int sector) {
+		if (roundPlayer >= 0) endRound(0);
+		roundPlayer = game.currentPlayer;
+		roundSector = sector;
+		roundLetters = 0;
+		roundVowels = 0;
+		roundFlags = roundsPlayed++ == 0 ? RoundStats.FIRST : 0;
+		roundMoney = game.playerMoney[roundPlayer];
+	}
+
+	/**
+	 * Appends the round being played to the {@link Engine#stats}. A won round also records the prize and bonus.
+	 *
+	 * @param flags {@link RoundStats#BANKRUPT}, {@link RoundStats#WON} or 0 (Integer)
+	 */
+	void endRound(int flags) {
+		if (roundPlayer < 0) return;
+		boolean won = (flags & RoundStats.WON) != 0;
+		stats.append(roundPlayer, roundSector, roundLetters, roundVowels, roundFlags | flags,
+				game.playerMoney[roundPlayer] - roundMoney, won ? game.prizeMoneyTotal() : 0, won ? game.bonusMoney() : 0);
+		roundPlayer = -1;
+	}
+
+	/**
+	 * Commits a {@link GameEvents.Guess} event.
+	 */
+	void guessEvent(String guess, boolean correct, int player) {
+		GameEvents.Guess event = new GameEvents.Guess();
+		event.guess = guess;
+		event.correct = correct;
+		event.player = player;
+		event.commit();
+	}
+
+	/**
+	 * @return True if every letter of the phrase has been found (Boolean)
+	 */
+	public boolean solved() {
+		return game.phraseFound();
+	}
+
+	/**
+	 * @param letter Lowercase letter (Character)
+	 * @return True if the letter has already been guessed this game, found or not (Boolean)
+	 */
+	public boolean guessed(char letter) {
+		return (guessedLetters & (1 << (letter - 'a'))) != 0;
+	}
+
+	/**
+	 * @return True if the current player has enough money to guess a vowel (Boolean)
+	 */
+	public boolean canBuyVowel() {
+		return game.currentPlayerMoney() >= game.vowelCost;
+	}
+
+	/**
+	 * Checks if a phrase could be the game phrase given the letters revealed and the letters guessed so far.
+	 *
+	 * @param phrase Candidate phrase (String)
+	 * @return True if the phrase is consistent with the guess phrase (Boolean)
+	 */
+	public boolean consistent(String phrase) {
+		char[] board = game.guessBoard;
+		if (phrase.length() != board.length) return false;
+		for (int n = 0; n < phrase.length(); n++) {
+			char shown = board[n];
+			char actual = phrase.charAt(n);
+			if (shown == '-') {
+				if (actual < 'a' || actual > 'z' || guessed(actual)) return false;
+			} else if (shown != actual) return false;
+		}
+		return true;
+	}
+}
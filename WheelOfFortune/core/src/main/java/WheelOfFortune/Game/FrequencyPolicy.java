@@ -0,0 +1,42 @@
+package WheelOfFortune.Game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Policy that guesses letters in order of how often they appear in English.
+ * Vowels are skipped when the current player can't afford them.
+ * Only guesses the full phrase once every letter has been found, so it never knows the phrase before the board
+ * shows it. Solving from the phrases a game can choose from is left to the {@link SolverPolicy}.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Policy
+ */
+public class FrequencyPolicy implements Policy {
+	static final String LETTER_FREQUENCY = "etaoinshrdlcumwfgypbvkjxqz";
+
+	@Override
+	public char chooseLetter(Engine engine, RandomGenerator random) {
+		boolean canBuyVowel = engine.canBuyVowel();
+		for (int n = 0; n < LETTER_FREQUENCY.length(); n++) {
+			char letter = LETTER_FREQUENCY.charAt(n);
+			if (engine.guessed(letter)) continue;
+			if (!canBuyVowel && isVowel(letter)) continue;
+			return letter;
+		}
+		return 'a';
+	}
+
+	@Override
+	public String solve(Engine engine) {
+		return engine.solved() ? new String(engine.game.guessBoard) : null;
+	}
+
+	/**
+	 * @param letter Letter to check (Character)
+	 * @return True if the letter is a vowel (Boolean)
+	 */
+	static boolean isVowel(char letter) {
+		return letter == 'a' || letter == 'e' || letter == 'i' || letter == 'o' || letter == 'u';
+	}
+}
@@ -0,0 +1,394 @@
+package WheelOfFortune.Game;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ *Handles wheel of fortune game logic and data.
+ *@author Harry Bridgen
+ *@version 1.0
+ */
+public class Game {
+	static final String[] PHRASES = {"wheel of fortune", "kill two birds with one stone", "its raining cats and dogs", "knowledge is power", "early bird gets the worm", "its not rocket science"};
+
+	int[] playerMoney;
+	int currentPlayer;
+	int numberOfPlayers;
+	int guessCount = 20;
+	int lettersFound;
+	int vowelCost = 200;
+	int letterReward = 100;
+	char playerLetterGuess;
+	String playerFullGuess;
+	/**
+	 * Most edits a full phrase guess can be away from the phrase and still be correct, 0 for an exact match. A house
+	 * rule set by whatever runs the game, like {@link Game#vowelCost}. Case, spacing and punctuation never count.
+	 */
+	int maxGuessEdits;
+	String[] phrases = PHRASES;
+	String gamePhrase;
+	char[] guessBoard;
+	int lettersHidden;
+	int lettersRevealed;
+	int[] letterOffsets = new int[27];
+	int[] letterPositions;
+	/**
+	 * Canonical form of the game phrase that full phrase guesses are matched against.
+	 */
+	PhraseMatcher phraseMatcher;
+	/**
+	 * Seed of {@link Game#random} and of every spin. Playing the same moves in a game with the same seed and
+	 * {@link Game#phraseIndex} replays it exactly.
+	 */
+	long seed;
+	/**
+	 * Index of the phrase in the phrase pack or phrase string, or -1 if the game was given its phrase.
+	 */
+	int phraseIndex = -1;
+	/**
+	 * Random numbers for this game only: the phrase and the first player.
+	 */
+	SplittableRandom random;
+	/**
+	 * Spins drawn with {@link Game#nextSpin()}. A game restored with its seed and this count carries on with the
+	 * same spins.
+	 */
+	int spins;
+
+	/**
+	 *Constructs a new game with a random phrase from the phrase string, seeded from {@link GameRandom#nextSeed()}.
+	 * @see Game#setPhrase(String)
+	 */
+	public Game() {
+		this(GameRandom.nextSeed());
+	}
+
+	/**
+	 *Constructs a new game with a random phrase from the phrase string.
+	 * @param seed Seed of the game's random numbers (Long)
+	 * @see Game#setPhrase(String)
+	 */
+	public Game(long seed) {
+		this((PhrasePack) null, seed);
+	}
+
+	/**
+	 *Constructs a new game with a random phrase from a phrase pack, seeded from {@link GameRandom#nextSeed()}.
+	 * @param phrasePack Phrases to choose from (PhrasePack)
+	 * @see PhrasePack#phrase(int)
+	 */
+	public Game(PhrasePack phrasePack) {
+		this(phrasePack, GameRandom.nextSeed());
+	}
+
+	/**
+	 *Constructs a new game with a random phrase from a phrase pack.
+	 * Only the chosen phrase is read from the pack.
+	 * @param phrasePack Phrases to choose from, or null for the phrase string (PhrasePack)
+	 * @param seed Seed of the game's random numbers (Long)
+	 * @see PhrasePack#phrase(int)
+	 */
+	public Game(PhrasePack phrasePack, long seed) {
+		setSeed(seed);
+		setPhrase(phrasePack, random.nextInt(phraseCount(phrasePack)));
+	}
+
+	/**
+	 *Constructs a new game with the next phrase from a scheduler, seeded from {@link GameRandom#nextSeed()}.
+	 * Phrases don't repeat until the scheduler has gone through every phrase. The game is replayed from its
+	 * {@link Game#phraseIndex} and {@link Game#seed} with {@link Game#Game(PhrasePack, int, long)}.
+	 * @param phrasePack Phrases to choose from, or null for the phrase string (PhrasePack)
+	 * @param scheduler Scheduler over the phrases, made with {@link Game#phraseCount(PhrasePack)} phrases (PhraseScheduler)
+	 * @see PhraseScheduler#next()
+	 */
+	public Game(PhrasePack phrasePack, PhraseScheduler scheduler) {
+		this(phrasePack, scheduler.next(), GameRandom.nextSeed());
+	}
+
+	/**
+	 *Constructs a new game with a chosen phrase from a phrase pack.
+	 * @param phrasePack Phrases to choose from, or null for the phrase string (PhrasePack)
+	 * @param phraseIndex Index of the phrase, from 0 to {@link Game#phraseCount(PhrasePack)} - 1 (Integer)
+	 * @param seed Seed of the game's random numbers (Long)
+	 */
+	public Game(PhrasePack phrasePack, int phraseIndex, long seed) {
+		setSeed(seed);
+		setPhrase(phrasePack, phraseIndex);
+	}
+
+	/**
+	 * @param phrasePack Phrases to choose from, or null for the phrase string (PhrasePack)
+	 * @return Number of phrases games choose from (Integer)
+	 */
+	public static int phraseCount(PhrasePack phrasePack) {
+		return phrasePack == null ? PHRASES.length : phrasePack.size();
+	}
+
+	/**
+	 *Constructs a new game with the given phrase, seeded from {@link GameRandom#nextSeed()}.
+	 * @param phrase Game phrase (String)
+	 * @see Game#setPhrase(String)
+	 */
+	public Game(String phrase) {
+		this(phrase, GameRandom.nextSeed());
+	}
+
+	/**
+	 *Constructs a new game with the given phrase and seed, for rebuilding a recorded game.
+	 * @param phrase Game phrase (String)
+	 * @param seed Seed of the game's random numbers (Long)
+	 * @see Game#setPhrase(String)
+	 */
+	public Game(String phrase, long seed) {
+		setSeed(seed);
+		setPhrase(phrase);
+	}
+
+	/**Sets the phrase to one from a phrase pack, reading only that phrase from the pack.
+	 * @param phrasePack Phrases to choose from, or null for the phrase string (PhrasePack)
+	 * @param index Index of the phrase (Integer)
+	 */
+	void setPhrase(PhrasePack phrasePack, int index) {
+		phraseIndex = index;
+		setPhrase(phrasePack == null ? phrases[index] : phrasePack.phrase(index));
+	}
+
+	/**Draws the next spin of the game. Every spin has random numbers of its own, derived from the seed and the
+	 * number of spins before it, so the spins don't depend on anything else drawn from {@link Game#random}.
+	 * @return Quadratic of the spin (Quadratic)
+	 */
+	public Quadratic nextSpin() {
+		long spinSeed = PhraseScheduler.mix(seed + ++spins * PhraseScheduler.GOLDEN_GAMMA);
+		return new Quadratic(new SplittableRandom(spinSeed));
+	}
+
+	/**Restarts the game's random numbers from a seed.
+	 * @param seed Seed of the game's random numbers (Long)
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		random = new SplittableRandom(seed);
+	}
+
+	/**Sets the game phrase and makes the guess board equal to the game phrase with all letters replaced with a dash.
+	 * <p>Builds an index of where each letter appears in the phrase, so revealing a letter only touches the positions
+	 * it appears at, and canonicalises the phrase for matching full phrase guesses. Positions of letter {@code c} are
+	 * {@code letterPositions[letterOffsets[c - 'a']]} up to {@code letterPositions[letterOffsets[c - 'a' + 1]]}.</p>
+	 * @param phrase Game phrase (String)
+	 */
+	public void setPhrase(String phrase) {
+		gamePhrase = phrase;
+		phraseMatcher = new PhraseMatcher(phrase);
+		guessBoard = new char[phrase.length()];
+		letterPositions = new int[phrase.length()];
+		Arrays.fill(letterOffsets, 0);
+		lettersHidden = 0;
+		lettersRevealed = 0;
+
+		for (int n = 0; n < phrase.length(); n++) {
+			char letter = phrase.charAt(n);
+			if (letter >= 'a' && letter <= 'z') {
+				letterOffsets[letter - 'a' + 1]++;
+				guessBoard[n] = '-';
+				lettersHidden++;
+			} else guessBoard[n] = letter;
+		}
+		for (int n = 1; n < letterOffsets.length; n++) letterOffsets[n] += letterOffsets[n - 1];
+
+		int[] next = letterOffsets.clone();
+		for (int n = 0; n < phrase.length(); n++) {
+			char letter = phrase.charAt(n);
+			if (letter >= 'a' && letter <= 'z') letterPositions[next[letter - 'a']++] = n;
+		}
+	}
+
+	/**Used for displaying the guess board, the game phrase with letters not found yet replaced with a dash.
+	 * @return Guess phrase (String)
+	 */
+	public String guessPhrase() {
+		return String.valueOf(guessBoard);
+	}
+
+	/**Used for returning the current player for display in the GUI.
+	 * Adds 1 to current player because the number of players array starts at 0.
+	 * @return Current player (Integer)
+	 */
+	public int displayCurrentPlayer() {
+		return (currentPlayer + 1);
+	}
+
+	/**Changes the current player by +1. Changes current player to first player if currently on last player.
+	 */
+	public void nextPlayer() {
+		if (displayCurrentPlayer() == numberOfPlayers) currentPlayer = 0;
+		else currentPlayer += 1;
+	}
+
+	/**Sets the number of players for the game and sets the length of player money array to the number of players.
+	 * @param players Number of players (Integer)
+	 */
+	public void setNumberOfPlayers(int players) {
+		numberOfPlayers = players;
+		playerMoney = new int[numberOfPlayers];
+	}
+
+	/**
+	 *Randomises the current player by generating a random number within the bounds of the number of players.
+	 * The number comes from {@link Game#random}.
+	 */
+	public void randomPlayer() {
+		currentPlayer = random.nextInt(numberOfPlayers);
+	}
+
+	/**Displays the current player's money based on the current players position in the player money array.
+	 * @return Integer current player's money
+	 */
+	public int currentPlayerMoney() {
+		return playerMoney[currentPlayer];
+	}
+
+
+	/**Adds money to the player money array in the position of the current player.
+	 * @param money Amount of money to add to the current player (Integer)
+	 */
+	public void currentPlayerAddMoney(int money) {
+		playerMoney[currentPlayer] += money;
+	}
+
+	/**
+	 *Uses the {@link Game#currentPlayerAddMoney(int)} function to set the current player's
+	 * money to 0 by subtracting the player's money from the player's money.
+	 * @see Game#currentPlayerAddMoney(int)
+	 */
+	public void currentPlayerBankrupt() {
+		currentPlayerAddMoney(-currentPlayerMoney());
+	}
+
+	/**Bonus money with the default values starts at £5000 and decreases by £250 for every incorrect guess.
+	 * @return Bonus money (Integer)
+	 */
+	public int bonusMoney() {
+		return bonusMoney(guessCount);
+	}
+
+	/**Bonus money for a number of guesses left, used to value guesses not made yet.
+	 * @param guessCount Guesses left before the bonus runs out (Integer)
+	 * @return Bonus money (Integer)
+	 * @see Game#bonusMoney()
+	 */
+	public int bonusMoney(int guessCount) {
+		return (guessCount * 250);
+	}
+
+	/**Adds {@link Game#currentPlayerMoney()} and {@link Game#bonusMoney()} to find the total prize money.
+	 * @return Total prize money (Integer)
+	 * @see Game#currentPlayerMoney()
+	 * @see Game#bonusMoney()
+	 */
+	public int prizeMoneyTotal() {
+		return (currentPlayerMoney() + bonusMoney());
+	}
+
+	/**Checks the user's letter guess against multiple rules using {@link Game#countOnBoard(char)}.
+	 * Checks if the guess is a letter, if the letter has been found, if the guess is a vowel and if the player has enough money
+	 * to guess a vowel.
+	 * @return Description of outcome (String)
+	 * @param letterGuess Player's letter guess (Character)
+	 * @see Game#countOnBoard(char)
+	 */
+	public String checkGuessErrors(char letterGuess) {
+		if (countOnBoard(letterGuess) >= 1) {
+			return "alreadyFoundLetter";
+		} else if (!Character.isLetter(letterGuess)) {
+			return "notLetter";
+		} else if (letterGuess == 'a' || letterGuess == 'e' || letterGuess == 'i' || letterGuess == 'o' || letterGuess == 'u') {
+			if (currentPlayerMoney() >= vowelCost) {
+				currentPlayerAddMoney(-vowelCost);
+				return "guessVowel";
+			} else return "notEnoughMoney";
+		} else return "verifyLetter";
+	}
+
+	/**Checks if the user letter guess matches at least 1 letter in the game phrase using {@link Game#compareGuessToPhrase(char)}.
+	 * @return True/false (Boolean)
+	 * @param letterGuess Player's letter guess (Character)
+	 * @see Game#compareGuessToPhrase(char)
+	 */
+	public boolean checkGuessLetterFound(char letterGuess) {
+		int lettersFound = compareGuessToPhrase(letterGuess);
+		this.lettersFound = lettersFound;
+
+		if (lettersFound >= 1) {
+			currentPlayerAddMoney(rewardLettersFound(lettersFound));
+			if (guessCount > 0) guessCount--;
+			return true;
+		}
+		return false;
+	}
+
+	/**Finds the reward for a correct letter guess by taking the amount of letters found and multiplying by {@link Game#letterReward}.
+	 * @param lettersFound Number of letters found (Integer)
+	 * @return Reward for finding letters (Integer)
+	 */
+	public int rewardLettersFound(int lettersFound) {
+		return letterReward * lettersFound;
+	}
+
+	/**Used for comparing a letter guess and the game phrase. Reveals the letter on the guess board
+	 * at the positions the letter index from {@link Game#setPhrase(String)} has for it, without scanning the phrase.
+	 * @param letterGuess Player's letter guess (Character)
+	 * @return Number of letters found (Integer)
+	 */
+	public int compareGuessToPhrase(char letterGuess) {
+		if (letterGuess < 'a' || letterGuess > 'z') return 0;
+
+		int letter = letterGuess - 'a';
+		int start = letterOffsets[letter];
+		int end = letterOffsets[letter + 1];
+		if (start != end && (lettersRevealed & (1 << letter)) == 0) {
+			for (int n = start; n < end; n++) guessBoard[letterPositions[n]] = letterGuess;
+			lettersRevealed |= 1 << letter;
+			lettersHidden -= end - start;
+		}
+		return end - start;
+	}
+
+	/**Counts how many times a guess is already shown on the guess board.
+	 * Letters are looked up in the letter index, anything else is counted from the board.
+	 * @param letterGuess Player's letter guess (Character)
+	 * @return Number of times the guess is shown (Integer)
+	 */
+	public int countOnBoard(char letterGuess) {
+		if (letterGuess >= 'a' && letterGuess <= 'z') {
+			int letter = letterGuess - 'a';
+			if ((lettersRevealed & (1 << letter)) == 0) return 0;
+			return letterOffsets[letter + 1] - letterOffsets[letter];
+		}
+		int count = 0;
+		for (char shown : guessBoard) if (shown == letterGuess) count++;
+		return count;
+	}
+
+	/**
+	 * @return True if every letter of the game phrase has been found (Boolean)
+	 */
+	public boolean phraseFound() {
+		return lettersHidden == 0;
+	}
+
+	/**Used for comparing 2 phrases. If the phrases match, returns true.
+	 * Case, spacing and punctuation are ignored and up to {@link Game#maxGuessEdits} edits are allowed.
+	 * The game phrase is matched with the {@link PhraseMatcher} built when it was set.
+	 * @param phraseGuess Phrase 1 (String)
+	 * @param phrase Phrase 2 (String)
+	 * @return True/false (Boolean)
+	 * @see PhraseMatcher#matches(String, int)
+	 */
+	public boolean comparePhraseToPhrase(String phraseGuess, String phrase) {
+		PhraseMatcher matcher = phrase.equals(gamePhrase) ? phraseMatcher : new PhraseMatcher(phrase);
+		return matcher.matches(phraseGuess, maxGuessEdits);
+	}
+}
+
+
+
+
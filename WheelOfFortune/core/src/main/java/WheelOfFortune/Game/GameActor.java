@@ -0,0 +1,290 @@
+package WheelOfFortune.Game;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Plays a {@link Game} on a thread of its own, taking commands from any number of threads.
+ * <p>The actor's thread is the only thread that ever changes its {@link Game} and {@link Engine}, so any number of
+ * threads can drive the same game without locks around it. They {@link GameActor#submit(Command)} spin, letter and
+ * solve commands, which follow the same turn flow as a {@link Room}, and read the game from the immutable
+ * {@link GameState} the actor publishes.</p>
+ * <p>The actor is a core for future use: only the {@code ActorBenchmark} drives one so far. The Swing {@code GUI} still
+ * changes its game from EDT callbacks, and the {@link Room}s of the {@link GameServer} and the {@link Simulator}
+ * drive their engines directly, so bots, timers and network input can't yet play alongside the GUI. That needs the
+ * GUI's spin and guess handlers to submit commands here and render from the published {@link GameState}.</p>
+ * <p>Commands are queued on a lock-free multi-producer, single-consumer linked queue. Each command is its own node,
+ * so submitting allocates nothing more: a producer swaps itself in as the tail with one atomic exchange, then links
+ * the previous tail to it. The actor takes every command that is linked, applies them in order, publishes one
+ * snapshot for the whole batch and then calls back each command's producer. When the queue is empty the actor parks,
+ * and a producer only unparks it if it is parked.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameState
+ */
+public class GameActor implements Runnable {
+	/**
+	 * Most commands applied before a snapshot is published, so readers are never far behind a busy queue.
+	 */
+	static final int MAX_BATCH = 256;
+
+	/**
+	 * A command for the actor, which is also its node in the queue. A command can be submitted only once.
+	 */
+	public static class Command {
+		/**
+		 * "SPIN", "LETTER" or "SOLVE".
+		 */
+		final String name;
+		final int seat;
+		final String argument;
+		final Consumer<Command> done;
+		volatile Command next;
+		/**
+		 * Outcome of the command once applied: the kind of sector for a spin, "correct", "incorrect" or an error from
+		 * {@link Game#checkGuessErrors(char)} for a letter, "correct" or "incorrect" for a solve, or "notYourTurn",
+		 * "expecting" or "unknownCommand" if it wasn't applied.
+		 */
+		String outcome;
+		/**
+		 * Quadratic a spin was made with, to replay its animation.
+		 */
+		Quadratic quadratic;
+		/**
+		 * Snapshot published after the command was applied, set last so that a producer that sees it sees the rest.
+		 * Null until then.
+		 */
+		volatile GameState state;
+
+		/**
+		 * @param name     "SPIN", "LETTER" or "SOLVE" (String)
+		 * @param seat     Seat the command is from, counting from 0 (Integer)
+		 * @param argument Letter or phrase guessed, or an empty string (String)
+		 * @param done     Called on the actor's thread once the command has been applied, or null (Consumer)
+		 */
+		public Command(String name, int seat, String argument, Consumer<Command> done) {
+			this.name = name;
+			this.seat = seat;
+			this.argument = argument;
+			this.done = done;
+		}
+
+		/**
+		 * @return Outcome of the command, or null until it has been applied (String)
+		 */
+		public String outcome() {
+			return state == null ? null : outcome;
+		}
+
+		/**
+		 * @return Snapshot published after the command was applied, or null until then (GameState)
+		 */
+		public GameState state() {
+			return state;
+		}
+	}
+
+	final int players;
+	final PhrasePack phrasePack;
+	final PhraseScheduler scheduler;
+	/**
+	 * Store every round played is appended to, or null.
+	 */
+	final RoundStats stats;
+	Game game;
+	Engine engine;
+	String expecting;
+	long applied;
+	/**
+	 * Snapshots published, one for every batch of commands.
+	 */
+	long batches;
+	int games;
+	int lastWinner = -1;
+	int lastPrize;
+
+	/**
+	 * Consumer end of the queue: the last command taken, whose {@code next} is the next command to apply.
+	 */
+	Command head = new Command("", -1, "", null);
+	final AtomicReference<Command> tail = new AtomicReference<>(head);
+	volatile GameState state;
+	/**
+	 * True while the actor is parked or about to park, so producers know to unpark it.
+	 */
+	volatile boolean waiting;
+	volatile boolean closed;
+	Thread thread;
+
+	/**
+	 * Starts the first game and the actor's thread.
+	 *
+	 * @param players    Number of players (Integer)
+	 * @param phrasePack Phrases to choose from, or null for the phrase string (PhrasePack)
+	 * @param scheduler  Scheduler over the phrases (PhraseScheduler)
+	 * @param stats      Store to record every round to, or null (RoundStats)
+	 */
+	public GameActor(int players, PhrasePack phrasePack, PhraseScheduler scheduler, RoundStats stats) {
+		this.players = players;
+		this.phrasePack = phrasePack;
+		this.scheduler = scheduler;
+		this.stats = stats;
+		newGame();
+		state = new GameState(this);
+		thread = new Thread(this, "game-actor");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Starts a new game with the next phrase from the {@link GameActor#scheduler} and a random first player.
+	 */
+	void newGame() {
+		game = new Game(phrasePack, scheduler);
+		game.setNumberOfPlayers(players);
+		game.randomPlayer();
+		engine = new Engine(game);
+		if (stats != null) stats.attach(engine);
+		expecting = "spin";
+	}
+
+	/**
+	 * Queues a command from any thread. Never blocks.
+	 *
+	 * @param command Command that hasn't been submitted before (Command)
+	 * @return False if the actor has been closed (Boolean)
+	 */
+	public boolean submit(Command command) {
+		if (closed) return false;
+		Command previous = tail.getAndSet(command);
+		previous.next = command;
+		if (waiting) LockSupport.unpark(thread);
+		return true;
+	}
+
+	/**
+	 * @return Snapshot of the game after the last batch of commands (GameState)
+	 */
+	public GameState state() {
+		return state;
+	}
+
+	/**
+	 * Takes commands until the actor is closed and every command submitted before has been applied. Parks while the
+	 * queue is empty: {@link GameActor#waiting} is set before the queue is checked a last time, and producers check it
+	 * after linking their command, so a command is never left waiting with the actor parked.
+	 */
+	@Override
+	public void run() {
+		while (true) {
+			Command first = head.next;
+			if (first == null) {
+				if (closed && tail.get() == head) return;
+				waiting = true;
+				if (head.next == null && !closed) LockSupport.park(this);
+				waiting = false;
+				continue;
+			}
+			head.next = null;
+			Command last = first;
+			apply(first);
+			for (int n = 1; n < MAX_BATCH && last.next != null; n++) {
+				last = last.next;
+				apply(last);
+			}
+			head = last;
+			batches++;
+			GameState published = new GameState(this);
+			state = published;
+			complete(first, last, published);
+		}
+	}
+
+	/**
+	 * Hands the snapshot to every command of a batch and calls them back, unlinking all but the last, which is the
+	 * head of the queue, so a command kept by its producer doesn't keep the commands after it.
+	 */
+	void complete(Command first, Command last, GameState published) {
+		Command command = first;
+		while (true) {
+			Command next = command == last ? null : command.next;
+			if (next != null) command.next = null;
+			command.state = published;
+			if (command.done != null) command.done.accept(command);
+			if (next == null) return;
+			command = next;
+		}
+	}
+
+	/**
+	 * Applies a command to the game on the actor's thread, following the turn flow of {@link Room#handle}.
+	 * A correct solve, or the last letter found, ends the game and starts the next one.
+	 *
+	 * @param command Command to apply (Command)
+	 */
+	void apply(Command command) {
+		applied++;
+		if (command.seat != game.currentPlayer) {
+			command.outcome = "notYourTurn";
+			return;
+		}
+		String outcome = "expecting";
+		switch (command.name) {
+			case "SPIN":
+				if (expecting.equals("letter")) break;
+				Quadratic quadratic = game.nextSpin();
+				outcome = engine.spin(quadratic);
+				command.quadratic = quadratic;
+				expecting = outcome.equals("money") ? "letter" : "spin";
+				break;
+			case "LETTER":
+				if (!expecting.equals("letter") || command.argument.length() != 1) break;
+				outcome = engine.guessLetter(command.argument.charAt(0));
+				if (outcome.equals("correct") && engine.solved()) win(command.seat);
+				else if (outcome.equals("correct")) expecting = "choice";
+				else if (outcome.equals("incorrect")) expecting = "spin";
+				break;
+			case "SOLVE":
+				if (!expecting.equals("choice")) break;
+				if (engine.guessPhrase(command.argument)) {
+					outcome = "correct";
+					win(command.seat);
+				} else {
+					outcome = "incorrect";
+					expecting = "spin";
+				}
+				break;
+			default:
+				outcome = "unknownCommand";
+		}
+		command.outcome = outcome;
+	}
+
+	/**
+	 * Records the winner and their prize money, then starts the next game.
+	 *
+	 * @param seat Winning seat (Integer)
+	 */
+	void win(int seat) {
+		lastWinner = seat;
+		lastPrize = game.prizeMoneyTotal();
+		games++;
+		newGame();
+	}
+
+	/**
+	 * Stops taking commands once every command already submitted has been applied, and waits for the actor's thread.
+	 * A command submitted at the same time as the actor is closed may never be applied.
+	 */
+	public void close() {
+		closed = true;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
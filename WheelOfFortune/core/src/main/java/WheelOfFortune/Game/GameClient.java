@@ -0,0 +1,78 @@
+package WheelOfFortune.Game;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Simple blocking client for the {@link GameServer} line protocol, used to script players over loopback.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameServer
+ */
+public class GameClient implements Closeable {
+	Socket socket;
+	BufferedReader in;
+	OutputStream out;
+
+	/**
+	 * Connects to a server.
+	 *
+	 * @param host Host name of the server (String)
+	 * @param port Port of the server (Integer)
+	 * @throws IOException if the server can't be reached
+	 */
+	public GameClient(String host, int port) throws IOException {
+		socket = new Socket(host, port);
+		socket.setTcpNoDelay(true);
+		in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+		out = socket.getOutputStream();
+	}
+
+	/**
+	 * Sends one command line.
+	 *
+	 * @param command Command without the line ending (String)
+	 * @throws IOException if the connection is lost
+	 */
+	public void send(String command) throws IOException {
+		out.write((command + "\n").getBytes(StandardCharsets.ISO_8859_1));
+		out.flush();
+	}
+
+	/**
+	 * Reads one message line.
+	 *
+	 * @return Message without the line ending (String)
+	 * @throws IOException if the connection is lost or closed by the server
+	 */
+	public String readLine() throws IOException {
+		String line = in.readLine();
+		if (line == null) throw new IOException("Connection closed by server");
+		return line;
+	}
+
+	/**
+	 * Reads message lines until one starts with the given word.
+	 *
+	 * @param word First word of the message to wait for (String)
+	 * @return Matching message (String)
+	 * @throws IOException if the connection is lost or closed by the server
+	 */
+	public String readUntil(String word) throws IOException {
+		while (true) {
+			String line = readLine();
+			if (line.startsWith(word + " ") || line.equals(word)) return line;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+}
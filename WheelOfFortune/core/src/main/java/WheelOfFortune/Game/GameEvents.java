@@ -0,0 +1,140 @@
+package WheelOfFortune.Game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Custom JDK Flight Recorder events for the game, shown under "Wheel of Fortune" in JDK Mission Control.
+ * <p>Events that happen millions of times a second in the {@link Simulator} are only created while a recording is
+ * running, which {@link GameEvents#recording} tracks without starting Flight Recorder itself. Record them with,
+ * for example:</p>
+ * <pre>java -XX:StartFlightRecording=filename=wof.jfr -jar WheelOfFortune.jar</pre>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameMetrics
+ */
+public class GameEvents {
+	/**
+	 * True while any Flight Recorder recording is running.
+	 */
+	static volatile boolean recording;
+
+	static {
+		FlightRecorder.addListener(new FlightRecorderListener() {
+			@Override
+			public void recordingStateChanged(Recording changed) {
+				updateRecording();
+			}
+		});
+		if (FlightRecorder.isInitialized()) updateRecording();
+	}
+
+	/**
+	 * Sets {@link GameEvents#recording} from the state of every recording.
+	 */
+	static void updateRecording() {
+		boolean running = false;
+		for (Recording each : FlightRecorder.getFlightRecorder().getRecordings()) {
+			if (each.getState() == RecordingState.RUNNING) running = true;
+		}
+		recording = running;
+	}
+
+	/**
+	 * A spin of the wheel, lasting from the start of the spin animation until the wheel stops.
+	 */
+	@Name("WheelOfFortune.Spin")
+	@Label("Wheel Spin")
+	@Category("Wheel of Fortune")
+	@StackTrace(false)
+	public static class Spin extends Event {
+		@Label("Sector")
+		public int sector;
+		@Label("Frames")
+		@Description("Frames requested while the wheel was spinning")
+		public int frames;
+	}
+
+	/**
+	 * The outcome of a spin applied by {@link Engine#landOn(int)}.
+	 */
+	@Name("WheelOfFortune.Landed")
+	@Label("Sector Landed")
+	@Category("Wheel of Fortune")
+	@StackTrace(false)
+	public static class Landed extends Event {
+		@Label("Sector")
+		public int sector;
+		@Label("Kind")
+		public String kind;
+		@Label("Value")
+		public int value;
+		@Label("Player")
+		public int player;
+	}
+
+	/**
+	 * A letter revealed by {@link Engine#revealLetter(char)} or a phrase guessed with {@link Engine#guessPhrase(String)}.
+	 */
+	@Name("WheelOfFortune.Guess")
+	@Label("Guess")
+	@Category("Wheel of Fortune")
+	@StackTrace(false)
+	public static class Guess extends Event {
+		@Label("Guess")
+		public String guess;
+		@Label("Correct")
+		public boolean correct;
+		@Label("Player")
+		public int player;
+	}
+
+	/**
+	 * One paint of the wheel.
+	 */
+	@Name("WheelOfFortune.Frame")
+	@Label("Wheel Frame")
+	@Category("Wheel of Fortune")
+	@StackTrace(false)
+	public static class Frame extends Event {
+	}
+
+	/**
+	 * An event that kept the Event Dispatch Thread busy for longer than a frame.
+	 */
+	@Name("WheelOfFortune.EdtStall")
+	@Label("EDT Stall")
+	@Category("Wheel of Fortune")
+	@Threshold("16 ms")
+	public static class EdtStall extends Event {
+		@Label("Event")
+		public String event;
+		@Label("Screen")
+		@Description("Screen showing when the event was dispatched")
+		public String screen;
+	}
+
+	/**
+	 * A change of screen, lasting as long as the event that caused it kept the Event Dispatch Thread busy.
+	 */
+	@Name("WheelOfFortune.ScreenTransition")
+	@Label("Screen Transition")
+	@Category("Wheel of Fortune")
+	@StackTrace(false)
+	public static class ScreenTransition extends Event {
+		@Label("From")
+		public String from;
+		@Label("To")
+		public String to;
+	}
+}
@@ -0,0 +1,549 @@
+package WheelOfFortune.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of everything that changes a game, with periodic snapshots, so a session can be
+ * recovered after a crash.
+ * <p>An {@link Engine} with a journal attached appends a record for every call that changes the game: the sector a
+ * spin lands on, every letter checked and revealed, every phrase guessed, and the full game state when a game starts.
+ * Replaying the records through the same engine methods rebuilds the game exactly, with the game's seed, phrase
+ * index and the number of spins drawn, so the spins after a recovery are the ones the game would have had.
+ * Replayed spins and guesses aren't counted in the {@link GameMetrics} or committed as {@link GameEvents}
+ * again.</p>
+ * <p>Appending only copies the record into an in-memory batch. A background writer thread swaps batches every
+ * {@link GameJournal#FLUSH_MILLIS} and writes them through a {@link FileChannel}, so gameplay never waits on the disk.
+ * Every {@link GameJournal#snapshotInterval} records, a snapshot of the game state is written to {@code snapshot.bin},
+ * atomically replacing the previous one, and the journal moves on to a new segment file, {@code journal-<n>.bin},
+ * named in the snapshot. The old segment is deleted, so the journal only ever holds the records since the last
+ * snapshot however long the game runs.</p>
+ * <p>If writing fails, for example because the disk is full, or the writer falls more than
+ * {@link GameJournal#MAX_BATCH_BYTES} behind, journalling stops: the failure is reported once, appending does
+ * nothing from then on and {@link GameJournal#close()} throws the failure. The game itself carries on.</p>
+ * <p>{@link GameJournal#recover(Path, WheelLayout)} loads the snapshot, maps the segment it names and replays the
+ * records in it. A record torn by a crash fails its checksum and is dropped, along with anything after it.</p>
+ * <p>Record layout: {@code byte type, short payload length, payload, int CRC32 of type, length and payload}.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Engine#journal
+ */
+public class GameJournal implements Closeable {
+	static final byte STATE = 1;
+	static final byte LAND = 2;
+	static final byte CHECK = 3;
+	static final byte REVEAL = 4;
+	static final byte SOLVE = 5;
+	static final String SEGMENT_PREFIX = "journal-";
+	static final String SEGMENT_SUFFIX = ".bin";
+	static final String SNAPSHOT_FILE = "snapshot.bin";
+	static final long FLUSH_MILLIS = 5;
+	static final int RECORD_OVERHEAD = 7;
+	/**
+	 * Most bytes a batch can hold while the writer is busy before journalling stops, so a stalled disk can't use up
+	 * the heap.
+	 */
+	static final int MAX_BATCH_BYTES = 16 * 1024 * 1024;
+
+	Path directory;
+	/**
+	 * Segment being written to, {@link GameJournal#channel}.
+	 */
+	long segment;
+	FileChannel channel;
+	boolean force;
+	int snapshotInterval = 1000;
+	Engine engine;
+
+	ByteBuffer filling = ByteBuffer.allocate(64 * 1024);
+	ByteBuffer draining = ByteBuffer.allocate(64 * 1024);
+	int recordsSinceSnapshot;
+	/**
+	 * State for the next snapshot, and the position in {@link GameJournal#filling} of the first record after it,
+	 * where the next segment starts.
+	 */
+	byte[] pendingSnapshot;
+	int snapshotBoundary;
+	boolean closed;
+	/**
+	 * Why journalling stopped, or null while it is running.
+	 */
+	IOException failure;
+	Thread writer;
+	CRC32 crc = new CRC32();
+
+	/**
+	 * Opens the journal in a directory for appending to the segment named by the snapshot, creating it if needed.
+	 * Anything after the last whole record is cut off first, so new records never follow a torn one, and segments
+	 * left behind by a crash are deleted.
+	 *
+	 * @param directory Directory holding the journal and snapshot (Path)
+	 * @param force     True to force every batch to the storage device, not just the OS (Boolean)
+	 * @throws IOException if the journal can't be opened
+	 */
+	public GameJournal(Path directory, boolean force) throws IOException {
+		this.directory = directory;
+		this.force = force;
+		Files.createDirectories(directory);
+		segment = snapshotSegment(directory);
+		deleteSegments(directory, segment);
+		channel = FileChannel.open(segmentPath(directory, segment), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long length = validLength(channel, 0);
+		channel.truncate(length);
+		channel.position(length);
+
+		writer = new Thread(this::writeLoop, "game-journal");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Attaches the journal to an engine and records the engine's whole game state, the starting point for
+	 * replaying the records that follow.
+	 *
+	 * @param engine Engine to record (Engine)
+	 */
+	public void attach(Engine engine) {
+		this.engine = engine;
+		engine.journal = this;
+		ByteBuffer state = encodeState(engine);
+		append(STATE, state.array(), state.limit());
+	}
+
+	/**
+	 * Records the sector a spin landed on, the rotation of the wheel it left and how many spins the game has drawn,
+	 * so the spins after a recovery carry on from there.
+	 *
+	 * @param sector          Sector landed (Integer)
+	 * @param rotateByRadians Rotation of the wheel in radians (Double)
+	 * @param spins           {@link Game#spins} of the game (Integer)
+	 * @see Engine#landOn(int)
+	 */
+	void land(int sector, double rotateByRadians, int spins) {
+		byte[] payload = new byte[14];
+		ByteBuffer.wrap(payload).putShort((short) sector).putDouble(rotateByRadians).putInt(spins);
+		append(LAND, payload, payload.length);
+	}
+
+	/**
+	 * Records a letter checked with {@link Engine#checkLetter(char)} or revealed with {@link Engine#revealLetter(char)}.
+	 *
+	 * @param type        {@link GameJournal#CHECK} or {@link GameJournal#REVEAL} (Byte)
+	 * @param letterGuess Letter guessed (Character)
+	 */
+	void letter(byte type, char letterGuess) {
+		append(type, new byte[]{(byte) (letterGuess >> 8), (byte) letterGuess}, 2);
+	}
+
+	/**
+	 * Records a full phrase guess.
+	 *
+	 * @param phraseGuess Phrase guessed (String)
+	 * @see Engine#guessPhrase(String)
+	 */
+	void solve(String phraseGuess) {
+		byte[] bytes = phraseGuess.getBytes(StandardCharsets.UTF_8);
+		append(SOLVE, bytes, Math.min(bytes.length, Short.MAX_VALUE));
+	}
+
+	/**
+	 * Copies a record into the batch being filled, then takes a snapshot if one is due. Never touches the disk.
+	 * Does nothing once journalling has stopped.
+	 */
+	synchronized void append(byte type, byte[] payload, int length) {
+		if (closed) throw new IllegalStateException("Journal is closed");
+		if (failure != null) return;
+		int size = RECORD_OVERHEAD + length;
+		if (filling.position() + size > MAX_BATCH_BYTES) {
+			fail(new IOException("Journal writer fell more than " + MAX_BATCH_BYTES + " bytes behind"));
+			return;
+		}
+		if (filling.remaining() < size) {
+			ByteBuffer grown = ByteBuffer.allocate(Math.min(MAX_BATCH_BYTES, Math.max(filling.capacity() * 2, filling.position() + size)));
+			filling.flip();
+			grown.put(filling);
+			filling = grown;
+		}
+		int start = filling.position();
+		filling.put(type).putShort((short) length).put(payload, 0, length);
+		crc.reset();
+		crc.update(filling.array(), start, 3 + length);
+		filling.putInt((int) crc.getValue());
+
+		if (++recordsSinceSnapshot >= snapshotInterval && engine != null) {
+			// Records are appended before the engine applies them, so the state is from just before this record.
+			recordsSinceSnapshot = 0;
+			ByteBuffer state = encodeState(engine);
+			pendingSnapshot = Arrays.copyOf(state.array(), state.limit());
+			snapshotBoundary = start;
+		}
+	}
+
+	/**
+	 * Stops journalling, dropping every record not yet written, and reports why.
+	 *
+	 * @param cause Why journalling stopped (IOException)
+	 */
+	synchronized void fail(IOException cause) {
+		if (failure != null) return;
+		failure = cause;
+		filling.clear();
+		pendingSnapshot = null;
+		System.err.println("Journal of " + directory + " stopped: " + cause);
+		notifyAll();
+	}
+
+	/**
+	 * Writer thread. Swaps the batches and writes the full one to the journal. If a snapshot was taken since the last
+	 * batch, the records before it are written to the current segment, then the snapshot, then the rest to a new
+	 * segment. Ends when the journal is closed or journalling stops.
+	 */
+	void writeLoop() {
+		while (true) {
+			byte[] snapshot;
+			int boundary;
+			boolean last;
+			synchronized (this) {
+				while (filling.position() == 0 && pendingSnapshot == null && !closed && failure == null) {
+					try {
+						wait(FLUSH_MILLIS);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if (failure != null) return;
+				ByteBuffer full = filling;
+				filling = draining;
+				draining = full;
+				snapshot = pendingSnapshot;
+				boundary = snapshotBoundary;
+				pendingSnapshot = null;
+				last = closed;
+			}
+			try {
+				draining.flip();
+				if (snapshot != null) {
+					int end = draining.limit();
+					draining.limit(boundary);
+					write(draining);
+					draining.limit(end);
+					startSegment(snapshot);
+				}
+				write(draining);
+				draining.clear();
+				if (force) channel.force(false);
+			} catch (IOException e) {
+				draining.clear();
+				fail(e);
+				return;
+			}
+			if (last) {
+				synchronized (this) {
+					if (filling.position() == 0) return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes everything left in a buffer to the current segment.
+	 */
+	void write(ByteBuffer records) throws IOException {
+		while (records.hasRemaining()) channel.write(records);
+	}
+
+	/**
+	 * Writes a snapshot naming the next segment, then moves on to that segment and deletes the old one, which the
+	 * snapshot has replaced.
+	 *
+	 * @param state Encoded state of the game at the start of the next segment (byte[])
+	 */
+	void startSegment(byte[] state) throws IOException {
+		long next = segment + 1;
+		writeSnapshot(next, state);
+		FileChannel previous = channel;
+		channel = FileChannel.open(segmentPath(directory, next), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		segment = next;
+		previous.close();
+		Files.deleteIfExists(segmentPath(directory, next - 1));
+	}
+
+	/**
+	 * Writes a snapshot to a temporary file and moves it over the old snapshot, so there is always one whole snapshot.
+	 *
+	 * @param segment Segment the records after the snapshot are in (Long)
+	 * @param state   Encoded state of the game (byte[])
+	 */
+	void writeSnapshot(long segment, byte[] state) throws IOException {
+		byte[] snapshot = new byte[8 + state.length];
+		ByteBuffer.wrap(snapshot).putLong(segment).put(state);
+		Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		Files.write(temporary, snapshot);
+		Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Writes every record appended so far and stops the writer thread.
+	 *
+	 * @throws IOException if the journal can't be closed, or the failure that stopped journalling
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			if (failure == null) channel.force(false);
+		} finally {
+			channel.close();
+		}
+		if (failure != null) throw failure;
+	}
+
+	/**
+	 * Recovers the last game recorded in a journal directory and prints its state and how long recovery took.
+	 *
+	 * @param args Journal directory (String[])
+	 * @throws IOException if the journal can't be read
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: GameJournal <journal directory>");
+			System.exit(1);
+		}
+		long start = System.nanoTime();
+		Engine engine = recover(Paths.get(args[0]), WheelLayout.defaultLayout());
+		long nanos = System.nanoTime() - start;
+		if (engine == null) {
+			System.out.println("Nothing recorded in " + args[0]);
+			return;
+		}
+		Game game = engine.game;
+		System.out.printf("Recovered in %.2f ms%n", nanos / 1e6);
+		System.out.println("Board:   " + game.guessPhrase());
+		System.out.println("Player:  " + (game.currentPlayer + 1) + " of " + game.numberOfPlayers);
+		System.out.println("Money:   " + Arrays.toString(game.playerMoney));
+	}
+
+	/**
+	 * Rebuilds the last game recorded in a journal directory. Loads the snapshot if there is one, then replays every
+	 * whole record in the segment it names through a new engine, with metrics and events turned off.
+	 *
+	 * @param directory Directory holding the journal and snapshot (Path)
+	 * @param layout    Layout of the wheel the game was played on (WheelLayout)
+	 * @return Recovered engine, or null if nothing has been recorded (Engine)
+	 * @throws IOException if the journal or snapshot can't be read
+	 */
+	public static Engine recover(Path directory, WheelLayout layout) throws IOException {
+		Engine engine = null;
+		long segment = 0;
+		Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+		if (Files.exists(snapshotPath)) {
+			ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+			segment = snapshot.getLong();
+			engine = decodeState(snapshot, layout);
+		}
+		Path journalPath = segmentPath(directory, segment);
+		if (Files.exists(journalPath)) {
+			try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+				long length = validLength(channel, 0);
+				MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+				while (records.hasRemaining()) {
+					byte type = records.get();
+					int size = records.getShort();
+					ByteBuffer payload = records.slice(records.position(), size);
+					records.position(records.position() + size + 4);
+					if (type == STATE) engine = decodeState(payload, layout);
+					else if (engine != null) replay(engine, type, payload);
+				}
+			}
+		}
+		if (engine != null) engine.observed = true;
+		return engine;
+	}
+
+	/**
+	 * Applies one record to an engine by calling the engine method that recorded it.
+	 */
+	static void replay(Engine engine, byte type, ByteBuffer payload) {
+		switch (type) {
+			case LAND:
+				int sector = payload.getShort();
+				engine.rotateByRadians = payload.getDouble();
+				engine.game.spins = payload.getInt();
+				engine.landOn(sector);
+				break;
+			case CHECK:
+				engine.checkLetter(payload.getChar());
+				break;
+			case REVEAL:
+				engine.revealLetter(payload.getChar());
+				break;
+			case SOLVE:
+				byte[] bytes = new byte[payload.remaining()];
+				payload.get(bytes);
+				engine.guessPhrase(new String(bytes, StandardCharsets.UTF_8));
+				break;
+			default:
+				throw new IllegalStateException("Unknown journal record type " + type);
+		}
+	}
+
+	/**
+	 * @param directory Directory holding the journal and snapshot (Path)
+	 * @param segment   Number of a segment (Long)
+	 * @return Path of the segment's file (Path)
+	 */
+	static Path segmentPath(Path directory, long segment) {
+		return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+	}
+
+	/**
+	 * Deletes every segment file but one.
+	 *
+	 * @param directory Directory holding the journal and snapshot (Path)
+	 * @param keep      Segment to keep (Long)
+	 */
+	static void deleteSegments(Path directory, long keep) throws IOException {
+		try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path path : segments) {
+				if (!path.equals(segmentPath(directory, keep))) Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * @param directory Directory holding the journal and snapshot (Path)
+	 * @return Segment the records after the snapshot are in, or 0 if there is no snapshot (Long)
+	 */
+	static long snapshotSegment(Path directory) throws IOException {
+		Path snapshotPath = directory.resolve(SNAPSHOT_FILE);
+		if (!Files.exists(snapshotPath)) return 0;
+		try (FileChannel snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+			ByteBuffer offset = ByteBuffer.allocate(8);
+			while (offset.hasRemaining() && snapshot.read(offset) >= 0) ;
+			return offset.hasRemaining() ? 0 : offset.getLong(0);
+		}
+	}
+
+	/**
+	 * Finds where the last whole record with a good checksum ends.
+	 *
+	 * @param channel Journal file (FileChannel)
+	 * @param offset  Offset of a record to start checking from (Long)
+	 * @return Length of the journal up to the end of the last good record (Long)
+	 */
+	static long validLength(FileChannel channel, long offset) throws IOException {
+		long size = channel.size();
+		if (size <= offset) return Math.min(size, offset);
+		MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, offset, size - offset);
+		CRC32 crc = new CRC32();
+		int end = 0;
+		while (records.remaining() >= RECORD_OVERHEAD) {
+			int start = records.position();
+			int length = records.getShort(start + 1);
+			if (length < 0 || records.remaining() < RECORD_OVERHEAD + length) break;
+			crc.reset();
+			crc.update(records.slice(start, 3 + length));
+			if ((int) crc.getValue() != records.getInt(start + 3 + length)) break;
+			records.position(start + RECORD_OVERHEAD + length);
+			end = records.position();
+		}
+		return offset + end;
+	}
+
+	/**
+	 * Encodes the whole state of an engine's game.
+	 *
+	 * @param engine Engine to encode (Engine)
+	 * @return Encoded state, from 0 to its limit (ByteBuffer)
+	 */
+	static ByteBuffer encodeState(Engine engine) {
+		Game game = engine.game;
+		byte[] phrase = game.gamePhrase.getBytes(StandardCharsets.UTF_8);
+		int players = game.playerMoney == null ? 0 : game.playerMoney.length;
+		ByteBuffer state = ByteBuffer.allocate(68 + players * 4 + phrase.length);
+		state.putLong(game.seed).putInt(game.spins).putInt(game.phraseIndex).put((byte) players).put((byte) game.currentPlayer);
+		for (int n = 0; n < players; n++) state.putInt(game.playerMoney[n]);
+		state.putInt(game.guessCount).putInt(game.vowelCost).putInt(game.letterReward).putInt(game.maxGuessEdits);
+		state.putInt(game.lettersFound);
+		state.putInt(game.lettersRevealed).putInt(engine.guessedLetters).putDouble(engine.rotateByRadians);
+		state.putChar(game.playerLetterGuess);
+		state.putShort((short) phrase.length).put(phrase);
+		state.flip();
+		return state;
+	}
+
+	/**
+	 * Rebuilds an engine and its game, with the game's seed and the number of spins drawn from it, from an encoded
+	 * state. The engine isn't
+	 * {@link Engine#observed}, so records can be replayed through it.
+	 *
+	 * @param state  Encoded state (ByteBuffer)
+	 * @param layout Layout of the wheel (WheelLayout)
+	 * @return New engine (Engine)
+	 */
+	static Engine decodeState(ByteBuffer state, WheelLayout layout) {
+		long seed = state.getLong();
+		int spins = state.getInt();
+		int phraseIndex = state.getInt();
+		int players = state.get();
+		int currentPlayer = state.get();
+		int[] money = new int[players];
+		for (int n = 0; n < players; n++) money[n] = state.getInt();
+		int guessCount = state.getInt();
+		int vowelCost = state.getInt();
+		int letterReward = state.getInt();
+		int maxGuessEdits = state.getInt();
+		int lettersFound = state.getInt();
+		int lettersRevealed = state.getInt();
+		int guessedLetters = state.getInt();
+		double rotateByRadians = state.getDouble();
+		char playerLetterGuess = state.getChar();
+		byte[] phrase = new byte[state.getShort()];
+		state.get(phrase);
+
+		Game game = new Game(new String(phrase, StandardCharsets.UTF_8), seed);
+		game.spins = spins;
+		game.phraseIndex = phraseIndex;
+		if (players > 0) {
+			game.setNumberOfPlayers(players);
+			System.arraycopy(money, 0, game.playerMoney, 0, players);
+		}
+		game.currentPlayer = currentPlayer;
+		game.guessCount = guessCount;
+		game.vowelCost = vowelCost;
+		game.letterReward = letterReward;
+		game.maxGuessEdits = maxGuessEdits;
+		for (int letter = 0; letter < 26; letter++) {
+			if ((lettersRevealed & (1 << letter)) != 0) game.compareGuessToPhrase((char) ('a' + letter));
+		}
+		game.lettersFound = lettersFound;
+		game.playerLetterGuess = playerLetterGuess;
+
+		Engine engine = new Engine(game, layout);
+		engine.observed = false;
+		engine.guessedLetters = guessedLetters;
+		engine.rotateByRadians = rotateByRadians;
+		return engine;
+	}
+}
@@ -0,0 +1,298 @@
+package WheelOfFortune.Game;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide runtime metrics: spins and guesses, sector outcomes, spin times, frame times and how long the
+ * Event Dispatch Thread is kept busy.
+ * <p>The {@link Engine} records every spin and guess and the GUI records frames and EDT dispatches. Counters are
+ * {@link LongAdder}s and durations go into {@link LatencyHistogram}s, so recording never locks or allocates and
+ * threads of the {@link Simulator} don't contend. The same moments are also committed as {@link GameEvents} for
+ * JDK Flight Recorder.</p>
+ * <p>The metrics are registered with the platform MBean server as {@value GameMetrics#OBJECT_NAME}, so they can be
+ * watched with JConsole or any JMX client. Rates per minute are counted over the last full minute, sampled once a
+ * second by a daemon thread.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameMetricsMXBean
+ * @see GameEvents
+ */
+public class GameMetrics implements GameMetricsMXBean {
+	static final String OBJECT_NAME = "WheelOfFortune:type=GameMetrics";
+	/**
+	 * Most sectors counted separately. Sectors past this are counted in the last one.
+	 */
+	static final int MAX_SECTORS = 64;
+	static GameMetrics metrics;
+
+	final LongAdder spins = new LongAdder();
+	final LongAdder guesses = new LongAdder();
+	final LongAdder[] sectorCounts = new LongAdder[MAX_SECTORS];
+	final LongAdder moneyCount = new LongAdder();
+	final LongAdder bankruptCount = new LongAdder();
+	final LongAdder nextPlayerCount = new LongAdder();
+	final LatencyHistogram spinTimes = new LatencyHistogram();
+	final LatencyHistogram frameTimes = new LatencyHistogram();
+	final LatencyHistogram edtDispatchTimes = new LatencyHistogram();
+	final LatencyHistogram screenTransitionTimes = new LatencyHistogram();
+	volatile String screen = "";
+	/**
+	 * Spin and guess totals at the end of each of the last 60 seconds, oldest first from {@link GameMetrics#sample}.
+	 */
+	final long[] spinSamples = new long[60];
+	final long[] guessSamples = new long[60];
+	int sample;
+
+	GameMetrics() {
+		for (int n = 0; n < MAX_SECTORS; n++) sectorCounts[n] = new LongAdder();
+	}
+
+	/**
+	 * Gets the metrics of this process, creating them on first use. Starting the platform MBean server takes a
+	 * few hundred milliseconds, so the MBean is registered on the sampling thread rather than the caller's.
+	 *
+	 * @return Metrics of this process (GameMetrics)
+	 */
+	public static synchronized GameMetrics get() {
+		if (metrics == null) {
+			GameMetrics created = new GameMetrics();
+			ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "game-metrics");
+				thread.setDaemon(true);
+				return thread;
+			});
+			sampler.execute(created::register);
+			sampler.scheduleAtFixedRate(created::sample, 1, 1, TimeUnit.SECONDS);
+			metrics = created;
+		}
+		return metrics;
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server as {@value GameMetrics#OBJECT_NAME}.
+	 */
+	void register() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Records the totals at the end of a second, replacing the totals from a minute ago.
+	 */
+	synchronized void sample() {
+		spinSamples[sample] = spins.sum();
+		guessSamples[sample] = guesses.sum();
+		sample = (sample + 1) % spinSamples.length;
+	}
+
+	/**
+	 * Records a spin that landed on a sector.
+	 *
+	 * @param sector Sector landed (Integer)
+	 * @param kind   Kind of sector landed (String)
+	 */
+	void landed(int sector, String kind) {
+		spins.increment();
+		sectorCounts[Math.min(sector, MAX_SECTORS - 1)].increment();
+		switch (kind) {
+			case "money":
+				moneyCount.increment();
+				break;
+			case "bankrupt":
+				bankruptCount.increment();
+				break;
+			case "nextPlayer":
+				nextPlayerCount.increment();
+				break;
+		}
+	}
+
+	/**
+	 * Records a letter revealed or a phrase guessed.
+	 */
+	void guessed() {
+		guesses.increment();
+	}
+
+	/**
+	 * Records how long a spin took from the start of its animation until the wheel stopped.
+	 *
+	 * @param nanos Spin time in nanoseconds (Long)
+	 */
+	public void spin(long nanos) {
+		spinTimes.record(nanos);
+	}
+
+	/**
+	 * Records how long a frame of the wheel took to paint.
+	 *
+	 * @param nanos Paint time in nanoseconds (Long)
+	 */
+	public void frame(long nanos) {
+		frameTimes.record(nanos);
+	}
+
+	/**
+	 * Records how long the Event Dispatch Thread was busy with one event.
+	 *
+	 * @param nanos Dispatch time in nanoseconds (Long)
+	 */
+	public void edtDispatch(long nanos) {
+		edtDispatchTimes.record(nanos);
+	}
+
+	/**
+	 * Sets the screen showing. Called by every GUI screen.
+	 *
+	 * @param name Name of the screen (String)
+	 */
+	public void screen(String name) {
+		screen = name;
+	}
+
+	/**
+	 * Records how long the Event Dispatch Thread was busy with an event that changed the screen.
+	 *
+	 * @param nanos Dispatch time in nanoseconds (Long)
+	 */
+	public void screenTransition(long nanos) {
+		screenTransitionTimes.record(nanos);
+	}
+
+	@Override
+	public long getSpinCount() {
+		return spins.sum();
+	}
+
+	@Override
+	public long getGuessCount() {
+		return guesses.sum();
+	}
+
+	@Override
+	public synchronized long getSpinsPerMinute() {
+		return spins.sum() - spinSamples[sample];
+	}
+
+	@Override
+	public synchronized long getGuessesPerMinute() {
+		return guesses.sum() - guessSamples[sample];
+	}
+
+	@Override
+	public long[] getSectorCounts() {
+		int used = MAX_SECTORS;
+		while (used > 0 && sectorCounts[used - 1].sum() == 0) used--;
+		long[] counts = new long[used];
+		for (int n = 0; n < used; n++) counts[n] = sectorCounts[n].sum();
+		return counts;
+	}
+
+	@Override
+	public Map<String, Long> getOutcomeCounts() {
+		Map<String, Long> counts = new TreeMap<>();
+		counts.put("money", moneyCount.sum());
+		counts.put("bankrupt", bankruptCount.sum());
+		counts.put("nextPlayer", nextPlayerCount.sum());
+		return counts;
+	}
+
+	@Override
+	public double getSpinTimeMeanMicros() {
+		return spinTimes.meanMicros();
+	}
+
+	@Override
+	public long getSpinTimeP99Micros() {
+		return spinTimes.percentileMicros(0.99);
+	}
+
+	@Override
+	public long getFrameCount() {
+		return frameTimes.count();
+	}
+
+	@Override
+	public double getFrameTimeMeanMicros() {
+		return frameTimes.meanMicros();
+	}
+
+	@Override
+	public long getFrameTimeP50Micros() {
+		return frameTimes.percentileMicros(0.5);
+	}
+
+	@Override
+	public long getFrameTimeP99Micros() {
+		return frameTimes.percentileMicros(0.99);
+	}
+
+	@Override
+	public long getFrameTimeMaxMicros() {
+		return frameTimes.maxMicros();
+	}
+
+	@Override
+	public long getEdtDispatchCount() {
+		return edtDispatchTimes.count();
+	}
+
+	@Override
+	public long getEdtStallP50Micros() {
+		return edtDispatchTimes.percentileMicros(0.5);
+	}
+
+	@Override
+	public long getEdtStallP99Micros() {
+		return edtDispatchTimes.percentileMicros(0.99);
+	}
+
+	@Override
+	public long getEdtStallMaxMicros() {
+		return edtDispatchTimes.maxMicros();
+	}
+
+	@Override
+	public String getCurrentScreen() {
+		return screen;
+	}
+
+	@Override
+	public double getScreenTransitionMeanMicros() {
+		return screenTransitionTimes.meanMicros();
+	}
+
+	@Override
+	public long getScreenTransitionMaxMicros() {
+		return screenTransitionTimes.maxMicros();
+	}
+
+	@Override
+	public synchronized void reset() {
+		spins.reset();
+		guesses.reset();
+		for (LongAdder count : sectorCounts) count.reset();
+		moneyCount.reset();
+		bankruptCount.reset();
+		nextPlayerCount.reset();
+		spinTimes.reset();
+		frameTimes.reset();
+		edtDispatchTimes.reset();
+		screenTransitionTimes.reset();
+		Arrays.fill(spinSamples, 0);
+		Arrays.fill(guessSamples, 0);
+	}
+}
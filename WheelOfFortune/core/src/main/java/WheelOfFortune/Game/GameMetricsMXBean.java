@@ -0,0 +1,65 @@
+package WheelOfFortune.Game;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link GameMetrics}, registered as {@value GameMetrics#OBJECT_NAME}.
+ * Durations are in microseconds and percentiles are bucket upper bounds from a {@link LatencyHistogram}.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameMetrics
+ */
+public interface GameMetricsMXBean {
+
+	long getSpinCount();
+
+	long getGuessCount();
+
+	long getSpinsPerMinute();
+
+	long getGuessesPerMinute();
+
+	/**
+	 * @return Times each sector has been landed on, by sector number (long[])
+	 */
+	long[] getSectorCounts();
+
+	/**
+	 * @return Times each kind of sector has been landed on (Map)
+	 */
+	Map<String, Long> getOutcomeCounts();
+
+	double getSpinTimeMeanMicros();
+
+	long getSpinTimeP99Micros();
+
+	long getFrameCount();
+
+	double getFrameTimeMeanMicros();
+
+	long getFrameTimeP50Micros();
+
+	long getFrameTimeP99Micros();
+
+	long getFrameTimeMaxMicros();
+
+	long getEdtDispatchCount();
+
+	long getEdtStallP50Micros();
+
+	long getEdtStallP99Micros();
+
+	long getEdtStallMaxMicros();
+
+	String getCurrentScreen();
+
+	double getScreenTransitionMeanMicros();
+
+	long getScreenTransitionMaxMicros();
+
+	/**
+	 * Forgets everything recorded so far.
+	 */
+	void reset();
+}
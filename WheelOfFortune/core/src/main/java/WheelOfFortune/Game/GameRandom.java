@@ -0,0 +1,42 @@
+package WheelOfFortune.Game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Process-wide source of game seeds.
+ * <p>Every {@link Game} draws its own {@link SplittableRandom} from a seed, so a game can be replayed exactly from
+ * its {@link Game#seed}. The seeds come from one root stream, seeded from {@code -Dwof.seed} if it is set and
+ * otherwise at random, so a whole session can be replayed from {@link GameRandom#seed()}, which is printed at startup.
+ * The {@link Simulator} splits its own streams per task instead, so its threads never share one.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game#Game(PhrasePack, long)
+ */
+public class GameRandom {
+	static final long seed = initialSeed();
+	static final SplittableRandom root = new SplittableRandom(seed);
+
+	/**
+	 * @return Seed from {@code -Dwof.seed}, or a random seed if it isn't set (Long)
+	 * @throws NumberFormatException if {@code -Dwof.seed} is not a number
+	 */
+	static long initialSeed() {
+		String property = System.getProperty("wof.seed");
+		return property == null ? new SplittableRandom().nextLong() : Long.parseLong(property);
+	}
+
+	/**
+	 * @return Seed of the root stream, to replay this process with {@code -Dwof.seed} (Long)
+	 */
+	public static long seed() {
+		return seed;
+	}
+
+	/**
+	 * @return Seed for the next game (Long)
+	 */
+	public static synchronized long nextSeed() {
+		return root.nextLong();
+	}
+}
@@ -0,0 +1,583 @@
+package WheelOfFortune.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking multiplayer server that hosts many {@link Room}s at once.
+ * <p>The server runs one NIO event loop per core. Each room belongs to the loop its name hashes to, and a
+ * connection is handed over to that loop when it joins the room, so a room and all of its players are only ever
+ * used by one thread. Spins are resolved on the server, clients only animate the result.</p>
+ * <p>The protocol is one ASCII command per line. Clients send:</p>
+ * <pre>
+ * JOIN room players   join a room, creating it for 2-4 players if it doesn't exist
+ * SPIN                spin the wheel
+ * LETTER c            guess a letter
+ * SOLVE phrase        guess the full phrase after a correct letter
+ * WATCH room          follow the game in a room without playing
+ * </pre>
+ * <p>The server sends {@code JOINED room seat}, {@code START players board}, {@code TURN seat spin|letter|choice money},
+ * {@code SPUN seat a b sector kind value}, {@code LETTER seat c result found board}, {@code SOLVE seat correct|incorrect},
+ * {@code WON seat prize phrase}, {@code CLOSED room} and {@code ERR reason}. The a and b of a spin can be passed to
+ * {@link Quadratic#Quadratic(double, double)} to replay it.</p>
+ * <p>Spectators are sent {@code WATCHING room} then the {@link SpectatorFeed} of the room: {@code SNAP} snapshots and
+ * {@code D} deltas, encoded once for every spectator, and {@code WON} and {@code CLOSED}. A spectator that lets more
+ * than {@link GameServer#MAX_SPECTATOR_QUEUED_BYTES} queue up is coalesced to the latest state instead of being
+ * disconnected.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Room
+ * @see GameClient
+ */
+public class GameServer implements Closeable {
+	/**
+	 * Longest line a client may send.
+	 */
+	static final int MAX_LINE = 256;
+	/**
+	 * Most bytes that may wait to be sent to a client before it is disconnected for not reading.
+	 */
+	static final int MAX_QUEUED_BYTES = 64 * 1024;
+	/**
+	 * Most bytes of the feed that may wait to be sent to a spectator before what's waiting is dropped and replaced
+	 * with a snapshot once the spectator has caught up.
+	 */
+	static final int MAX_SPECTATOR_QUEUED_BYTES = 4 * 1024;
+	/**
+	 * Milliseconds to stop accepting connections for after accepting fails, so running out of file descriptors
+	 * doesn't spin the event loop.
+	 */
+	static final long ACCEPT_RETRY_MILLIS = 100;
+
+	ServerSocketChannel serverChannel;
+	SelectionKey acceptKey;
+	EventLoop[] loops;
+	PhrasePack phrasePack;
+	/**
+	 * Order of the phrases, shared by every room so no room repeats a phrase until every phrase has been played.
+	 */
+	PhraseScheduler scheduler;
+	/**
+	 * Outcome of every round played in every room.
+	 */
+	RoundStats stats = new RoundStats();
+	/**
+	 * {@link Game#maxGuessEdits} of the games in every room, set before the first room opens.
+	 */
+	int maxGuessEdits;
+	int nextLoop;
+
+	/**
+	 * Opens the server socket and starts the event loops.
+	 *
+	 * @param port       Port to listen on, 0 for any free port (Integer)
+	 * @param loopCount  Number of event loop threads (Integer)
+	 * @param phrasePack Phrases for every room, or null for the built-in phrases (PhrasePack)
+	 * @throws IOException if the server socket can't be opened
+	 */
+	public GameServer(int port, int loopCount, PhrasePack phrasePack) throws IOException {
+		this.phrasePack = phrasePack;
+		scheduler = new PhraseScheduler(Game.phraseCount(phrasePack), GameRandom.nextSeed());
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(port), 1024);
+		serverChannel.configureBlocking(false);
+
+		loops = new EventLoop[loopCount];
+		for (int n = 0; n < loopCount; n++) loops[n] = new EventLoop(n);
+		acceptKey = serverChannel.register(loops[0].selector, SelectionKey.OP_ACCEPT);
+		for (EventLoop loop : loops) {
+			Thread thread = new Thread(loop, "game-server-" + loop.index);
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Starts a server from the command line: {@code --port 7777 --loops 8 --phrases phrases.wofp --max-edits 1}.
+	 *
+	 * @param args Command line arguments (String[])
+	 * @throws IOException if the server can't be started
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int port = 7777;
+		int loopCount = Runtime.getRuntime().availableProcessors();
+		PhrasePack phrasePack = null;
+		int maxGuessEdits = 0;
+		for (int n = 0; n + 1 < args.length; n += 2) {
+			switch (args[n]) {
+				case "--port":
+					port = Integer.parseInt(args[n + 1]);
+					break;
+				case "--loops":
+					loopCount = Integer.parseInt(args[n + 1]);
+					break;
+				case "--phrases":
+					phrasePack = new PhrasePack(Paths.get(args[n + 1]));
+					break;
+				case "--max-edits":
+					maxGuessEdits = Integer.parseInt(args[n + 1]);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[n]);
+			}
+		}
+		GameServer server = new GameServer(port, loopCount, phrasePack);
+		server.maxGuessEdits = maxGuessEdits;
+		System.out.println("Listening on port " + server.port() + " with " + loopCount + " event loops");
+		Thread.currentThread().join();
+	}
+
+	/**
+	 * @return Port the server is listening on (Integer)
+	 */
+	public int port() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * Stops accepting connections and stops every event loop.
+	 *
+	 * @throws IOException if the server socket can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		serverChannel.close();
+		for (EventLoop loop : loops) loop.selector.close();
+	}
+
+	/**
+	 * @param room Name of a room (String)
+	 * @return Event loop that owns the room (EventLoop)
+	 */
+	EventLoop loopFor(String room) {
+		return loops[Math.floorMod(room.hashCode(), loops.length)];
+	}
+
+	/**
+	 * One selector thread and the rooms it owns.
+	 */
+	class EventLoop implements Runnable {
+		final int index;
+		final Selector selector;
+		final ConcurrentLinkedQueue<Connection> handedOver = new ConcurrentLinkedQueue<>();
+		final HashMap<String, Room> rooms = new HashMap<>();
+		/**
+		 * Time in nanoseconds to start accepting connections again after accepting failed, or 0 if accepting.
+		 */
+		long acceptPausedUntil;
+
+		EventLoop(int index) throws IOException {
+			this.index = index;
+			selector = Selector.open();
+		}
+
+		/**
+		 * Selects and handles ready keys until the server is closed. A failure of one connection closes that
+		 * connection, and a failure to select or accept is reported, so the loop keeps serving its other rooms.
+		 */
+		@Override
+		public void run() {
+			while (selector.isOpen()) {
+				try {
+					if (acceptPausedUntil == 0) selector.select();
+					else selector.select(Math.max(1, (acceptPausedUntil - System.nanoTime()) / 1_000_000));
+					if (acceptPausedUntil != 0 && System.nanoTime() - acceptPausedUntil >= 0) resumeAccepting();
+				} catch (ClosedSelectorException e) {
+					return;
+				} catch (IOException e) {
+					System.err.println("game-server-" + index + ": select failed: " + e);
+					continue;
+				}
+				Connection connection;
+				while ((connection = handedOver.poll()) != null) adopt(connection);
+
+				Iterator<SelectionKey> keys;
+				try {
+					keys = selector.selectedKeys().iterator();
+				} catch (ClosedSelectorException e) {
+					return;
+				}
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) continue;
+					if (key.isAcceptable()) accept();
+					else handle(key, (Connection) key.attachment());
+				}
+			}
+		}
+
+		/**
+		 * Writes and reads a ready connection, closing it if anything goes wrong.
+		 *
+		 * @param key        Key selected (SelectionKey)
+		 * @param connection Connection of the key (Connection)
+		 */
+		void handle(SelectionKey key, Connection connection) {
+			try {
+				if (key.isWritable()) connection.flush();
+				if (key.isValid() && key.isReadable()) connection.read();
+			} catch (RuntimeException e) {
+				System.err.println("game-server-" + index + ": closing connection after " + e);
+				connection.close();
+			}
+		}
+
+		/**
+		 * Accepts every waiting connection and shares them between the event loops. A connection that can't be set
+		 * up is closed. If accepting fails, for example when there are no file descriptors left, accepting stops for
+		 * {@link GameServer#ACCEPT_RETRY_MILLIS} and the waiting connections stay in the backlog until then.
+		 */
+		void accept() {
+			while (true) {
+				SocketChannel channel;
+				try {
+					channel = serverChannel.accept();
+				} catch (ClosedChannelException e) {
+					return;
+				} catch (IOException e) {
+					System.err.println("game-server-" + index + ": accept failed, retrying in " + ACCEPT_RETRY_MILLIS + " ms: " + e);
+					acceptKey.interestOps(0);
+					acceptPausedUntil = System.nanoTime() + ACCEPT_RETRY_MILLIS * 1_000_000;
+					return;
+				}
+				if (channel == null) return;
+				try {
+					channel.configureBlocking(false);
+					channel.socket().setTcpNoDelay(true);
+				} catch (IOException e) {
+					try {
+						channel.close();
+					} catch (IOException closeFailed) {
+						// Already closed.
+					}
+					continue;
+				}
+				EventLoop loop = loops[nextLoop++ % loops.length];
+				loop.handOver(new Connection(channel));
+			}
+		}
+
+		/**
+		 * Starts accepting connections again after {@link EventLoop#accept()} failed.
+		 */
+		void resumeAccepting() {
+			acceptPausedUntil = 0;
+			if (acceptKey.isValid()) acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+		}
+
+		/**
+		 * Gives a connection to this loop from another thread.
+		 *
+		 * @param connection Connection to take over (Connection)
+		 */
+		void handOver(Connection connection) {
+			handedOver.add(connection);
+			selector.wakeup();
+		}
+
+		/**
+		 * Registers a handed over connection with this loop, then runs the JOIN or WATCH it was handed over for
+		 * and any lines it had already received. The connection is closed if anything goes wrong.
+		 */
+		void adopt(Connection connection) {
+			connection.loop = this;
+			connection.handingOver = false;
+			try {
+				connection.key = connection.channel.register(selector, connection.interestOps(), connection);
+			} catch (IOException e) {
+				connection.close();
+				return;
+			}
+			try {
+				if (connection.pendingLine != null) {
+					String line = connection.pendingLine;
+					connection.pendingLine = null;
+					connection.handle(line);
+				}
+				connection.processLines();
+			} catch (RuntimeException e) {
+				System.err.println("game-server-" + index + ": closing connection after " + e);
+				connection.close();
+			}
+		}
+	}
+
+	/**
+	 * A client connection with its own input buffer and queue of messages waiting to be sent.
+	 */
+	class Connection {
+		final SocketChannel channel;
+		final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+		final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+		int queuedBytes;
+		EventLoop loop;
+		SelectionKey key;
+		Room room;
+		int seat;
+		/**
+		 * Room the connection is watching, and its index in the room's spectators.
+		 */
+		Room watching;
+		int spectatorIndex;
+		/**
+		 * True once feed messages have been dropped, until a snapshot has been queued in their place.
+		 */
+		boolean stale;
+		/**
+		 * Line to handle first once the connection has been handed over to {@link Connection#handOverTarget}.
+		 * Only the loop that owns the connection uses these and its input buffer, the handover passes them on.
+		 */
+		String pendingLine;
+		boolean handingOver;
+		EventLoop handOverTarget;
+
+		Connection(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		int interestOps() {
+			return output.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+		}
+
+		/**
+		 * Reads what has arrived and handles every complete line.
+		 */
+		void read() {
+			try {
+				if (channel.read(input) < 0) {
+					close();
+					return;
+				}
+			} catch (IOException e) {
+				close();
+				return;
+			}
+			processLines();
+		}
+
+		/**
+		 * Handles every complete line in the input buffer. Stops early if a line hands the connection over to
+		 * another loop: the unread bytes are compacted first and handing over is the last thing this loop does with
+		 * the connection, so the new loop handles the rest on its own.
+		 */
+		void processLines() {
+			input.flip();
+			int start = input.position();
+			for (int n = start; n < input.limit(); n++) {
+				if (input.get(n) != '\n') continue;
+				String line = new String(input.array(), start, n - start, StandardCharsets.ISO_8859_1).trim();
+				start = n + 1;
+				if (!line.isEmpty()) handle(line);
+				if (!channel.isOpen()) return;
+				if (handingOver) break;
+			}
+			input.position(start);
+			input.compact();
+			if (handingOver) {
+				EventLoop target = handOverTarget;
+				handOverTarget = null;
+				target.handOver(this);
+				return;
+			}
+			if (!input.hasRemaining()) {
+				send(Room.encode("ERR lineTooLong"));
+				close();
+			}
+		}
+
+		/**
+		 * Handles one command line.
+		 */
+		void handle(String line) {
+			int space = line.indexOf(' ');
+			String command = space < 0 ? line : line.substring(0, space);
+			String argument = space < 0 ? "" : line.substring(space + 1).trim();
+			if (command.equals("JOIN") || command.equals("WATCH")) {
+				if (room != null || watching != null) send(Room.encode("ERR alreadyInRoom"));
+				else if (command.equals("JOIN")) join(line, argument);
+				else watch(line, argument);
+			} else if (watching != null) send(Room.encode("ERR watching"));
+			else if (room == null) send(Room.encode("ERR joinFirst"));
+			else room.handle(this, command, argument);
+		}
+
+		/**
+		 * Joins a room, handing the connection over to the room's event loop first if another loop owns it.
+		 *
+		 * @param line     Whole JOIN line, handled again by the owning loop (String)
+		 * @param argument Room name and number of players (String)
+		 */
+		void join(String line, String argument) {
+			String[] fields = argument.split(" ");
+			int players = 0;
+			try {
+				players = fields.length > 1 ? Integer.parseInt(fields[1]) : 2;
+			} catch (NumberFormatException e) {
+				// Reported below.
+			}
+			if (fields[0].isEmpty() || players < 2 || players > 4) {
+				send(Room.encode("ERR usage JOIN room players"));
+				return;
+			}
+			if (handOverTo(loopFor(fields[0]), line)) return;
+			Room joined = loop.rooms.get(fields[0]);
+			if (joined == null) {
+				joined = new Room(fields[0], players, phrasePack, scheduler, stats);
+				joined.maxGuessEdits = maxGuessEdits;
+				loop.rooms.put(joined.name, joined);
+			}
+			if (!joined.join(this)) send(Room.encode("ERR roomFull"));
+		}
+
+		/**
+		 * Starts watching a room, handing the connection over to the room's event loop first if another loop owns it.
+		 *
+		 * @param line     Whole WATCH line, handled again by the owning loop (String)
+		 * @param argument Room name (String)
+		 */
+		void watch(String line, String argument) {
+			if (argument.isEmpty() || argument.indexOf(' ') >= 0) {
+				send(Room.encode("ERR usage WATCH room"));
+				return;
+			}
+			if (handOverTo(loopFor(argument), line)) return;
+			Room watched = loop.rooms.get(argument);
+			if (watched == null) send(Room.encode("ERR noSuchRoom"));
+			else watched.watch(this);
+		}
+
+		/**
+		 * Marks the connection to be handed over to another event loop to handle a line there, unless this loop is
+		 * the owner. {@link Connection#processLines()} stops reading lines and hands it over once the input buffer
+		 * has been compacted.
+		 *
+		 * @param owner Loop that has to handle the line (EventLoop)
+		 * @param line  Line to handle (String)
+		 * @return True if the connection is being handed over (Boolean)
+		 */
+		boolean handOverTo(EventLoop owner, String line) {
+			if (owner == loop) return false;
+			pendingLine = line;
+			handOverTarget = owner;
+			handingOver = true;
+			key.cancel();
+			return true;
+		}
+
+		/**
+		 * Sends a message of the spectator feed. If too much is already waiting, everything waiting that hasn't started
+		 * to be written is dropped, along with the feed messages that follow, until {@link Connection#flush()} has
+		 * caught up and queued a snapshot of the latest state instead.
+		 *
+		 * @param message Encoded feed message (ByteBuffer)
+		 */
+		void publish(ByteBuffer message) {
+			if (stale || !channel.isOpen()) return;
+			if (queuedBytes + message.remaining() <= MAX_SPECTATOR_QUEUED_BYTES) {
+				send(message);
+				return;
+			}
+			ByteBuffer writing = output.peek();
+			boolean started = writing != null && writing.position() > 0;
+			output.clear();
+			queuedBytes = 0;
+			if (started) {
+				output.add(writing);
+				queuedBytes = writing.remaining();
+			}
+			stale = true;
+			if (key != null && key.isValid()) key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+
+		/**
+		 * Sends a message, writing it straight away if nothing is queued and queueing what is left.
+		 * Connections that let too much queue up are closed.
+		 *
+		 * @param message Encoded message (ByteBuffer)
+		 */
+		void send(ByteBuffer message) {
+			if (!channel.isOpen()) return;
+			if (output.isEmpty() && !handingOver) {
+				try {
+					channel.write(message);
+				} catch (IOException e) {
+					close();
+					return;
+				}
+				if (!message.hasRemaining()) return;
+			}
+			output.add(message);
+			queuedBytes += message.remaining();
+			if (queuedBytes > MAX_QUEUED_BYTES) close();
+			else if (key != null && key.isValid() && !handingOver) key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+
+		/**
+		 * Writes queued messages until the socket is full or the queue is empty.
+		 */
+		void flush() {
+			try {
+				while (!output.isEmpty() || resync()) {
+					ByteBuffer message = output.peek();
+					int before = message.remaining();
+					channel.write(message);
+					queuedBytes -= before - message.remaining();
+					if (message.hasRemaining()) return;
+					output.poll();
+				}
+				key.interestOps(SelectionKey.OP_READ);
+			} catch (IOException e) {
+				close();
+			}
+		}
+
+		/**
+		 * Queues a snapshot of the latest state for a spectator whose feed messages were dropped, once it has caught up.
+		 *
+		 * @return True if a snapshot was queued (Boolean)
+		 */
+		boolean resync() {
+			if (!stale) return false;
+			stale = false;
+			if (watching == null || !watching.started) return false;
+			ByteBuffer snapshot = watching.feed.snapshot(watching.game);
+			output.add(snapshot);
+			queuedBytes += snapshot.remaining();
+			return true;
+		}
+
+		/**
+		 * Closes the connection and leaves its room.
+		 */
+		void close() {
+			Room left = room;
+			if (left != null) {
+				left.leave(this);
+				loop.rooms.remove(left.name);
+			}
+			if (watching != null) watching.unwatch(this);
+			if (key != null) key.cancel();
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// Already closed.
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package WheelOfFortune.Game;
+
+/**
+ * Immutable snapshot of a game played by a {@link GameActor}, safe to read from any thread.
+ * <p>Snapshots are published by the actor after it has applied a batch of commands. A snapshot never changes once
+ * published, so readers on any thread can hold on to one for as long as they like without locks.
+ * Its arrays are copies owned by the snapshot and must not be changed.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameActor#state()
+ */
+public class GameState {
+	/**
+	 * Number of commands the actor had applied when the snapshot was taken.
+	 */
+	final long sequence;
+	/**
+	 * Number of games finished before this one.
+	 */
+	final int games;
+	final int currentPlayer;
+	final int[] playerMoney;
+	final String guessPhrase;
+	/**
+	 * What the current player has to do next: "spin", "letter" or "choice" (spin or solve).
+	 */
+	final String expecting;
+	final int sectorLanded;
+	final int spinValue;
+	final int bonusMoney;
+	/**
+	 * Letters guessed this game as a bit per letter, found or not.
+	 */
+	final int guessedLetters;
+	/**
+	 * Seat that won the last game finished and its total prize money, or -1 and 0 before any game has finished.
+	 */
+	final int lastWinner;
+	final int lastPrize;
+
+	/**
+	 * Copies the state of an actor's game.
+	 *
+	 * @param actor Actor taking the snapshot, on its own thread (GameActor)
+	 */
+	GameState(GameActor actor) {
+		Game game = actor.game;
+		Engine engine = actor.engine;
+		sequence = actor.applied;
+		games = actor.games;
+		currentPlayer = game.currentPlayer;
+		playerMoney = game.playerMoney.clone();
+		guessPhrase = game.guessPhrase();
+		expecting = actor.expecting;
+		sectorLanded = engine.sectorLanded;
+		spinValue = engine.spinValue;
+		bonusMoney = game.bonusMoney();
+		guessedLetters = engine.guessedLetters;
+		lastWinner = actor.lastWinner;
+		lastPrize = actor.lastPrize;
+	}
+
+	/**
+	 * @return Current player counting from 1, for display (Integer)
+	 */
+	public int displayCurrentPlayer() {
+		return currentPlayer + 1;
+	}
+
+	/**
+	 * @param seat Seat counting from 0 (Integer)
+	 * @return Money of the seat (Integer)
+	 */
+	public int money(int seat) {
+		return playerMoney[seat];
+	}
+
+	/**
+	 * @return Guess phrase, the game phrase with letters not found yet replaced with a dash (String)
+	 */
+	public String guessPhrase() {
+		return guessPhrase;
+	}
+
+	/**
+	 * @return "spin", "letter" or "choice" (String)
+	 */
+	public String expecting() {
+		return expecting;
+	}
+
+	/**
+	 * @param letter Lowercase letter (Character)
+	 * @return True if the letter has already been guessed this game (Boolean)
+	 */
+	public boolean guessed(char letter) {
+		return (guessedLetters & (1 << (letter - 'a'))) != 0;
+	}
+}
@@ -0,0 +1,81 @@
+package WheelOfFortune.Game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations with one bucket per power of two microseconds.
+ * <p>Recording a duration is one bit count and one atomic increment with no allocation and no locks, so it can be
+ * called every frame. Percentiles are the upper bound of the bucket they fall in, which is close enough to tell a
+ * 2 ms frame from a 30 ms one.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameMetrics
+ */
+public class LatencyHistogram {
+	static final int BUCKETS = 40;
+
+	final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	final LongAdder totalNanos = new LongAdder();
+	final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * @param nanos Duration in nanoseconds (Long)
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(1, nanos / 1000);
+		buckets.incrementAndGet(Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros)));
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+	}
+
+	/**
+	 * @return Number of durations recorded (Long)
+	 */
+	public long count() {
+		long count = 0;
+		for (int n = 0; n < BUCKETS; n++) count += buckets.get(n);
+		return count;
+	}
+
+	/**
+	 * @param fraction Fraction of durations at or below the percentile, from 0 to 1 (Double)
+	 * @return Upper bound of the bucket the percentile falls in, in microseconds, or 0 if nothing is recorded (Long)
+	 */
+	public long percentileMicros(double fraction) {
+		long total = count();
+		if (total == 0) return 0;
+		long seen = 0;
+		for (int n = 0; n < BUCKETS; n++) {
+			seen += buckets.get(n);
+			if (seen >= total * fraction) return 1L << (n + 1);
+		}
+		return 1L << BUCKETS;
+	}
+
+	/**
+	 * @return Mean duration in microseconds, or 0 if nothing is recorded (Double)
+	 */
+	public double meanMicros() {
+		long count = count();
+		return count == 0 ? 0 : totalNanos.sum() / 1000.0 / count;
+	}
+
+	/**
+	 * @return Longest duration in microseconds (Long)
+	 */
+	public long maxMicros() {
+		return maxNanos.get() / 1000;
+	}
+
+	/**
+	 * Forgets every duration recorded.
+	 */
+	public void reset() {
+		for (int n = 0; n < BUCKETS; n++) buckets.set(n, 0);
+		totalNanos.reset();
+		maxNanos.reset();
+	}
+}
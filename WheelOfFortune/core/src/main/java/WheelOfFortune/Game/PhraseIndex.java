@@ -0,0 +1,215 @@
+package WheelOfFortune.Game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Index of a phrase corpus used by the {@link SolverPolicy} to find which phrases are still possible.
+ * <p>Phrases are grouped by shape: the phrase with every letter replaced by a dash, so a group holds every phrase
+ * of the same length with spaces and punctuation in the same places. Within a group each phrase has a bit, and
+ * for every letter the index keeps the distinct patterns of positions the letter appears at, each with a bitset of
+ * the phrases that have exactly that pattern. The empty pattern holds the phrases without the letter.</p>
+ * <p>Once a letter has been guessed its pattern on the guess board is known, so the phrases still possible are
+ * pruned with one lookup and one bitset AND per letter instead of rescanning any phrases. Each phrase also keeps
+ * how many of each letter it has, so the chance a letter is in the phrase and how many times it is expected to
+ * appear are summed over only the phrases still possible, or read from totals kept for the whole group.</p>
+ * <p>Phrases longer than {@link PhraseIndex#MAX_LENGTH} are not indexed. An index is read-only once built, so one
+ * index can be shared by every thread of the {@link Simulator}.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see SolverPolicy
+ */
+public class PhraseIndex {
+	/**
+	 * Longest phrase indexed, so that the positions of a letter fit in one long.
+	 */
+	static final int MAX_LENGTH = 64;
+
+	String[] phrases;
+	PhrasePack phrasePack;
+	HashMap<String, Group> groups = new HashMap<>();
+
+	/**
+	 * Builds an index of phrases held in memory.
+	 *
+	 * @param phrases Corpus of phrases (String[])
+	 */
+	public PhraseIndex(String[] phrases) {
+		this.phrases = phrases;
+		build(phrases.length);
+	}
+
+	/**
+	 * Builds an index of every phrase in a phrase pack. Phrases are decoded from the pack again only when one
+	 * is guessed.
+	 *
+	 * @param phrasePack Corpus of phrases (PhrasePack)
+	 */
+	public PhraseIndex(PhrasePack phrasePack) {
+		this.phrasePack = phrasePack;
+		build(phrasePack.size());
+	}
+
+	/**
+	 * @param id Phrase number in the corpus (Integer)
+	 * @return Phrase (String)
+	 */
+	String phrase(int id) {
+		return phrases != null ? phrases[id] : phrasePack.phrase(id);
+	}
+
+	/**
+	 * @param board Guess board or phrase (char[])
+	 * @return Board with every letter and every hidden letter replaced by a dash (String)
+	 */
+	static String shape(char[] board) {
+		char[] shape = new char[board.length];
+		for (int n = 0; n < board.length; n++) shape[n] = board[n] >= 'a' && board[n] <= 'z' ? '-' : board[n];
+		return String.valueOf(shape);
+	}
+
+	/**
+	 * @param board Guess board or phrase (char[])
+	 * @param letter Lowercase letter (Character)
+	 * @return Bit n set if the letter is at position n (Long)
+	 */
+	static long pattern(char[] board, char letter) {
+		long pattern = 0;
+		for (int n = 0; n < board.length; n++) {
+			if (board[n] == letter) pattern |= 1L << n;
+		}
+		return pattern;
+	}
+
+	/**
+	 * @param board Guess board with hidden letters as dashes (char[])
+	 * @return Group of phrases with the same shape as the board, or null if there are none (Group)
+	 */
+	Group group(char[] board) {
+		return board.length > MAX_LENGTH ? null : groups.get(shape(board));
+	}
+
+	/**
+	 * Sorts every phrase into a group by shape, then builds each group's patterns and bitsets.
+	 */
+	void build(int size) {
+		HashMap<String, List<char[]>> phrasesByShape = new HashMap<>();
+		HashMap<String, List<Integer>> idsByShape = new HashMap<>();
+		for (int id = 0; id < size; id++) {
+			char[] phrase = phrase(id).toCharArray();
+			if (phrase.length > MAX_LENGTH) continue;
+			String shape = shape(phrase);
+			phrasesByShape.computeIfAbsent(shape, key -> new ArrayList<>()).add(phrase);
+			idsByShape.computeIfAbsent(shape, key -> new ArrayList<>()).add(id);
+		}
+		for (String shape : phrasesByShape.keySet()) {
+			groups.put(shape, new Group(phrasesByShape.get(shape), idsByShape.get(shape)));
+		}
+	}
+
+	/**
+	 * Phrases of one shape with the patterns of each letter. Phrase n of the group is {@code ids[n]} in the corpus,
+	 * and bitsets are {@link Group#words} longs with bit n of word w being phrase {@code w * 64 + n}.
+	 * <p>A pattern shared by at least one phrase in 32 keeps a bitset of its phrases. Rarer patterns keep a list
+	 * of phrase numbers instead, so a big group doesn't need a bitset for every pattern.</p>
+	 */
+	static class Group {
+		int[] ids;
+		int words;
+		/**
+		 * Patterns of letter l are {@code patterns[patternStart[l]]} up to {@code patterns[patternStart[l + 1]]}, sorted.
+		 */
+		int[] patternStart = new int[27];
+		long[] patterns;
+		/**
+		 * Offset of pattern p's bitset in {@link Group#bitsets}, or -1 if the pattern keeps a list of phrases.
+		 */
+		int[] bitsetStart;
+		long[] bitsets;
+		/**
+		 * Phrases with pattern p are {@code postings[postingStart[p]]} up to {@code postings[postingStart[p + 1]]}.
+		 */
+		int[] postingStart;
+		int[] postings;
+		/**
+		 * Number of times each letter appears in phrase n, at {@code n * 26 + letter}.
+		 */
+		byte[] letterCounts;
+		/**
+		 * Number of phrases in the group with each letter, and number of times each letter appears in all of them.
+		 */
+		int[] phrasesWithLetter = new int[26];
+		int[] letterTotals = new int[26];
+
+		Group(List<char[]> phrases, List<Integer> phraseIds) {
+			int size = phraseIds.size();
+			ids = new int[size];
+			for (int n = 0; n < size; n++) ids[n] = phraseIds.get(n);
+			words = (size + 63) >>> 6;
+
+			long[] phrasePatterns = new long[26 * size];
+			letterCounts = new byte[26 * size];
+			for (int n = 0; n < size; n++) {
+				char[] phrase = phrases.get(n);
+				for (int position = 0; position < phrase.length; position++) {
+					int letter = phrase[position] - 'a';
+					if (letter < 0 || letter >= 26) continue;
+					phrasePatterns[letter * size + n] |= 1L << position;
+					letterCounts[n * 26 + letter]++;
+				}
+				for (int letter = 0; letter < 26; letter++) {
+					int count = letterCounts[n * 26 + letter];
+					if (count > 0) phrasesWithLetter[letter]++;
+					letterTotals[letter] += count;
+				}
+			}
+
+			long[] distinct = new long[26 * size];
+			int[] distinctCounts = new int[26 * size];
+			int count = 0;
+			for (int letter = 0; letter < 26; letter++) {
+				patternStart[letter] = count;
+				long[] sorted = Arrays.copyOfRange(phrasePatterns, letter * size, (letter + 1) * size);
+				Arrays.sort(sorted);
+				for (int n = 0; n < size; n++) {
+					if (n == 0 || sorted[n] != sorted[n - 1]) distinct[count++] = sorted[n];
+					distinctCounts[count - 1]++;
+				}
+			}
+			patternStart[26] = count;
+			patterns = Arrays.copyOf(distinct, count);
+
+			bitsetStart = new int[count];
+			postingStart = new int[count + 1];
+			int bitsetWords = 0;
+			for (int pattern = 0; pattern < count; pattern++) {
+				boolean dense = distinctCounts[pattern] >= 2 * words;
+				bitsetStart[pattern] = dense ? bitsetWords : -1;
+				if (dense) bitsetWords += words;
+				postingStart[pattern + 1] = postingStart[pattern] + (dense ? 0 : distinctCounts[pattern]);
+			}
+			bitsets = new long[bitsetWords];
+			postings = new int[postingStart[count]];
+			int[] nextPosting = Arrays.copyOf(postingStart, count);
+			for (int letter = 0; letter < 26; letter++) {
+				for (int n = 0; n < size; n++) {
+					int pattern = patternIndex(letter, phrasePatterns[letter * size + n]);
+					if (bitsetStart[pattern] >= 0) bitsets[bitsetStart[pattern] + (n >>> 6)] |= 1L << n;
+					else postings[nextPosting[pattern]++] = n;
+				}
+			}
+		}
+
+		/**
+		 * @param letter  Letter from 0 to 25 (Integer)
+		 * @param pattern Positions of the letter (Long)
+		 * @return Index of the pattern in {@link Group#patterns}, or a negative number if no phrase has it (Integer)
+		 */
+		int patternIndex(int letter, long pattern) {
+			return Arrays.binarySearch(patterns, patternStart[letter], patternStart[letter + 1], pattern);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package WheelOfFortune.Game;
+
+/**
+ * Matches full phrase guesses against one phrase, ignoring case, spacing and punctuation, and optionally
+ * accepting guesses a few edits away.
+ * <p>Phrases and guesses are compared in canonical form, see {@link PhraseMatcher#canonical(CharSequence, int)}.
+ * The canonical phrase is worked out once, when the phrase is set. An exact guess of the wrong length is rejected
+ * without comparing any characters, and any other is compared once, stopping at the first difference.</p>
+ * <p>With edits allowed, the distance is found with Myers' bit-parallel algorithm, one step of a few word
+ * operations per character of the guess. The character masks of the phrase are built once, so this only works for
+ * canonical phrases of up to 64 characters. Longer phrases fall back to a dynamic programming table limited to the
+ * band of allowed edits. Either way a guess stops being checked as soon as it can't come within the allowed edits,
+ * and canonicalising stops once a guess is too long to match, so no guess costs more than a phrase's length of
+ * work however long it is.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game#comparePhraseToPhrase(String, String)
+ */
+public class PhraseMatcher {
+	/**
+	 * Longest canonical phrase the bit-parallel distance works for, one bit per character.
+	 */
+	static final int MAX_BIT_PARALLEL = 64;
+
+	final String canonical;
+	/**
+	 * Bit {@code n} of {@code masks[c]} is set if character {@code n} of the canonical phrase is {@code c},
+	 * for characters below 128. Null if the canonical phrase is too long.
+	 */
+	final long[] masks;
+
+	/**
+	 * Canonicalises a phrase and builds its character masks.
+	 *
+	 * @param phrase Phrase to match guesses against (String)
+	 */
+	public PhraseMatcher(String phrase) {
+		canonical = canonical(phrase, Integer.MAX_VALUE);
+		if (canonical.length() > MAX_BIT_PARALLEL) {
+			masks = null;
+			return;
+		}
+		masks = new long[128];
+		for (int n = 0; n < canonical.length(); n++) {
+			char character = canonical.charAt(n);
+			if (character < 128) masks[character] |= 1L << n;
+		}
+	}
+
+	/**
+	 * Puts a phrase in canonical form: lower case letters and digits, with apostrophes removed and every other run
+	 * of spaces or punctuation made a single space, trimmed. "It's  raining, cats & dogs!" becomes
+	 * "its raining cats dogs".
+	 *
+	 * @param phrase Phrase or guess (CharSequence)
+	 * @param limit  Length past which to stop (Integer)
+	 * @return Canonical phrase, or null if it would be longer than the limit (String)
+	 */
+	static String canonical(CharSequence phrase, int limit) {
+		StringBuilder canonical = new StringBuilder(Math.min(phrase.length(), limit));
+		boolean gap = false;
+		for (int n = 0; n < phrase.length(); n++) {
+			char character = phrase.charAt(n);
+			if (character == '\'' || character == '’') continue;
+			if (!Character.isLetterOrDigit(character)) {
+				gap = canonical.length() > 0;
+				continue;
+			}
+			if (canonical.length() + (gap ? 2 : 1) > limit) return null;
+			if (gap) canonical.append(' ');
+			canonical.append(Character.toLowerCase(character));
+			gap = false;
+		}
+		return canonical.toString();
+	}
+
+	/**
+	 * Checks a guess against the phrase.
+	 *
+	 * @param guess    Player's full phrase guess (String)
+	 * @param maxEdits Most insertions, deletions and substitutions to accept, 0 for an exact match (Integer)
+	 * @return True if the canonical guess is within the edits of the canonical phrase (Boolean)
+	 */
+	public boolean matches(String guess, int maxEdits) {
+		String canonicalGuess = canonical(guess, canonical.length() + maxEdits);
+		if (canonicalGuess == null || canonicalGuess.length() < canonical.length() - maxEdits) return false;
+		if (canonicalGuess.equals(canonical)) return true;
+		if (maxEdits == 0) return false;
+		return masks != null ? bitParallelWithin(canonicalGuess, maxEdits) : bandedWithin(canonicalGuess, maxEdits);
+	}
+
+	/**
+	 * Myers' bit-parallel edit distance, with a carry into the first row so the whole phrase has to match the whole
+	 * guess. {@code plus} and {@code minus} hold the vertical differences of the column of the table for the guess
+	 * so far, and {@code distance} the value at the bottom of the column.
+	 *
+	 * @param guess    Canonical guess (String)
+	 * @param maxEdits Most edits to accept (Integer)
+	 * @return True if the edit distance is at most maxEdits (Boolean)
+	 */
+	boolean bitParallelWithin(String guess, int maxEdits) {
+		int length = canonical.length();
+		if (length == 0) return guess.length() <= maxEdits;
+		long last = 1L << (length - 1);
+		long plus = length == 64 ? -1L : (1L << length) - 1;
+		long minus = 0;
+		int distance = length;
+		for (int n = 0; n < guess.length(); n++) {
+			long equal = mask(guess.charAt(n));
+			long vertical = equal | minus;
+			long horizontal = (((equal & plus) + plus) ^ plus) | equal;
+			long horizontalPlus = minus | ~(horizontal | plus);
+			long horizontalMinus = plus & horizontal;
+			if ((horizontalPlus & last) != 0) distance++;
+			else if ((horizontalMinus & last) != 0) distance--;
+			if (distance - (guess.length() - n - 1) > maxEdits) return false;
+			horizontalPlus = (horizontalPlus << 1) | 1;
+			horizontalMinus <<= 1;
+			plus = horizontalMinus | ~(vertical | horizontalPlus);
+			minus = horizontalPlus & vertical;
+		}
+		return distance <= maxEdits;
+	}
+
+	/**
+	 * @param character Character of a guess (Character)
+	 * @return Bits of the positions of the character in the canonical phrase (Long)
+	 */
+	long mask(char character) {
+		if (character < 128) return masks[character];
+		long mask = 0;
+		for (int n = 0; n < canonical.length(); n++) {
+			if (canonical.charAt(n) == character) mask |= 1L << n;
+		}
+		return mask;
+	}
+
+	/**
+	 * Edit distance by dynamic programming, only filling cells within maxEdits of the diagonal.
+	 *
+	 * @param guess    Canonical guess (String)
+	 * @param maxEdits Most edits to accept (Integer)
+	 * @return True if the edit distance is at most maxEdits (Boolean)
+	 */
+	boolean bandedWithin(String guess, int maxEdits) {
+		int length = canonical.length();
+		int outside = maxEdits + 1;
+		int[] previous = new int[length + 1];
+		int[] current = new int[length + 1];
+		for (int n = 0; n <= length; n++) previous[n] = Math.min(n, outside);
+		for (int row = 1; row <= guess.length(); row++) {
+			int from = Math.max(1, row - maxEdits);
+			int to = Math.min(length, row + maxEdits);
+			current[from - 1] = from == 1 ? Math.min(row, outside) : outside;
+			int best = current[from - 1];
+			char character = guess.charAt(row - 1);
+			for (int column = from; column <= to; column++) {
+				int cost = previous[column - 1] + (canonical.charAt(column - 1) == character ? 0 : 1);
+				cost = Math.min(cost, previous[column] + 1);
+				cost = Math.min(cost, current[column - 1] + 1);
+				current[column] = Math.min(cost, outside);
+				best = Math.min(best, current[column]);
+			}
+			if (to < length) current[to + 1] = outside;
+			if (best > maxEdits) return false;
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[length] <= maxEdits;
+	}
+}
@@ -0,0 +1,157 @@
+package WheelOfFortune.Game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Read-only phrase pack file opened through a {@link MappedByteBuffer}.
+ * <p>Only the header and the offset table are read when a pack is opened, to check that every phrase lies inside
+ * the file. {@link PhrasePack#phrase(int)} looks up one entry in the offset table and decodes only that phrase, so
+ * opening a pack of millions of phrases takes no more heap than opening a pack of six. Reads use absolute
+ * positions, so one pack can be shared between threads.</p>
+ * <p>File layout, all integers big-endian:</p>
+ * <pre>
+ * int     magic ("WOFP")
+ * int     version (1)
+ * int     number of phrases n
+ * int[n+1] offset of each phrase in the phrase bytes, the last offset is the end of the last phrase
+ * byte[]  UTF-8 phrase bytes, one phrase after another
+ * </pre>
+ * <p>A pack can be built from a text file with one phrase per line:</p>
+ * <pre>java -cp WheelOfFortune.jar WheelOfFortune.Game.PhrasePack phrases.txt phrases.wofp</pre>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game#Game(PhrasePack)
+ */
+public class PhrasePack {
+	static final int MAGIC = 0x574F4650;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 12;
+
+	MappedByteBuffer buffer;
+	int size;
+	int phrasesStart;
+
+	/**
+	 * Maps a phrase pack file and checks its header.
+	 *
+	 * @param path Path of the phrase pack (Path)
+	 * @throws IOException if the file can't be read, is not a phrase pack or its offsets are outside the file
+	 */
+	public PhrasePack(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Not a phrase pack: " + path);
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) throw new IOException("Not a phrase pack: " + path);
+		size = buffer.getInt(8);
+		try {
+			phrasesStart = Math.addExact(HEADER_BYTES, Math.multiplyExact(Math.addExact(size, 1), 4));
+		} catch (ArithmeticException e) {
+			throw new IOException("Phrase pack is corrupt: " + path);
+		}
+		if (size < 0 || phrasesStart > buffer.capacity()) throw new IOException("Phrase pack is truncated: " + path);
+		checkOffsets(path, buffer.capacity() - phrasesStart);
+	}
+
+	/**
+	 * Checks that the offsets start at 0, never go down and end inside the file, so every phrase can be decoded.
+	 *
+	 * @param path        Path of the phrase pack, for the error message (Path)
+	 * @param phraseBytes Number of bytes after the offset table (Integer)
+	 * @throws IOException if an offset is out of order or outside the file
+	 */
+	void checkOffsets(Path path, int phraseBytes) throws IOException {
+		int previous = buffer.getInt(HEADER_BYTES);
+		if (previous != 0) throw new IOException("Phrase pack is corrupt: " + path);
+		for (int n = 1; n <= size; n++) {
+			int offset = buffer.getInt(HEADER_BYTES + n * 4);
+			if (offset < previous) throw new IOException("Phrase pack is corrupt: " + path);
+			if (offset > phraseBytes) throw new IOException("Phrase pack is truncated: " + path);
+			previous = offset;
+		}
+	}
+
+	/**
+	 * @return Number of phrases in the pack (Integer)
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Decodes one phrase from the pack.
+	 *
+	 * @param index Index of the phrase, from 0 to {@link PhrasePack#size()} - 1 (Integer)
+	 * @return Phrase (String)
+	 * @throws IndexOutOfBoundsException if the index is not in the pack
+	 */
+	public String phrase(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Phrase " + index + " of " + size);
+		int start = buffer.getInt(HEADER_BYTES + index * 4);
+		int end = buffer.getInt(HEADER_BYTES + (index + 1) * 4);
+		byte[] bytes = new byte[end - start];
+		buffer.get(phrasesStart + start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes phrases to a new phrase pack file.
+	 *
+	 * @param path    Path of the phrase pack to write (Path)
+	 * @param phrases Phrases to write (List)
+	 * @throws IOException if the file can't be written
+	 */
+	public static void write(Path path, List<String> phrases) throws IOException {
+		byte[][] encoded = new byte[phrases.size()][];
+		for (int n = 0; n < encoded.length; n++) encoded[n] = phrases.get(n).getBytes(StandardCharsets.UTF_8);
+
+		try (OutputStream file = Files.newOutputStream(path);
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(encoded.length);
+			int offset = 0;
+			out.writeInt(offset);
+			for (byte[] phrase : encoded) {
+				offset = Math.addExact(offset, phrase.length);
+				out.writeInt(offset);
+			}
+			for (byte[] phrase : encoded) out.write(phrase);
+		}
+	}
+
+	/**
+	 * Builds a phrase pack from a text file with one phrase per line. Blank lines are skipped
+	 * and phrases are made lowercase, the same as the built-in phrases in {@link Game#phrases}.
+	 *
+	 * @param args Text file to read and phrase pack to write (String[])
+	 * @throws IOException if either file can't be used
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: PhrasePack <phrases.txt> <phrases.wofp>");
+			System.exit(1);
+		}
+		List<String> phrases = Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8);
+		phrases.removeIf(phrase -> phrase.isBlank());
+		phrases.replaceAll(phrase -> phrase.trim().toLowerCase());
+		write(Paths.get(args[1]), phrases);
+		System.out.println("Wrote " + phrases.size() + " phrases to " + args[1]);
+	}
+}
@@ -0,0 +1,237 @@
+package WheelOfFortune.Game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Chooses phrases in a pseudorandom order that doesn't repeat a phrase until every phrase has been played.
+ * <p>The order is a keyed bijection of the phrase indexes: a {@link PhraseScheduler#ROUNDS}-round Feistel network
+ * over the smallest power of four at least as big as the corpus, keyed by the seed. Phrase number {@code cursor} of
+ * the order is the permuted cursor, skipping permuted values past the end of the corpus. Once the whole corpus has
+ * been played the next pass uses a new key, so the order changes every pass. Only the seed and the cursor are kept,
+ * so a scheduler over millions of phrases takes as little memory as one over six, and nothing is shuffled.</p>
+ * <p>A scheduler opened with a file saves its seed and cursor there after every phrase, so a kiosk carries on
+ * through the same order after a restart. {@link PhraseScheduler#next()} only wakes a background writer thread, so
+ * neither the EDT nor a server loop waits on the disk, and phrases taken while a save is running are saved together
+ * by the next one. The file is written to a temporary file first and moved over the old one, so there is always one
+ * whole copy. The last cursor is saved when the scheduler is closed or the JVM exits.</p>
+ * <p>File layout, all integers big-endian:</p>
+ * <pre>
+ * int  magic ("WOFS")
+ * int  number of phrases, a different corpus starts a new order
+ * long seed
+ * long cursor
+ * </pre>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game#Game(PhrasePack, PhraseScheduler)
+ */
+public class PhraseScheduler implements Closeable {
+	static final int MAGIC = 0x574F4653;
+	/**
+	 * Longest the JVM waits at exit for the last cursor to be saved.
+	 */
+	static final long EXIT_WAIT_MILLIS = 1000;
+	static final int ROUNDS = 4;
+	static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	final int size;
+	final long seed;
+	/**
+	 * Half the bits of the permuted domain, which is {@code 1 << (2 * halfBits)} values.
+	 */
+	final int halfBits;
+	final long halfMask;
+	final long domain;
+	long cursor;
+	Path file;
+	/**
+	 * Cursor of the last save the writer started, so it can tell when there is a newer one to save.
+	 */
+	long savedCursor;
+	boolean closed;
+	Thread writer;
+	Thread exitHook;
+
+	/**
+	 * Constructs a scheduler at the start of its order.
+	 *
+	 * @param size Number of phrases, more than 0 (Integer)
+	 * @param seed Key of the order (Long)
+	 * @throws IllegalArgumentException if there are no phrases
+	 */
+	public PhraseScheduler(int size, long seed) {
+		if (size <= 0) throw new IllegalArgumentException("No phrases to schedule");
+		this.size = size;
+		this.seed = seed;
+		int bits = 64 - Long.numberOfLeadingZeros(size - 1);
+		halfBits = Math.max(1, (bits + 1) / 2);
+		halfMask = (1L << halfBits) - 1;
+		domain = 1L << (2 * halfBits);
+	}
+
+	/**
+	 * Opens the scheduler saved in a file, or starts a new one seeded from {@link GameRandom#nextSeed()} if the
+	 * file doesn't exist or was saved for a corpus of a different size.
+	 *
+	 * @param file Path the scheduler is saved to (Path)
+	 * @param size Number of phrases (Integer)
+	 * @return Scheduler that saves itself to the file in the background (PhraseScheduler)
+	 * @throws IOException if the file can't be read or is not a phrase schedule
+	 */
+	public static PhraseScheduler open(Path file, int size) throws IOException {
+		PhraseScheduler scheduler = null;
+		if (Files.exists(file)) {
+			try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+				if (input.readInt() != MAGIC) throw new IOException("Not a phrase schedule: " + file);
+				if (input.readInt() == size) {
+					scheduler = new PhraseScheduler(size, input.readLong());
+					scheduler.cursor = input.readLong();
+				}
+			}
+		}
+		if (scheduler == null) scheduler = new PhraseScheduler(size, GameRandom.nextSeed());
+		scheduler.file = file;
+		scheduler.savedCursor = scheduler.cursor;
+		scheduler.writer = new Thread(scheduler::writeLoop, "phrase-schedule");
+		scheduler.writer.setDaemon(true);
+		scheduler.writer.start();
+		scheduler.exitHook = new Thread(scheduler::finish, "phrase-schedule-exit");
+		Runtime.getRuntime().addShutdownHook(scheduler.exitHook);
+		return scheduler;
+	}
+
+	/**
+	 * Gets the next phrase of the order and wakes the writer to save the scheduler if it has a file.
+	 *
+	 * @return Index of the next phrase, from 0 to the number of phrases - 1 (Integer)
+	 */
+	public synchronized int next() {
+		long index;
+		do {
+			index = permute(cursor % domain, key(cursor / domain));
+			cursor++;
+		} while (index >= size);
+		if (file != null) notifyAll();
+		return (int) index;
+	}
+
+	/**
+	 * @param pass Number of times the whole corpus has been played (Long)
+	 * @return Key of the order for that pass (Long)
+	 */
+	long key(long pass) {
+		return mix(seed + pass * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Permutes a value of the domain with a balanced Feistel network, which is a bijection for any round function.
+	 *
+	 * @param value Value from 0 to the domain size - 1 (Long)
+	 * @param key   Key of the permutation (Long)
+	 * @return Permuted value from 0 to the domain size - 1 (Long)
+	 */
+	long permute(long value, long key) {
+		long left = value >>> halfBits;
+		long right = value & halfMask;
+		for (int round = 0; round < ROUNDS; round++) {
+			long next = left ^ (mix(right ^ (key + round * GOLDEN_GAMMA)) & halfMask);
+			left = right;
+			right = next;
+		}
+		return (left << halfBits) | right;
+	}
+
+	/**
+	 * Scrambles the bits of a long, the finalizer of SplitMix64.
+	 *
+	 * @param z Value to scramble (Long)
+	 * @return Scrambled value (Long)
+	 */
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Writer thread. Waits for the cursor to move and saves it. A save that fails is reported and tried again with the
+	 * cursor of the next phrase. Ends once the scheduler is closed and its last cursor saved.
+	 */
+	void writeLoop() {
+		while (true) {
+			long latest;
+			synchronized (this) {
+				while (cursor == savedCursor && !closed) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				if (cursor == savedCursor) return;
+				latest = cursor;
+				savedCursor = latest;
+			}
+			try {
+				save(latest);
+			} catch (IOException e) {
+				System.err.println("Couldn't save the phrase schedule to " + file + ": " + e);
+			}
+		}
+	}
+
+	/**
+	 * Saves the last cursor and stops the writer thread. Does nothing for a scheduler without a file.
+	 */
+	@Override
+	public void close() {
+		if (writer == null) return;
+		finish();
+		try {
+			Runtime.getRuntime().removeShutdownHook(exitHook);
+		} catch (IllegalStateException e) {
+			// Already exiting, the hook waits for the writer.
+		}
+	}
+
+	/**
+	 * Tells the writer to save the last cursor and stop, and waits for it up to {@link PhraseScheduler#EXIT_WAIT_MILLIS}.
+	 */
+	void finish() {
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+		try {
+			writer.join(EXIT_WAIT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Saves the seed and a cursor to a temporary file and moves it over the scheduler's file.
+	 *
+	 * @param cursor Cursor to save (Long)
+	 * @throws IOException if the file can't be written
+	 */
+	void save(long cursor) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(24);
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(MAGIC);
+		output.writeInt(size);
+		output.writeLong(seed);
+		output.writeLong(cursor);
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(temporary, bytes.toByteArray());
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
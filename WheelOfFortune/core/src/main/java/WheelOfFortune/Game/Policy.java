@@ -0,0 +1,73 @@
+package WheelOfFortune.Game;
+
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * A player policy used by the {@link Simulator} to play games without a GUI.
+ * A new policy is created for every game, so policies may keep state for the game they are playing.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Engine
+ * @see Simulator
+ */
+public interface Policy {
+
+	/**
+	 * Chooses the next letter to guess after a money sector has been landed.
+	 *
+	 * @param engine Engine playing the game (Engine)
+	 * @param random Random numbers of the game (RandomGenerator)
+	 * @return Letter to guess (Character)
+	 */
+	char chooseLetter(Engine engine, RandomGenerator random);
+
+	/**
+	 * Called after a correct letter guess to decide whether to guess the full phrase instead of spinning again.
+	 *
+	 * @param engine Engine playing the game (Engine)
+	 * @return Phrase to guess, or null to spin again (String)
+	 */
+	default String solve(Engine engine) {
+		return null;
+	}
+
+	/**
+	 * Finds a policy by name for games played with the built-in phrases.
+	 *
+	 * @param name "random", "frequency", "solver" or "advisor" (String)
+	 * @return Supplier of a new policy for every game
+	 * @throws IllegalArgumentException if there is no policy with the given name
+	 */
+	static Supplier<Policy> forName(String name) {
+		return forName(name, null);
+	}
+
+	/**
+	 * Finds a policy by name. The solver's {@link PhraseIndex} is built once here and shared by every game, and the
+	 * advisor policy keeps an {@link Advisor} for each thread so its cache is shared by the thread's games.
+	 *
+	 * @param name       "random", "frequency", "solver" or "advisor" (String)
+	 * @param phrasePack Phrases the games choose from, or null for the built-in phrases (PhrasePack)
+	 * @return Supplier of a new policy for every game
+	 * @throws IllegalArgumentException if there is no policy with the given name
+	 */
+	static Supplier<Policy> forName(String name, PhrasePack phrasePack) {
+		switch (name) {
+			case "random":
+				return RandomPolicy::new;
+			case "frequency":
+				return FrequencyPolicy::new;
+			case "solver":
+				PhraseIndex index = phrasePack == null ? new PhraseIndex(Game.PHRASES) : new PhraseIndex(phrasePack);
+				return () -> new SolverPolicy(index);
+			case "advisor":
+				PhraseIndex advisorIndex = phrasePack == null ? new PhraseIndex(Game.PHRASES) : new PhraseIndex(phrasePack);
+				ThreadLocal<Advisor> advisors = ThreadLocal.withInitial(() -> new Advisor(advisorIndex));
+				return () -> new AdvisorPolicy(advisorIndex, advisors.get());
+			default:
+				throw new IllegalArgumentException("Unknown policy: " + name);
+		}
+	}
+}
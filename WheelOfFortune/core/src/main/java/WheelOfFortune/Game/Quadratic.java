@@ -0,0 +1,123 @@
+package WheelOfFortune.Game;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+ /**
+ * Generates random negative quadratic y values.
+ * <p>The quadratic is also the spin model of the wheel. The y value is how fast the wheel turns, in degrees per
+ * {@link Quadratic#STEP} of x taken twice, and x moves on {@link Quadratic#X_PER_SECOND} every second.
+ * Integrating y gives the rotation in closed form, so the final angle of a spin is known from {@link Quadratic#a}
+ * and {@link Quadratic#b} before any frames are drawn, and the animation only replays it.</p>
+ * @author Harry Bridgen
+ * @version 1.0
+ */
+public class Quadratic {
+    /**
+     * Amount x increases by every time {@link Quadratic#calculate()} is called.
+     */
+    static final double STEP = 0.1;
+    /**
+     * How far x moves every second of a spin.
+     */
+    static final double X_PER_SECOND = 80;
+
+    double x;
+    double a;
+    double b;
+    double c = 0.1;
+    double y;
+
+    /**
+     *Constructor generates random a and b variables for the quadratic from the calling thread's random numbers.
+     * Spins made this way can't be replayed, games use {@link Game#nextSpin()}.
+     * @see Quadratic#Quadratic(RandomGenerator)
+     */
+    public Quadratic() {
+        this(ThreadLocalRandom.current());
+    }
+
+    /**
+     *Constructor generates random a and b variables for the quadratic.
+     * The {@link Quadratic#c} variable must always be positive so the quadratic starts positive and has one positive root,
+     * which is where the wheel stops.
+     * @param random Random numbers to draw a and b from, the same numbers give the same spin (RandomGenerator)
+     * @see <a href="https://i.imgur.com/6DB7lkY.jpeg">Smallest and biggest quadratics with default values</a>
+     * @see Quadratic#stopX()
+     */
+    public Quadratic(RandomGenerator random) {
+        double randA = random.nextInt(80 - 20) + 20;
+        double randB = random.nextInt(30 - 20) + 20;
+
+        a = (randA / 10000) - ((randA / 10000) * 2);
+        b = randB/100;
+    }
+
+    /**Constructs a quadratic with known a and b variables, used to replay a spin that was resolved somewhere else.
+     * @param a a variable, must be negative
+     * @param b b variable, must be positive
+     * @see GameServer
+     */
+    public Quadratic(double a, double b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**Calculates the quadratic {@link Quadratic#y} value given the random variables from the constructor and the value of {@link Quadratic#x}.
+     * Then increments {@link Quadratic#x} by {@link Quadratic#STEP}. Only returns y values that are
+     * positive or 0.
+     * @return y value of the quadratic
+     */
+    public double calculate() {
+
+        double xPower2 = x * x;
+
+        y = (a * xPower2) + (b * x) + c;
+
+        if (y >= 0) {
+            x += STEP;
+            return y;
+        }
+        return 0;
+    }
+
+    /**Finds where the wheel stops, the positive root of the quadratic.
+     * @return x value of the positive root
+     */
+    public double stopX() {
+        return (-b - Math.sqrt((b * b) - (4 * a * c))) / (2 * a);
+    }
+
+    /**Finds how far the wheel has turned by the time the quadratic reaches x, by integrating y from 0 to x.
+     * The wheel used to turn by one y value for every 2 steps of x, so the integral is divided by 2 steps.
+     * @param x x value, clamped between 0 and {@link Quadratic#stopX()}
+     * @return Rotation in degrees
+     */
+    public double rotationAt(double x) {
+        x = Math.max(0, Math.min(x, stopX()));
+        double integral = (a * x * x * x / 3) + (b * x * x / 2) + (c * x);
+        return integral / (2 * STEP);
+    }
+
+    /**
+     * @return How long the spin lasts in seconds
+     */
+    public double durationSeconds() {
+        return stopX() / X_PER_SECOND;
+    }
+
+    /**
+     * @param seconds Time since the spin started in seconds
+     * @return Rotation in degrees at that time, which stays at {@link Quadratic#finalAngle()} once the wheel stops
+     */
+    public double angleAt(double seconds) {
+        return rotationAt(seconds * X_PER_SECOND);
+    }
+
+    /**
+     * @return Rotation in degrees when the wheel stops
+     */
+    public double finalAngle() {
+        return rotationAt(stopX());
+    }
+}
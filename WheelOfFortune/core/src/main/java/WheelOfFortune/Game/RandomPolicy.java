@@ -0,0 +1,28 @@
+package WheelOfFortune.Game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Policy that guesses a random letter that has not been guessed yet and never guesses the full phrase.
+ * Vowels are skipped when the current player can't afford them.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Policy
+ */
+public class RandomPolicy implements Policy {
+
+	@Override
+	public char chooseLetter(Engine engine, RandomGenerator random) {
+		char[] letters = new char[26];
+		int count = 0;
+		boolean canBuyVowel = engine.canBuyVowel();
+		for (char letter = 'a'; letter <= 'z'; letter++) {
+			if (engine.guessed(letter)) continue;
+			if (!canBuyVowel && FrequencyPolicy.isVowel(letter)) continue;
+			letters[count++] = letter;
+		}
+		if (count == 0) return 'a';
+		return letters[random.nextInt(count)];
+	}
+}
@@ -0,0 +1,269 @@
+package WheelOfFortune.Game;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * A game room on the {@link GameServer}. Each room has its own {@link Game} and {@link Engine} and
+ * follows the same turn flow as the GUI, but with every spin resolved by the server.
+ * <p>A room belongs to one server event loop and is only used by that loop's thread, so it needs no locks.
+ * Messages are encoded once and the same bytes are sent to every player in the room.</p>
+ * <p>Any number of spectators can watch the room without playing. They are sent the {@link SpectatorFeed} of the
+ * game, the changes after every command rather than the messages the players get.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameServer
+ */
+public class Room {
+	String name;
+	PhrasePack phrasePack;
+	PhraseScheduler scheduler;
+	RoundStats stats;
+	/**
+	 * {@link Game#maxGuessEdits} of every game in the room.
+	 */
+	int maxGuessEdits;
+	GameServer.Connection[] seats;
+	int seated;
+	boolean started;
+	Game game;
+	Engine engine;
+	/**
+	 * What the current player has to do next: "spin", "letter" or "choice" (spin or solve).
+	 */
+	String expecting;
+	final SpectatorFeed feed = new SpectatorFeed();
+	/**
+	 * Connections watching the room. A connection's {@code spectatorIndex} is its index here.
+	 */
+	final ArrayList<GameServer.Connection> spectators = new ArrayList<>();
+
+	/**
+	 * @param name       Name of the room (String)
+	 * @param players    Number of players, from 2 to 4 (Integer)
+	 * @param phrasePack Phrases to choose from, or null for the built-in phrases (PhrasePack)
+	 * @param scheduler  Order to play the phrases in, shared by every room of the server (PhraseScheduler)
+	 * @param stats      Store every round is recorded in, shared by every room of the server, or null (RoundStats)
+	 */
+	public Room(String name, int players, PhrasePack phrasePack, PhraseScheduler scheduler, RoundStats stats) {
+		this.name = name;
+		this.phrasePack = phrasePack;
+		this.scheduler = scheduler;
+		this.stats = stats;
+		seats = new GameServer.Connection[players];
+	}
+
+	/**
+	 * Seats a connection and starts the game once every seat is taken.
+	 *
+	 * @param connection Connection joining the room (GameServer.Connection)
+	 * @return True if there was a free seat (Boolean)
+	 */
+	boolean join(GameServer.Connection connection) {
+		if (seated == seats.length) return false;
+		int seat = 0;
+		while (seats[seat] != null) seat++;
+		seats[seat] = connection;
+		seated++;
+		connection.room = this;
+		connection.seat = seat;
+		connection.send(encode("JOINED " + name + " " + seat));
+		if (seated == seats.length) newGame();
+		return true;
+	}
+
+	/**
+	 * Removes a connection from the room. The game can't carry on without the player, so the room is closed
+	 * and the other players are told.
+	 *
+	 * @param connection Connection leaving the room (GameServer.Connection)
+	 */
+	void leave(GameServer.Connection connection) {
+		seats[connection.seat] = null;
+		seated--;
+		connection.room = null;
+		ByteBuffer closed = encode("CLOSED " + name);
+		for (int n = 0; n < seats.length; n++) {
+			if (seats[n] == null) continue;
+			seats[n].room = null;
+			seats[n].send(closed.duplicate());
+			seats[n] = null;
+		}
+		seated = 0;
+		started = false;
+		for (int n = spectators.size() - 1; n >= 0; n--) {
+			GameServer.Connection spectator = spectators.get(n);
+			spectator.watching = null;
+			spectator.send(closed.duplicate());
+		}
+		spectators.clear();
+	}
+
+	/**
+	 * Adds a spectator, who is sent a snapshot of the game if it has started.
+	 *
+	 * @param connection Connection watching the room (GameServer.Connection)
+	 */
+	void watch(GameServer.Connection connection) {
+		connection.watching = this;
+		connection.spectatorIndex = spectators.size();
+		spectators.add(connection);
+		connection.send(encode("WATCHING " + name));
+		if (started) connection.publish(feed.snapshot(game));
+	}
+
+	/**
+	 * Removes a spectator by moving the last spectator into its place.
+	 *
+	 * @param connection Connection that stopped watching (GameServer.Connection)
+	 */
+	void unwatch(GameServer.Connection connection) {
+		GameServer.Connection last = spectators.remove(spectators.size() - 1);
+		if (last != connection) {
+			spectators.set(connection.spectatorIndex, last);
+			last.spectatorIndex = connection.spectatorIndex;
+		}
+		connection.watching = null;
+	}
+
+	/**
+	 * Starts a new game with the next phrase from the {@link Room#scheduler} and a random first player, recording its
+	 * rounds to the {@link Room#stats}.
+	 */
+	void newGame() {
+		game = new Game(phrasePack, scheduler);
+		game.maxGuessEdits = maxGuessEdits;
+		game.setNumberOfPlayers(seats.length);
+		game.randomPlayer();
+		engine = new Engine(game);
+		if (stats != null) stats.attach(engine);
+		started = true;
+		expecting = "spin";
+		broadcast("START " + seats.length + " " + game.guessPhrase());
+		broadcastTurn();
+		spectate(feed.reset(game));
+	}
+
+	/**
+	 * Handles a command from a player in the room.
+	 *
+	 * @param connection Connection the command came from (GameServer.Connection)
+	 * @param command    Command name (String)
+	 * @param argument   Rest of the line after the command, or an empty string (String)
+	 */
+	void handle(GameServer.Connection connection, String command, String argument) {
+		if (!started) {
+			connection.send(encode("ERR waitingForPlayers"));
+			return;
+		}
+		if (connection.seat != game.currentPlayer) {
+			connection.send(encode("ERR notYourTurn"));
+			return;
+		}
+		int seat = game.currentPlayer;
+		switch (command) {
+			case "SPIN":
+				if (expecting.equals("letter")) break;
+				Quadratic quadratic = game.nextSpin();
+				String kind = engine.spin(quadratic);
+				broadcast("SPUN " + seat + " " + quadratic.a + " " + quadratic.b + " " + engine.sectorLanded + " " + kind + " " + engine.spinValue);
+				feed.spun(engine.sectorLanded, kind, engine.spinValue);
+				expecting = kind.equals("money") ? "letter" : "spin";
+				broadcastTurn();
+				publish();
+				return;
+			case "LETTER":
+				if (!expecting.equals("letter") || argument.length() != 1) break;
+				String result = engine.guessLetter(argument.charAt(0));
+				broadcast("LETTER " + seat + " " + argument + " " + result + " " + game.lettersFound + " " + game.guessPhrase());
+				if (result.equals("correct") && engine.solved()) {
+					win(seat);
+					return;
+				}
+				if (result.equals("correct")) expecting = "choice";
+				else if (result.equals("incorrect")) expecting = "spin";
+				broadcastTurn();
+				publish();
+				return;
+			case "SOLVE":
+				if (!expecting.equals("choice")) break;
+				if (engine.guessPhrase(argument)) {
+					broadcast("SOLVE " + seat + " correct");
+					win(seat);
+					return;
+				}
+				broadcast("SOLVE " + seat + " incorrect");
+				expecting = "spin";
+				broadcastTurn();
+				publish();
+				return;
+			default:
+				connection.send(encode("ERR unknownCommand"));
+				return;
+		}
+		connection.send(encode("ERR expecting " + expecting));
+	}
+
+	/**
+	 * Announces the winner and their prize money to the players and spectators, then starts the next game.
+	 *
+	 * @param seat Winning seat (Integer)
+	 */
+	void win(int seat) {
+		publish();
+		String won = "WON " + seat + " " + game.prizeMoneyTotal() + " " + game.gamePhrase;
+		broadcast(won);
+		if (!spectators.isEmpty()) spectate(encode(won));
+		newGame();
+	}
+
+	/**
+	 * Sends the spectators what has changed in the game since the last command, if anything.
+	 */
+	void publish() {
+		ByteBuffer delta = feed.delta(game);
+		if (delta != null) spectate(delta);
+	}
+
+	/**
+	 * Sends the same bytes to every spectator. Spectators that can't keep up skip them and are sent a snapshot later.
+	 * Runs backwards, so a spectator closed by sending to it is replaced by one that has already been sent to.
+	 *
+	 * @param message Encoded message (ByteBuffer)
+	 * @see GameServer.Connection#publish(ByteBuffer)
+	 */
+	void spectate(ByteBuffer message) {
+		for (int n = spectators.size() - 1; n >= 0; n--) {
+			if (n < spectators.size()) spectators.get(n).publish(message.duplicate());
+		}
+	}
+
+	/**
+	 * Tells every player whose turn it is, what they have to do and how much money they have.
+	 */
+	void broadcastTurn() {
+		broadcast("TURN " + game.currentPlayer + " " + expecting + " " + game.currentPlayerMoney());
+	}
+
+	/**
+	 * Encodes a message once and sends the same bytes to every player in the room.
+	 *
+	 * @param message Message without the line ending (String)
+	 */
+	void broadcast(String message) {
+		ByteBuffer encoded = encode(message);
+		for (GameServer.Connection seat : seats) {
+			if (seat != null) seat.send(encoded.duplicate());
+		}
+	}
+
+	/**
+	 * @param message Message without the line ending (String)
+	 * @return Message as a line of bytes (ByteBuffer)
+	 */
+	static ByteBuffer encode(String message) {
+		return ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.ISO_8859_1));
+	}
+}
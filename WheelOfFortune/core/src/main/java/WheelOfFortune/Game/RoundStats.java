@@ -0,0 +1,452 @@
+package WheelOfFortune.Game;
+
+import java.util.Arrays;
+
+/**
+ * In-memory store of the outcome of every round played, kept across games so statistics outlive
+ * {@link Game#playerMoney}.
+ * <p>A round is one player's go, from the spin until the turn passes or the game is won. An {@link Engine} with the
+ * store attached appends one row per round: the seat, the sector landed, the letters found, the vowels bought,
+ * whether it started a game, went bankrupt or won, the money the player earned, and the prize and bonus of a win.</p>
+ * <p>Rows are stored by column in primitive arrays, in chunks of {@link RoundStats#CHUNK_ROWS} rows, one or two bytes
+ * for most columns and 15 bytes a row in all. Each aggregate only scans the columns it needs, so finding the
+ * bankruptcy rate of millions of rounds reads one byte per round. Memory is bounded by {@link RoundStats#maxChunks}:
+ * once every chunk is full the oldest is folded into {@link RoundStats#retired} totals and its arrays are reused for
+ * new rows, so aggregates still cover every round ever recorded. Only the rows kept can be scanned row by row.</p>
+ * <p>Appending and every aggregate are synchronized, so one store can be shared by the engines of every room of a
+ * {@link GameServer}. The {@link Simulator} gives every task a store of its own instead, so its threads never
+ * contend on the lock, and merges them with {@link RoundStats#merge(RoundStats)} when the tasks join.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Engine#stats
+ */
+public class RoundStats {
+	static final int CHUNK_ROWS = 1 << 16;
+	/**
+	 * Flag of the first round of a game.
+	 */
+	static final byte FIRST = 1;
+	static final byte BANKRUPT = 2;
+	static final byte WON = 4;
+	/**
+	 * Sectors and seats are stored in a byte, sector -1 for a round without a spin.
+	 */
+	static final int MAX_SECTORS = 128;
+	static final int MAX_SEATS = 128;
+
+	/**
+	 * One chunk of rows, a primitive array per column.
+	 */
+	static class Chunk {
+		final byte[] seat = new byte[CHUNK_ROWS];
+		final byte[] sector = new byte[CHUNK_ROWS];
+		final byte[] letters = new byte[CHUNK_ROWS];
+		final byte[] vowels = new byte[CHUNK_ROWS];
+		final byte[] flags = new byte[CHUNK_ROWS];
+		final int[] earned = new int[CHUNK_ROWS];
+		final int[] prize = new int[CHUNK_ROWS];
+		final short[] bonus = new short[CHUNK_ROWS];
+	}
+
+	/**
+	 * Totals of rounds no longer kept.
+	 */
+	static class Totals {
+		long rounds;
+		long games;
+		long wins;
+		long bankruptcies;
+		long letters;
+		long vowels;
+		long prize;
+		long bonus;
+		final long[] winsBySeat = new long[MAX_SEATS];
+		final long[] roundsBySector = new long[MAX_SECTORS];
+		final long[] earnedBySector = new long[MAX_SECTORS];
+
+		/**
+		 * Adds other totals to these.
+		 *
+		 * @param other Totals to add (Totals)
+		 */
+		void add(Totals other) {
+			rounds += other.rounds;
+			games += other.games;
+			wins += other.wins;
+			bankruptcies += other.bankruptcies;
+			letters += other.letters;
+			vowels += other.vowels;
+			prize += other.prize;
+			bonus += other.bonus;
+			for (int n = 0; n < MAX_SEATS; n++) winsBySeat[n] += other.winsBySeat[n];
+			for (int n = 0; n < MAX_SECTORS; n++) {
+				roundsBySector[n] += other.roundsBySector[n];
+				earnedBySector[n] += other.earnedBySector[n];
+			}
+		}
+	}
+
+	/**
+	 * Most chunks kept, from {@code -Dwof.stats.maxRows} rounded up to whole chunks.
+	 */
+	final int maxChunks;
+	/**
+	 * Chunks kept, oldest at {@link RoundStats#first}, used as a ring once full.
+	 */
+	final Chunk[] chunks;
+	int first;
+	int count;
+	/**
+	 * Rows filled in the newest chunk.
+	 */
+	int fill;
+	final Totals retired = new Totals();
+
+	/**
+	 * Constructs a store keeping up to {@code -Dwof.stats.maxRows} rows, 4,194,304 by default, about 60 MB.
+	 */
+	public RoundStats() {
+		this(Integer.getInteger("wof.stats.maxRows", 1 << 22));
+	}
+
+	/**
+	 * @param maxRows Most rows kept before the oldest are folded into totals, at least one chunk (Integer)
+	 */
+	public RoundStats(int maxRows) {
+		maxChunks = Math.max(1, (maxRows + CHUNK_ROWS - 1) / CHUNK_ROWS);
+		chunks = new Chunk[maxChunks];
+	}
+
+	/**
+	 * Attaches the store to the engine of a new game, so every round the engine plays is appended.
+	 *
+	 * @param engine Engine of a game that hasn't started (Engine)
+	 */
+	public void attach(Engine engine) {
+		engine.stats = this;
+		engine.roundPlayer = -1;
+		engine.roundsPlayed = 0;
+	}
+
+	/**
+	 * Appends the outcome of a round. Values too big for their column are clamped.
+	 *
+	 * @param seat    Seat of the player, from 0 (Integer)
+	 * @param sector  Sector landed, or -1 (Integer)
+	 * @param letters Letters found (Integer)
+	 * @param vowels  Vowels bought (Integer)
+	 * @param flags   {@link RoundStats#FIRST}, {@link RoundStats#BANKRUPT} and {@link RoundStats#WON} (Integer)
+	 * @param earned  Change in the player's money over the round (Integer)
+	 * @param prize   {@link Game#prizeMoneyTotal()} of a win, otherwise 0 (Integer)
+	 * @param bonus   {@link Game#bonusMoney()} of a win, otherwise 0 (Integer)
+	 */
+	public synchronized void append(int seat, int sector, int letters, int vowels, int flags, int earned, int prize, int bonus) {
+		if (count == 0 || fill == CHUNK_ROWS) addChunk();
+		Chunk chunk = chunks[(first + count - 1) % maxChunks];
+		int row = fill++;
+		chunk.seat[row] = (byte) Math.min(seat, MAX_SEATS - 1);
+		chunk.sector[row] = (byte) Math.min(sector, MAX_SECTORS - 1);
+		chunk.letters[row] = (byte) Math.min(letters, Byte.MAX_VALUE);
+		chunk.vowels[row] = (byte) Math.min(vowels, Byte.MAX_VALUE);
+		chunk.flags[row] = (byte) flags;
+		chunk.earned[row] = earned;
+		chunk.prize[row] = prize;
+		chunk.bonus[row] = (short) Math.min(bonus, Short.MAX_VALUE);
+	}
+
+	/**
+	 * Starts a new chunk, folding the oldest into {@link RoundStats#retired} and reusing it if every chunk is kept.
+	 */
+	void addChunk() {
+		fill = 0;
+		if (count < maxChunks) {
+			chunks[(first + count++) % maxChunks] = new Chunk();
+			return;
+		}
+		retire(chunks[first], CHUNK_ROWS);
+		first = (first + 1) % maxChunks;
+	}
+
+	/**
+	 * Adds the rounds of another store to this one: its retired totals, then every row it kept, a column at a time,
+	 * folding the oldest rows of this store into totals if they no longer fit. The other store must no longer be
+	 * appended to.
+	 *
+	 * @param other Store to add (RoundStats)
+	 * @return This store
+	 */
+	public synchronized RoundStats merge(RoundStats other) {
+		retired.add(other.retired);
+		for (int n = 0; n < other.count; n++) copy(other.chunk(n), other.rows(n));
+		return this;
+	}
+
+	/**
+	 * Appends the first rows of a chunk, in runs as long as the room left in the newest chunk.
+	 *
+	 * @param source Chunk of another store (Chunk)
+	 * @param rows   Rows filled in the chunk (Integer)
+	 */
+	void copy(Chunk source, int rows) {
+		int row = 0;
+		while (row < rows) {
+			if (count == 0 || fill == CHUNK_ROWS) addChunk();
+			Chunk chunk = chunks[(first + count - 1) % maxChunks];
+			int length = Math.min(rows - row, CHUNK_ROWS - fill);
+			System.arraycopy(source.seat, row, chunk.seat, fill, length);
+			System.arraycopy(source.sector, row, chunk.sector, fill, length);
+			System.arraycopy(source.letters, row, chunk.letters, fill, length);
+			System.arraycopy(source.vowels, row, chunk.vowels, fill, length);
+			System.arraycopy(source.flags, row, chunk.flags, fill, length);
+			System.arraycopy(source.earned, row, chunk.earned, fill, length);
+			System.arraycopy(source.prize, row, chunk.prize, fill, length);
+			System.arraycopy(source.bonus, row, chunk.bonus, fill, length);
+			fill += length;
+			row += length;
+		}
+	}
+
+	/**
+	 * Adds every column of a chunk to the retired totals.
+	 */
+	void retire(Chunk chunk, int rows) {
+		Totals totals = retired;
+		totals.rounds += rows;
+		for (int row = 0; row < rows; row++) {
+			int flags = chunk.flags[row];
+			totals.games += flags & FIRST;
+			totals.bankruptcies += (flags & BANKRUPT) >>> 1;
+			int won = (flags & WON) >>> 2;
+			totals.wins += won;
+			totals.winsBySeat[chunk.seat[row]] += won;
+			totals.letters += chunk.letters[row];
+			totals.vowels += chunk.vowels[row];
+			totals.prize += chunk.prize[row];
+			totals.bonus += chunk.bonus[row];
+			int sector = chunk.sector[row];
+			if (sector < 0) continue;
+			totals.roundsBySector[sector]++;
+			totals.earnedBySector[sector] += chunk.earned[row];
+		}
+	}
+
+	/**
+	 * @param n Chunk from the oldest kept (Integer)
+	 * @return Rows filled in the chunk (Integer)
+	 */
+	int rows(int n) {
+		return n == count - 1 ? fill : CHUNK_ROWS;
+	}
+
+	/**
+	 * @param n Chunk from the oldest kept (Integer)
+	 * @return The chunk (Chunk)
+	 */
+	Chunk chunk(int n) {
+		return chunks[(first + n) % maxChunks];
+	}
+
+	/**
+	 * @return Rounds ever recorded (Long)
+	 */
+	public synchronized long rounds() {
+		long rounds = retired.rounds;
+		for (int n = 0; n < count; n++) rounds += rows(n);
+		return rounds;
+	}
+
+	/**
+	 * @return Rounds kept row by row (Long)
+	 */
+	public synchronized long rowsKept() {
+		long rows = 0;
+		for (int n = 0; n < count; n++) rows += rows(n);
+		return rows;
+	}
+
+	/**
+	 * Counts the rounds with a flag, scanning only the flags column.
+	 *
+	 * @param flag One of the flags (Byte)
+	 * @return Rounds with the flag, kept and retired (Long)
+	 */
+	synchronized long countFlag(byte flag) {
+		int shift = Integer.numberOfTrailingZeros(flag);
+		long total = flag == FIRST ? retired.games : flag == BANKRUPT ? retired.bankruptcies : retired.wins;
+		for (int n = 0; n < count; n++) {
+			byte[] flags = chunk(n).flags;
+			int matched = 0;
+			for (int row = 0, rows = rows(n); row < rows; row++) matched += (flags[row] >>> shift) & 1;
+			total += matched;
+		}
+		return total;
+	}
+
+	/**
+	 * @return Games started (Long)
+	 */
+	public long games() {
+		return countFlag(FIRST);
+	}
+
+	/**
+	 * @return Fraction of the games started that were won rather than abandoned (Double)
+	 */
+	public synchronized double winRate() {
+		long games = countFlag(FIRST);
+		return games == 0 ? 0 : (double) countFlag(WON) / games;
+	}
+
+	/**
+	 * Scans the flags and seat columns.
+	 *
+	 * @param seat Seat of a player, from 0 (Integer)
+	 * @return Fraction of the games won that were won by the seat (Double)
+	 */
+	public synchronized double winShare(int seat) {
+		if (seat < 0 || seat >= MAX_SEATS) return 0;
+		long wins = retired.wins;
+		long seatWins = retired.winsBySeat[seat];
+		for (int n = 0; n < count; n++) {
+			Chunk chunk = chunk(n);
+			byte[] flags = chunk.flags;
+			byte[] seats = chunk.seat;
+			int won = 0;
+			int wonBySeat = 0;
+			for (int row = 0, rows = rows(n); row < rows; row++) {
+				int win = (flags[row] & WON) >>> 2;
+				won += win;
+				wonBySeat += seats[row] == seat ? win : 0;
+			}
+			wins += won;
+			seatWins += wonBySeat;
+		}
+		return wins == 0 ? 0 : (double) seatWins / wins;
+	}
+
+	/**
+	 * @return Fraction of rounds that went bankrupt (Double)
+	 */
+	public synchronized double bankruptcyRate() {
+		long rounds = rounds();
+		return rounds == 0 ? 0 : (double) countFlag(BANKRUPT) / rounds;
+	}
+
+	/**
+	 * Average money earned in rounds by the sector they landed on, including the money lost to bankruptcy and spent
+	 * on vowels. Scans the sector and earned columns once for every sector.
+	 *
+	 * @param sectors Number of sectors on the wheel (Integer)
+	 * @return Average earnings of each sector, 0 for sectors never landed on (double[])
+	 */
+	public synchronized double[] averageEarningsBySector(int sectors) {
+		long[] rounds = Arrays.copyOf(retired.roundsBySector, MAX_SECTORS);
+		long[] earned = Arrays.copyOf(retired.earnedBySector, MAX_SECTORS);
+		for (int n = 0; n < count; n++) {
+			Chunk chunk = chunk(n);
+			byte[] sector = chunk.sector;
+			int[] money = chunk.earned;
+			for (int row = 0, rows = rows(n); row < rows; row++) {
+				int landed = sector[row];
+				if (landed < 0) continue;
+				rounds[landed]++;
+				earned[landed] += money[row];
+			}
+		}
+		double[] averages = new double[Math.min(sectors, MAX_SECTORS)];
+		for (int sector = 0; sector < averages.length; sector++) {
+			averages[sector] = rounds[sector] == 0 ? 0 : (double) earned[sector] / rounds[sector];
+		}
+		return averages;
+	}
+
+	/**
+	 * Scans the flags and prize columns.
+	 *
+	 * @return Average {@link Game#prizeMoneyTotal()} of games won (Double)
+	 */
+	public synchronized double averagePrize() {
+		long wins = retired.wins;
+		long prize = retired.prize;
+		for (int n = 0; n < count; n++) {
+			Chunk chunk = chunk(n);
+			for (int row = 0, rows = rows(n); row < rows; row++) {
+				wins += (chunk.flags[row] & WON) >>> 2;
+				prize += chunk.prize[row];
+			}
+		}
+		return wins == 0 ? 0 : (double) prize / wins;
+	}
+
+	/**
+	 * Scans the flags and bonus columns.
+	 *
+	 * @return Average {@link Game#bonusMoney()} of games won (Double)
+	 */
+	public synchronized double averageBonus() {
+		long wins = retired.wins;
+		long bonus = retired.bonus;
+		for (int n = 0; n < count; n++) {
+			Chunk chunk = chunk(n);
+			for (int row = 0, rows = rows(n); row < rows; row++) {
+				wins += (chunk.flags[row] & WON) >>> 2;
+				bonus += chunk.bonus[row];
+			}
+		}
+		return wins == 0 ? 0 : (double) bonus / wins;
+	}
+
+	/**
+	 * @return Average letters found in a round, scanning only the letters column (Double)
+	 */
+	public synchronized double lettersPerRound() {
+		long letters = retired.letters;
+		for (int n = 0; n < count; n++) letters += sum(chunk(n).letters, rows(n));
+		long rounds = rounds();
+		return rounds == 0 ? 0 : (double) letters / rounds;
+	}
+
+	/**
+	 * @return Average vowels bought in a round, scanning only the vowels column (Double)
+	 */
+	public synchronized double vowelsPerRound() {
+		long vowels = retired.vowels;
+		for (int n = 0; n < count; n++) vowels += sum(chunk(n).vowels, rows(n));
+		long rounds = rounds();
+		return rounds == 0 ? 0 : (double) vowels / rounds;
+	}
+
+	/**
+	 * @param column Column of non-negative bytes (byte[])
+	 * @param rows   Rows filled (Integer)
+	 * @return Sum of the rows (Long)
+	 */
+	static long sum(byte[] column, int rows) {
+		long sum = 0;
+		for (int row = 0; row < rows; row++) sum += column[row];
+		return sum;
+	}
+
+	/**
+	 * Builds a report of every aggregate.
+	 *
+	 * @param sectors Number of sectors on the wheel (Integer)
+	 * @return Report to print (String)
+	 */
+	public synchronized String report(int sectors) {
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("rounds:         %d (%d kept)%n", rounds(), rowsKept()));
+		report.append(String.format("games:          %d%n", games()));
+		report.append(String.format("win rate:       %.3f%n", winRate()));
+		report.append(String.format("bankrupt/round: %.4f%n", bankruptcyRate()));
+		report.append(String.format("letters/round:  %.3f%n", lettersPerRound()));
+		report.append(String.format("vowels/round:   %.3f%n", vowelsPerRound()));
+		report.append(String.format("prize mean:     £%.2f%n", averagePrize()));
+		report.append(String.format("bonus mean:     £%.2f%n", averageBonus()));
+		report.append("earned/sector: ");
+		for (double earned : averageEarningsBySector(sectors)) report.append(String.format(" %.1f", earned));
+		report.append(System.lineSeparator());
+		return report.toString();
+	}
+}
@@ -0,0 +1,121 @@
+package WheelOfFortune.Game;
+
+/**
+ * Totals collected by the {@link Simulator} for a range of games.
+ * Each fork-join task fills its own stats and the results are merged when the tasks join,
+ * so no state is shared between threads while games are being played.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Simulator
+ */
+public class SimulationStats {
+	long games;
+	long unfinished;
+	long turns;
+	long spins;
+	long guesses;
+	long bankruptcies;
+	long phraseGuesses;
+	long payoutTotal;
+	double payoutSquaresTotal;
+	int payoutMin = Integer.MAX_VALUE;
+	int payoutMax = Integer.MIN_VALUE;
+	long bonusTotal;
+	long[] sectorCounts;
+	/**
+	 * Every round of the games, if the simulator records rounds, otherwise null.
+	 */
+	RoundStats rounds;
+
+	/**
+	 * @param sectors Number of sectors on the wheel (Integer)
+	 */
+	public SimulationStats(int sectors) {
+		sectorCounts = new long[sectors];
+	}
+
+	/**
+	 * Records the prize money of a finished game.
+	 *
+	 * @param game Finished game (Game)
+	 */
+	public void recordWin(Game game) {
+		int payout = game.prizeMoneyTotal();
+		games++;
+		payoutTotal += payout;
+		payoutSquaresTotal += (double) payout * payout;
+		payoutMin = Math.min(payoutMin, payout);
+		payoutMax = Math.max(payoutMax, payout);
+		bonusTotal += game.bonusMoney();
+	}
+
+	/**
+	 * Adds the totals of another stats object to this one.
+	 *
+	 * @param other Stats to add (SimulationStats)
+	 * @return This stats object
+	 */
+	public SimulationStats merge(SimulationStats other) {
+		games += other.games;
+		unfinished += other.unfinished;
+		turns += other.turns;
+		spins += other.spins;
+		guesses += other.guesses;
+		bankruptcies += other.bankruptcies;
+		phraseGuesses += other.phraseGuesses;
+		payoutTotal += other.payoutTotal;
+		payoutSquaresTotal += other.payoutSquaresTotal;
+		payoutMin = Math.min(payoutMin, other.payoutMin);
+		payoutMax = Math.max(payoutMax, other.payoutMax);
+		bonusTotal += other.bonusTotal;
+		for (int n = 0; n < sectorCounts.length; n++) sectorCounts[n] += other.sectorCounts[n];
+		if (rounds == null) rounds = other.rounds;
+		else if (other.rounds != null) rounds.merge(other.rounds);
+		return this;
+	}
+
+	/**
+	 * @return Mean prize money of finished games (Double)
+	 */
+	public double payoutMean() {
+		return games == 0 ? 0 : (double) payoutTotal / games;
+	}
+
+	/**
+	 * @return Standard deviation of the prize money of finished games (Double)
+	 */
+	public double payoutStandardDeviation() {
+		if (games == 0) return 0;
+		double mean = payoutMean();
+		return Math.sqrt(Math.max(0, payoutSquaresTotal / games - mean * mean));
+	}
+
+	/**
+	 * Builds a report of the simulation.
+	 *
+	 * @param nanos Time taken to run the simulation in nanoseconds (Long)
+	 * @return Report to print (String)
+	 */
+	public String report(long nanos) {
+		long played = games + unfinished;
+		double seconds = nanos / 1e9;
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("games:          %d (%d unfinished)%n", played, unfinished));
+		report.append(String.format("time:           %.3f s%n", seconds));
+		report.append(String.format("games/sec:      %.0f%n", played / seconds));
+		report.append(String.format("payout mean:    £%.2f%n", payoutMean()));
+		report.append(String.format("payout stddev:  £%.2f%n", payoutStandardDeviation()));
+		report.append(String.format("payout min/max: £%d / £%d%n", games == 0 ? 0 : payoutMin, games == 0 ? 0 : payoutMax));
+		report.append(String.format("bonus mean:     £%.2f%n", games == 0 ? 0 : (double) bonusTotal / games));
+		report.append(String.format("turns/game:     %.2f%n", played == 0 ? 0 : (double) turns / played));
+		report.append(String.format("spins/game:     %.2f%n", played == 0 ? 0 : (double) spins / played));
+		report.append(String.format("guesses/game:   %.2f%n", played == 0 ? 0 : (double) guesses / played));
+		report.append(String.format("bankrupt/game:  %.3f%n", played == 0 ? 0 : (double) bankruptcies / played));
+		report.append(String.format("solves/game:    %.3f%n", played == 0 ? 0 : (double) phraseGuesses / played));
+		report.append("sectors:       ");
+		for (long count : sectorCounts) report.append(String.format(" %.4f", spins == 0 ? 0 : (double) count / spins));
+		report.append(System.lineSeparator());
+		return report.toString();
+	}
+}
@@ -0,0 +1,234 @@
+package WheelOfFortune.Game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Command line Monte Carlo simulator. Plays full games through the headless {@link Engine}
+ * on a fork-join pool using a {@link Policy} for every player, then prints games/sec and payout statistics.
+ * <p>House rules can be changed from the command line to see how they affect payouts, for example:</p>
+ * <pre>java -cp WheelOfFortune.jar WheelOfFortune.Game.Simulator --games 1000000 --players 3 --policy frequency --vowel-cost 250</pre>
+ * <p>Every game gets its own seed from a {@link SplittableRandom} split off for its task, and tasks split the same way
+ * however many threads there are, so the same {@code --seed} gives the same games and stats on any machine.</p>
+ * <p>{@code --round-stats maxRows} also records every round in a {@link RoundStats} store, keeping up to maxRows
+ * rows, and prints its aggregates. Every task records to a store of its own, merged with the rest of its stats.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Engine
+ * @see Policy
+ * @see SimulationStats
+ */
+public class Simulator {
+	/**
+	 * Number of games a task plays itself before splitting the rest.
+	 */
+	static final int GAMES_PER_TASK = 4096;
+	/**
+	 * Turns after which a game is given up on, in case no policy can finish it.
+	 */
+	static final int MAX_TURNS = 10_000;
+	/**
+	 * Invalid guesses in a row after which the player's turn is ended.
+	 */
+	static final int MAX_INVALID_GUESSES = 26;
+
+	long games = 1_000_000;
+	int players = 3;
+	int threads = Runtime.getRuntime().availableProcessors();
+	int vowelCost = 200;
+	int guessCount = 20;
+	int letterReward = 100;
+	int maxGuessEdits;
+	long seed = GameRandom.seed();
+	String policyName = "frequency";
+	Supplier<Policy> policy = Policy.forName(policyName);
+	PhrasePack phrasePack;
+	WheelLayout layout = WheelLayout.defaultLayout();
+	/**
+	 * Most rows each {@link RoundStats} store keeps, or 0 to not record rounds.
+	 */
+	int roundStatsRows;
+	/**
+	 * Every round of the last run, if rounds are recorded.
+	 */
+	RoundStats roundStats;
+
+	public static void main(String[] args) {
+		Simulator simulator = new Simulator();
+		simulator.parseArguments(args);
+		long start = System.nanoTime();
+		SimulationStats stats = simulator.run();
+		System.out.printf("seed:           %d%n", simulator.seed);
+		System.out.print(stats.report(System.nanoTime() - start));
+		if (simulator.roundStats != null) System.out.print(simulator.roundStats.report(simulator.layout.size()));
+	}
+
+	/**
+	 * Sets the simulation options from command line arguments.
+	 *
+	 * @param args Arguments in the form {@code --option value} (String[])
+	 * @throws IllegalArgumentException if an option is unknown or has no value
+	 */
+	public void parseArguments(String[] args) {
+		for (int n = 0; n < args.length; n += 2) {
+			if (n + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[n]);
+			String value = args[n + 1];
+			switch (args[n]) {
+				case "--games":
+					games = Long.parseLong(value);
+					break;
+				case "--players":
+					players = Integer.parseInt(value);
+					break;
+				case "--seed":
+					seed = Long.parseLong(value);
+					break;
+				case "--threads":
+					threads = Integer.parseInt(value);
+					break;
+				case "--policy":
+					policyName = value;
+					break;
+				case "--vowel-cost":
+					vowelCost = Integer.parseInt(value);
+					break;
+				case "--guess-count":
+					guessCount = Integer.parseInt(value);
+					break;
+				case "--max-edits":
+					maxGuessEdits = Integer.parseInt(value);
+					break;
+				case "--letter-reward":
+					letterReward = Integer.parseInt(value);
+					break;
+				case "--round-stats":
+					roundStatsRows = Integer.parseInt(value);
+					break;
+				case "--wheel":
+					try {
+						layout = WheelLayout.load(Paths.get(value));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					break;
+				case "--phrases":
+					try {
+						phrasePack = new PhrasePack(Paths.get(value));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + args[n]);
+			}
+		}
+		policy = Policy.forName(policyName, phrasePack);
+	}
+
+	/**
+	 * Plays all the games on a fork-join pool with {@link Simulator#threads} threads.
+	 *
+	 * @return Merged stats of every game played (SimulationStats)
+	 */
+	public SimulationStats run() {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			SimulationStats stats = pool.invoke(new SimulationTask(0, games, new SplittableRandom(seed)));
+			roundStats = stats.rounds;
+			return stats;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays one full game with the house rules of this simulator and adds the outcome to the stats.
+	 * Follows the same turn flow as the GUI: spin, guess a letter, then spin again or guess the phrase
+	 * after a correct letter.
+	 *
+	 * @param stats Stats to add the outcome and its rounds to (SimulationStats)
+	 * @param seed  Seed of the game, the same seed plays the same game (Long)
+	 */
+	public void playGame(SimulationStats stats, long seed) {
+		Game game = new Game(phrasePack, seed);
+		game.vowelCost = vowelCost;
+		game.guessCount = guessCount;
+		game.letterReward = letterReward;
+		game.maxGuessEdits = maxGuessEdits;
+		game.setNumberOfPlayers(players);
+		game.randomPlayer();
+		Engine engine = new Engine(game, layout);
+		if (stats.rounds != null) stats.rounds.attach(engine);
+		Policy player = policy.get();
+
+		for (int turn = 0; turn < MAX_TURNS; turn++) {
+			stats.turns++;
+			stats.spins++;
+			String kind = engine.spin(game.nextSpin());
+			stats.sectorCounts[engine.sectorLanded]++;
+			if (kind.equals("bankrupt")) stats.bankruptcies++;
+			if (!kind.equals("money")) continue;
+
+			for (int invalid = 0; invalid < MAX_INVALID_GUESSES; invalid++) {
+				stats.guesses++;
+				String result = engine.guessLetter(player.chooseLetter(engine, game.random));
+				if (result.equals("incorrect")) break;
+				if (!result.equals("correct")) {
+					if (invalid == MAX_INVALID_GUESSES - 1) game.nextPlayer();
+					continue;
+				}
+				if (engine.solved()) {
+					stats.recordWin(game);
+					return;
+				}
+				String phraseGuess = player.solve(engine);
+				if (phraseGuess != null) {
+					stats.phraseGuesses++;
+					if (engine.guessPhrase(phraseGuess)) {
+						stats.recordWin(game);
+						return;
+					}
+				}
+				break;
+			}
+		}
+		stats.unfinished++;
+	}
+
+	/**
+	 * Plays a range of games, splitting the range in half until it is small enough to play directly.
+	 * The first half gets a stream split off this task's stream, so every task has a stream of its own.
+	 */
+	class SimulationTask extends RecursiveTask<SimulationStats> {
+		final long from;
+		final long to;
+		final SplittableRandom random;
+
+		SimulationTask(long from, long to, SplittableRandom random) {
+			this.from = from;
+			this.to = to;
+			this.random = random;
+		}
+
+		@Override
+		protected SimulationStats compute() {
+			if (to - from <= GAMES_PER_TASK) {
+				SimulationStats stats = new SimulationStats(layout.size());
+				if (roundStatsRows > 0) stats.rounds = new RoundStats(roundStatsRows);
+				for (long n = from; n < to; n++) playGame(stats, random.nextLong());
+				return stats;
+			}
+			long middle = (from + to) >>> 1;
+			SimulationTask left = new SimulationTask(from, middle, random.split());
+			left.fork();
+			SimulationStats right = new SimulationTask(middle, to, random).compute();
+			return right.merge(left.join());
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package WheelOfFortune.Game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Policy that plays from the phrases still consistent with the guess board, using a {@link PhraseIndex}.
+ * <p>Every letter guessed since the last decision prunes the phrases still possible with the pattern it left on
+ * the guess board, letters not in the phrase included. Letters are then scored by the money they are expected to
+ * win, {@link Game#rewardLettersFound(int)} for the number of times they are expected to appear, less
+ * {@link Game#vowelCost} for vowels and less the value of the turn lost if the letter isn't in the phrase.
+ * The turn is valued at {@link WheelLayout#expectedMoney()}.</p>
+ * <p>Guesses the full phrase as soon as only one phrase is possible. If the phrase isn't in the corpus, play falls
+ * back to the {@link FrequencyPolicy}.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see PhraseIndex
+ * @see Policy
+ */
+public class SolverPolicy implements Policy {
+	PhraseIndex index;
+	FrequencyPolicy fallback = new FrequencyPolicy();
+	PhraseIndex.Group group;
+	boolean unknown;
+	/**
+	 * Bitset of the phrases in {@link SolverPolicy#group} still possible.
+	 */
+	long[] candidates;
+	long[] pruned;
+	int candidateCount;
+	/**
+	 * Only words from firstWord up to lastWord of {@link SolverPolicy#candidates} have any bits set.
+	 */
+	int firstWord;
+	int lastWord;
+	/**
+	 * Letters guessed that have already pruned the candidates, bit n for letter 'a' + n.
+	 */
+	int lettersApplied;
+
+	/**
+	 * @param index Index of the phrases the game can choose from (PhraseIndex)
+	 */
+	public SolverPolicy(PhraseIndex index) {
+		this.index = index;
+	}
+
+	@Override
+	public char chooseLetter(Engine engine, RandomGenerator random) {
+		if (!update(engine)) return fallback.chooseLetter(engine, random);
+
+		Game game = engine.game;
+		int[] phrasesWithLetter = new int[26];
+		int[] letterTotals = new int[26];
+		count(phrasesWithLetter, letterTotals);
+
+		boolean canBuyVowel = engine.canBuyVowel();
+		double turnValue = engine.layout.expectedMoney();
+		char best = 0;
+		double bestScore = Double.NEGATIVE_INFINITY;
+		for (int letter = 0; letter < 26; letter++) {
+			char guess = (char) ('a' + letter);
+			boolean vowel = FrequencyPolicy.isVowel(guess);
+			if (engine.guessed(guess) || (vowel && !canBuyVowel)) continue;
+			double found = (double) phrasesWithLetter[letter] / candidateCount;
+			double score = (double) game.rewardLettersFound(letterTotals[letter]) / candidateCount - (1 - found) * turnValue;
+			if (vowel) score -= game.vowelCost;
+			if (score > bestScore) {
+				bestScore = score;
+				best = guess;
+			}
+		}
+		return best == 0 ? fallback.chooseLetter(engine, random) : best;
+	}
+
+	@Override
+	public String solve(Engine engine) {
+		if (!update(engine)) return fallback.solve(engine);
+		if (candidateCount != 1) return null;
+		return firstCandidate();
+	}
+
+	/**
+	 * @return First of the phrases still possible, or null if there are none (String)
+	 */
+	String firstCandidate() {
+		for (int word = firstWord; word < lastWord; word++) {
+			if (candidates[word] != 0) return index.phrase(group.ids[(word << 6) + Long.numberOfTrailingZeros(candidates[word])]);
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the group of the game phrase on the first call, then prunes the candidates with every letter guessed
+	 * since the last call.
+	 *
+	 * @param engine Engine playing the game (Engine)
+	 * @return False if the game phrase isn't in the index (Boolean)
+	 */
+	boolean update(Engine engine) {
+		if (unknown) return false;
+		char[] board = engine.game.guessBoard;
+		if (group == null) {
+			group = index.group(board);
+			if (group == null) {
+				unknown = true;
+				return false;
+			}
+			candidates = new long[group.words];
+			pruned = new long[group.words];
+			for (int n = 0; n < group.ids.length; n++) candidates[n >>> 6] |= 1L << n;
+			candidateCount = group.ids.length;
+			firstWord = 0;
+			lastWord = group.words;
+		}
+
+		int newLetters = engine.guessedLetters & ~lettersApplied;
+		lettersApplied |= newLetters;
+		while (newLetters != 0 && candidateCount > 0) {
+			int letter = Integer.numberOfTrailingZeros(newLetters);
+			newLetters &= newLetters - 1;
+			prune(letter, PhraseIndex.pattern(board, (char) ('a' + letter)));
+		}
+		if (candidateCount == 0) unknown = true;
+		return !unknown;
+	}
+
+	/**
+	 * Keeps only the candidates with a letter at exactly the given positions.
+	 *
+	 * @param letter  Letter from 0 to 25 (Integer)
+	 * @param pattern Positions of the letter on the guess board (Long)
+	 */
+	void prune(int letter, long pattern) {
+		int patternIndex = group.patternIndex(letter, pattern);
+		int bitset = patternIndex < 0 ? -1 : group.bitsetStart[patternIndex];
+		if (bitset >= 0) {
+			for (int word = firstWord; word < lastWord; word++) candidates[word] &= group.bitsets[bitset + word];
+		} else {
+			if (patternIndex >= 0) {
+				for (int posting = group.postingStart[patternIndex]; posting < group.postingStart[patternIndex + 1]; posting++) {
+					int phrase = group.postings[posting];
+					pruned[phrase >>> 6] |= candidates[phrase >>> 6] & (1L << phrase);
+				}
+			}
+			long[] swap = candidates;
+			candidates = pruned;
+			pruned = swap;
+			for (int word = firstWord; word < lastWord; word++) pruned[word] = 0;
+		}
+
+		candidateCount = 0;
+		int first = lastWord;
+		int last = firstWord;
+		for (int word = firstWord; word < lastWord; word++) {
+			if (candidates[word] == 0) continue;
+			candidateCount += Long.bitCount(candidates[word]);
+			first = Math.min(first, word);
+			last = word + 1;
+		}
+		firstWord = first;
+		lastWord = Math.max(first, last);
+	}
+
+	/**
+	 * Counts the candidates with each letter and the times each letter appears in them. Uses the group totals
+	 * while every phrase in the group is still possible.
+	 *
+	 * @param phrasesWithLetter Filled with the number of candidates with each letter (int[])
+	 * @param letterTotals      Filled with the number of times each letter appears in all the candidates (int[])
+	 */
+	void count(int[] phrasesWithLetter, int[] letterTotals) {
+		if (candidateCount == group.ids.length) {
+			System.arraycopy(group.phrasesWithLetter, 0, phrasesWithLetter, 0, 26);
+			System.arraycopy(group.letterTotals, 0, letterTotals, 0, 26);
+			return;
+		}
+		byte[] letterCounts = group.letterCounts;
+		for (int word = firstWord; word < lastWord; word++) {
+			for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+				int start = ((word << 6) + Long.numberOfTrailingZeros(bits)) * 26;
+				for (int letter = 0; letter < 26; letter++) {
+					int count = letterCounts[start + letter];
+					if (count == 0) continue;
+					phrasesWithLetter[letter]++;
+					letterTotals[letter] += count;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package WheelOfFortune.Game;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Feed of the state of a {@link Room}'s game for spectators, as compact deltas of what changed.
+ * <p>After every command the room asks the feed for a delta. The feed compares the game with the state it last
+ * published and encodes only what changed, once, as one line shared by every spectator:</p>
+ * <pre>
+ * D seq [Pplayer] [Mseat:money]... [Rletter pos,pos...]... [Ssector:kind:value]
+ * </pre>
+ * <p>{@code P} is the current player, {@code M} the money of a seat, {@code R} the positions of the board a letter
+ * was revealed at and {@code S} the sector the last spin landed on. A snapshot of the whole state is</p>
+ * <pre>
+ * SNAP seq players player money,money... board
+ * </pre>
+ * <p>which is sent to new spectators, to every spectator when a game starts, and to spectators that fell behind. A
+ * spectator that can't keep up has its waiting deltas dropped and gets one snapshot of the latest state when it has
+ * caught up, so slow spectators are coalesced to the newest state rather than queueing every change. A snapshot is
+ * encoded once per state, however many spectators need it. Every delta has the next sequence number and a snapshot
+ * the sequence number of the state it shows, so a {@link View} can tell it has missed nothing.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Room#publish()
+ * @see GameServer
+ */
+public class SpectatorFeed {
+	long sequence;
+	int player;
+	int[] money = new int[0];
+	char[] board = new char[0];
+	boolean spun;
+	int spinSector;
+	String spinKind;
+	int spinValue;
+	ByteBuffer snapshot;
+	long snapshotSequence = -1;
+	final StringBuilder line = new StringBuilder(64);
+
+	/**
+	 * Starts following a new game and encodes its first snapshot.
+	 *
+	 * @param game Game that has just started (Game)
+	 * @return Snapshot of the game, to be duplicated for each spectator (ByteBuffer)
+	 */
+	public ByteBuffer reset(Game game) {
+		sequence++;
+		player = game.currentPlayer;
+		money = game.playerMoney.clone();
+		board = game.guessBoard.clone();
+		spun = false;
+		return snapshot(game);
+	}
+
+	/**
+	 * Remembers the outcome of a spin for the next delta.
+	 *
+	 * @param sector Sector landed (Integer)
+	 * @param kind   Kind of the sector (String)
+	 * @param value  Value of the sector (Integer)
+	 */
+	public void spun(int sector, String kind, int value) {
+		spun = true;
+		spinSector = sector;
+		spinKind = kind;
+		spinValue = value;
+	}
+
+	/**
+	 * Encodes what has changed in the game since the last delta or snapshot.
+	 *
+	 * @param game Game being followed (Game)
+	 * @return Delta to be duplicated for each spectator, or null if nothing changed (ByteBuffer)
+	 */
+	public ByteBuffer delta(Game game) {
+		line.setLength(0);
+		if (game.currentPlayer != player) {
+			player = game.currentPlayer;
+			line.append(" P").append(player);
+		}
+		for (int seat = 0; seat < money.length; seat++) {
+			if (game.playerMoney[seat] == money[seat]) continue;
+			money[seat] = game.playerMoney[seat];
+			line.append(" M").append(seat).append(':').append(money[seat]);
+		}
+		char[] shown = game.guessBoard;
+		char revealing = 0;
+		for (int n = 0; n < board.length; n++) {
+			if (shown[n] == board[n]) continue;
+			board[n] = shown[n];
+			if (shown[n] != revealing) {
+				revealing = shown[n];
+				line.append(" R").append(revealing);
+			} else line.append(',');
+			line.append(n);
+		}
+		if (spun) {
+			spun = false;
+			line.append(" S").append(spinSector).append(':').append(spinKind).append(':').append(spinValue);
+		}
+		if (line.length() == 0) return null;
+		sequence++;
+		line.insert(0, sequence).insert(0, "D ");
+		return Room.encode(line.toString());
+	}
+
+	/**
+	 * Gets the snapshot of the state last published, encoding it only the first time it is asked for.
+	 *
+	 * @param game Game being followed (Game)
+	 * @return Snapshot to be duplicated for each spectator (ByteBuffer)
+	 */
+	public ByteBuffer snapshot(Game game) {
+		if (snapshotSequence != sequence) {
+			line.setLength(0);
+			line.append("SNAP ").append(sequence).append(' ').append(money.length).append(' ').append(player).append(' ');
+			for (int seat = 0; seat < money.length; seat++) line.append(seat == 0 ? "" : ",").append(money[seat]);
+			line.append(' ').append(board);
+			snapshot = Room.encode(line.toString());
+			snapshotSequence = sequence;
+		}
+		return snapshot.duplicate();
+	}
+
+	/**
+	 * The state of a game rebuilt by a spectator from the feed, used by venue displays and to check the feed.
+	 */
+	public static class View {
+		long sequence = -1;
+		int player;
+		int[] money = new int[0];
+		char[] board = new char[0];
+		int spinSector = -1;
+		String spinKind;
+		int spinValue;
+		/**
+		 * True if a delta arrived that didn't follow the state shown, until the next snapshot.
+		 */
+		boolean outOfSync;
+
+		/**
+		 * Applies a line from the feed. Lines that aren't part of the feed are ignored.
+		 *
+		 * @param line Line without the line ending (String)
+		 * @return True if the line was a snapshot or delta (Boolean)
+		 */
+		public boolean apply(String line) {
+			if (line.startsWith("SNAP ")) {
+				String[] fields = line.split(" ", 6);
+				sequence = Long.parseLong(fields[1]);
+				money = new int[Integer.parseInt(fields[2])];
+				player = Integer.parseInt(fields[3]);
+				String[] amounts = fields[4].split(",");
+				for (int seat = 0; seat < money.length; seat++) money[seat] = Integer.parseInt(amounts[seat]);
+				board = fields[5].toCharArray();
+				outOfSync = false;
+				return true;
+			}
+			if (!line.startsWith("D ")) return false;
+			String[] fields = line.split(" ");
+			long next = Long.parseLong(fields[1]);
+			if (next != sequence + 1) outOfSync = true;
+			sequence = next;
+			for (int n = 2; n < fields.length; n++) {
+				String field = fields[n];
+				switch (field.charAt(0)) {
+					case 'P':
+						player = Integer.parseInt(field.substring(1));
+						break;
+					case 'M':
+						int colon = field.indexOf(':');
+						money[Integer.parseInt(field.substring(1, colon))] = Integer.parseInt(field.substring(colon + 1));
+						break;
+					case 'R':
+						char letter = field.charAt(1);
+						for (String position : field.substring(2).split(",")) board[Integer.parseInt(position)] = letter;
+						break;
+					case 'S':
+						String[] spin = field.substring(1).split(":");
+						spinSector = Integer.parseInt(spin[0]);
+						spinKind = spin[1];
+						spinValue = Integer.parseInt(spin[2]);
+						break;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @param game Game to compare with (Game)
+		 * @return True if the view shows the game's current player, money and board (Boolean)
+		 */
+		public boolean matches(Game game) {
+			return !outOfSync && player == game.currentPlayer && Arrays.equals(money, game.playerMoney)
+					&& Arrays.equals(board, game.guessBoard);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package WheelOfFortune.Game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Layout of the sectors of a wheel: their angles, values, kinds, labels and colours.
+ * <p>Layouts are read from a text file with one sector per line, so a new wheel needs no code changes.
+ * Each line is {@code degrees,kind,value,label,colour}, where kind is money, bankrupt or nextPlayer,
+ * {@code |} in a label starts a new line and colour is a hex RGB value. Blank lines and lines starting
+ * with {@code #} are skipped. The first sector starts at rotation 0 and the sizes must add up to 360 degrees.</p>
+ * <p>Sector {@code n} is upright for rotations from {@code starts[n]} up to {@code starts[n + 1]}.
+ * {@link WheelLayout#sectorAt(double)} finds it through a table of {@link WheelLayout#buckets} equal slices of a
+ * revolution, each holding the sector its start falls in, so a lookup costs the same for any number of sectors.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Engine#landOn(int)
+ * @see Wheel#renderImage(WheelLayout, int)
+ */
+public class WheelLayout {
+	/**
+	 * Layout of the original wheel, used unless {@code -Dwof.wheel.layout} gives the path of another layout.
+	 */
+	static final String DEFAULT_LAYOUT = "assets/default.wheel";
+	static WheelLayout defaultLayout;
+
+	double[] starts;
+	int[] values;
+	String[] kinds;
+	String[] labels;
+	int[] colours;
+	int buckets;
+	double bucketsPerRadian;
+	int[] bucketSectors;
+
+	/**
+	 * Reads a layout and builds its lookup table.
+	 *
+	 * @param input Layout file (InputStream)
+	 * @throws IOException              if the layout can't be read
+	 * @throws IllegalArgumentException if a line is not a valid sector or the sizes don't add up to 360 degrees
+	 */
+	public WheelLayout(InputStream input) throws IOException {
+		List<String[]> sectors = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) continue;
+			String[] fields = line.split(",", -1);
+			if (fields.length != 5) throw new IllegalArgumentException("Sector needs 5 fields: " + line);
+			sectors.add(fields);
+		}
+		if (sectors.isEmpty()) throw new IllegalArgumentException("Wheel layout has no sectors");
+
+		int count = sectors.size();
+		starts = new double[count + 1];
+		values = new int[count];
+		kinds = new String[count];
+		labels = new String[count];
+		colours = new int[count];
+
+		double degrees = 0;
+		for (int n = 0; n < count; n++) {
+			String[] fields = sectors.get(n);
+			double size = Double.parseDouble(fields[0].trim());
+			if (size <= 0) throw new IllegalArgumentException("Sector size must be positive: " + size);
+			starts[n] = Math.toRadians(degrees);
+			degrees += size;
+			kinds[n] = fields[1].trim();
+			if (!kinds[n].equals("money") && !kinds[n].equals("bankrupt") && !kinds[n].equals("nextPlayer")) {
+				throw new IllegalArgumentException("Unknown sector kind: " + kinds[n]);
+			}
+			values[n] = Integer.parseInt(fields[2].trim());
+			labels[n] = fields[3].trim();
+			colours[n] = Integer.parseInt(fields[4].trim().replace("#", ""), 16);
+		}
+		if (Math.abs(degrees - 360) > 1e-6) throw new IllegalArgumentException("Sector sizes add up to " + degrees + " degrees, not 360");
+		starts[count] = Math.PI * 2;
+
+		buckets = Math.max(1024, Integer.highestOneBit(count) * 64);
+		bucketsPerRadian = buckets / (Math.PI * 2);
+		bucketSectors = new int[buckets];
+		int sector = 0;
+		for (int n = 0; n < buckets; n++) {
+			double bucketStart = n / bucketsPerRadian;
+			while (bucketStart >= starts[sector + 1]) sector++;
+			bucketSectors[n] = sector;
+		}
+	}
+
+	/**
+	 * Reads a layout from a file.
+	 *
+	 * @param path Path of the layout (Path)
+	 * @return Layout (WheelLayout)
+	 * @throws IOException if the layout can't be read
+	 */
+	public static WheelLayout load(Path path) throws IOException {
+		try (InputStream input = Files.newInputStream(path)) {
+			return new WheelLayout(input);
+		}
+	}
+
+	/**
+	 * Finds the layout of the wheel in play. Read once from {@code -Dwof.wheel.layout} if set,
+	 * otherwise from {@link WheelLayout#DEFAULT_LAYOUT}.
+	 *
+	 * @return Layout shared by every game (WheelLayout)
+	 */
+	public static synchronized WheelLayout defaultLayout() {
+		if (defaultLayout == null) {
+			String path = System.getProperty("wof.wheel.layout");
+			try (InputStream input = path != null ? Files.newInputStream(Path.of(path))
+					: Objects.requireNonNull(WheelLayout.class.getResourceAsStream(DEFAULT_LAYOUT))) {
+				defaultLayout = new WheelLayout(input);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return defaultLayout;
+	}
+
+	/**
+	 * @return Number of sectors (Integer)
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * Average money a spin lands on, with each money sector weighted by its size and every other sector counting as 0.
+	 *
+	 * @return Expected money of a spin (Double)
+	 */
+	public double expectedMoney() {
+		double total = 0;
+		for (int sector = 0; sector < size(); sector++) {
+			if (kinds[sector].equals("money")) total += values[sector] * (starts[sector + 1] - starts[sector]);
+		}
+		return total / (Math.PI * 2);
+	}
+
+	/**
+	 * Finds which sector is upright for a rotation using the lookup table.
+	 * The bucket the rotation falls in gives the first sector that can be upright, and only sectors that
+	 * end within that bucket are stepped past.
+	 *
+	 * @param radians Rotation in radians (Double)
+	 * @return Sector landed (Integer)
+	 */
+	public int sectorAt(double radians) {
+		double normalised = radians % (Math.PI * 2);
+		if (normalised < 0) normalised += Math.PI * 2;
+		if (normalised >= Math.PI * 2) normalised = 0;
+		int sector = bucketSectors[Math.min((int) (normalised * bucketsPerRadian), buckets - 1)];
+		while (normalised >= starts[sector + 1]) sector++;
+		return sector;
+	}
+}
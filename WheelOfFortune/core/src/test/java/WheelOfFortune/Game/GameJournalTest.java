@@ -0,0 +1,96 @@
+package WheelOfFortune.Game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Records games to a {@link GameJournal} and checks that a recovered game carries on like the game it was recorded
+ * from.
+ */
+class GameJournalTest {
+	static final String CONSONANTS = "tnshrdlcmwfgypbvkjxqz";
+
+	Path directory;
+
+	@BeforeEach
+	void create() throws IOException {
+		directory = Files.createTempDirectory("journal");
+	}
+
+	@AfterEach
+	void delete() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) Files.delete(path);
+		}
+	}
+
+	@Test
+	void recoveredGameSpinsLikeUninterruptedGame() throws IOException {
+		Game game = new Game(7L);
+		game.maxGuessEdits = 2;
+		game.setNumberOfPlayers(3);
+		game.randomPlayer();
+		Engine engine = new Engine(game);
+		GameJournal journal = new GameJournal(directory, false);
+		journal.snapshotInterval = 5;
+		journal.attach(engine);
+		for (int turn = 0; turn < 12; turn++) play(engine);
+		journal.close();
+		engine.journal = null;
+
+		Engine recovered = GameJournal.recover(directory, engine.layout);
+		assertEquals(game.spins, recovered.game.spins);
+		assertEquals(2L, recovered.game.maxGuessEdits);
+		assertArrayEquals(game.playerMoney, recovered.game.playerMoney);
+		for (int turn = 0; turn < 20 && !engine.solved(); turn++) {
+			play(engine);
+			play(recovered);
+			assertEquals(engine.sectorLanded, recovered.sectorLanded, "sector of spin " + game.spins);
+			assertArrayEquals(game.playerMoney, recovered.game.playerMoney);
+			assertEquals(game.currentPlayer, recovered.game.currentPlayer);
+			assertArrayEquals(game.guessBoard, recovered.game.guessBoard);
+		}
+	}
+
+	@Test
+	void keepsOnlyTheSegmentSinceTheLastSnapshot() throws IOException {
+		Game game = new Game(11L);
+		game.setNumberOfPlayers(2);
+		game.randomPlayer();
+		Engine engine = new Engine(game);
+		try (GameJournal journal = new GameJournal(directory, false)) {
+			journal.snapshotInterval = 3;
+			journal.attach(engine);
+			for (int turn = 0; turn < 30; turn++) play(engine);
+		}
+		try (Stream<Path> segments = Files.list(directory)) {
+			assertEquals(1L, segments.filter(path -> path.getFileName().toString().startsWith(GameJournal.SEGMENT_PREFIX)).count());
+		}
+		assertFalse(Files.exists(GameJournal.segmentPath(directory, 0)));
+	}
+
+	/**
+	 * Spins and, on a money sector, guesses the first consonant not guessed yet.
+	 *
+	 * @param engine Engine of the game (Engine)
+	 */
+	static void play(Engine engine) {
+		if (!engine.spin(engine.game.nextSpin()).equals("money")) return;
+		for (int n = 0; n < CONSONANTS.length(); n++) {
+			char letter = CONSONANTS.charAt(n);
+			if (engine.guessed(letter)) continue;
+			engine.guessLetter(letter);
+			return;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package WheelOfFortune.Game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plays scripted games on a {@link GameServer} over loopback.
+ */
+class GameServerTest {
+	GameServer server;
+
+	@BeforeEach
+	void start() throws IOException {
+		server = new GameServer(0, 2, null);
+	}
+
+	@AfterEach
+	void stop() throws IOException {
+		server.close();
+	}
+
+	GameClient connect() throws IOException {
+		GameClient client = new GameClient("localhost", server.port());
+		client.socket.setSoTimeout(5000);
+		return client;
+	}
+
+	@Test
+	void startsGameWhenRoomIsFull() throws IOException {
+		try (GameClient first = connect(); GameClient second = connect()) {
+			first.send("JOIN lobby 2");
+			assertEquals("JOINED lobby 0", first.readLine());
+			second.send("JOIN lobby 2");
+			assertEquals("JOINED lobby 1", second.readLine());
+
+			String start = first.readLine();
+			assertTrue(start.startsWith("START 2 "), start);
+			assertEquals(start, second.readLine());
+			Room room = server.loopFor("lobby").rooms.get("lobby");
+			assertEquals("START 2 " + room.game.guessPhrase(), start);
+			assertEquals("TURN " + room.game.currentPlayer + " spin 0", first.readLine());
+		}
+	}
+
+	@Test
+	void refusesCommandsOutOfTurn() throws IOException {
+		try (GameClient outsider = connect()) {
+			outsider.send("SPIN");
+			assertEquals("ERR joinFirst", outsider.readLine());
+			outsider.send("JOIN lobby 5");
+			assertEquals("ERR usage JOIN room players", outsider.readLine());
+		}
+		try (ScriptedRoom script = new ScriptedRoom(server, "turns"); GameClient late = connect()) {
+			int current = script.room().game.currentPlayer;
+			GameClient waiting = script.players[1 - current];
+			waiting.send("SPIN");
+			assertEquals("ERR notYourTurn", waiting.readLine());
+			script.players[current].send("LETTER e");
+			assertEquals("ERR expecting spin", script.players[current].readLine());
+			late.send("JOIN turns 2");
+			assertEquals("ERR roomFull", late.readLine());
+		}
+	}
+
+	@Test
+	void playsWholeGamesWithEveryCommand() throws IOException {
+		try (ScriptedRoom script = new ScriptedRoom(server, "games")) {
+			boolean solvedWrong = false;
+			boolean solvedRight = false;
+			while (script.games < 3) {
+				String phrase = script.room().game.gamePhrase;
+				String command = script.play();
+				String seen = script.seen.toString();
+				if (command.equals("SOLVE not the phrase")) {
+					assertTrue(seen.contains(" incorrect\n"), seen);
+					solvedWrong = true;
+				} else if (command.startsWith("SOLVE ")) {
+					assertTrue(seen.contains(" correct\nWON "), seen);
+					assertTrue(seen.contains(" " + phrase + "\nSTART 2 "), seen);
+					solvedRight = true;
+				} else if (command.equals("SPIN")) {
+					assertTrue(seen.startsWith("SPUN "), seen);
+				} else {
+					assertTrue(seen.startsWith("LETTER "), seen);
+				}
+			}
+			assertTrue(solvedWrong);
+			assertTrue(solvedRight);
+		}
+	}
+
+	@Test
+	void handsOverJoinWithCommandInSameWrite() throws IOException {
+		for (int n = 0; n < 20; n++) {
+			try (GameClient first = connect()) {
+				first.send("JOIN probe" + n + " 2");
+				first.readUntil("JOINED");
+				// Connections are shared out in turn, so pick a room the third connection's loop doesn't own.
+				GameServer.EventLoop joiningLoop = server.loops[(server.nextLoop + 1) % server.loops.length];
+				String name = "handover" + n;
+				for (int suffix = 0; server.loopFor(name) == joiningLoop; suffix++) name = "handover" + n + "-" + suffix;
+				try (GameClient second = connect(); GameClient joining = connect()) {
+					second.send("JOIN " + name + " 2");
+					assertEquals("JOINED " + name + " 0", second.readLine());
+					joining.send("JOIN " + name + " 2\nSPIN");
+					assertEquals("JOINED " + name + " 1", joining.readLine());
+					assertTrue(joining.readLine().startsWith("START 2 "));
+					String turn = joining.readLine();
+					assertTrue(turn.startsWith("TURN "), turn);
+					String reply = joining.readLine();
+					if (turn.startsWith("TURN 1 ")) assertTrue(reply.startsWith("SPUN 1 "), reply);
+					else assertEquals("ERR notYourTurn", reply);
+				}
+			}
+		}
+	}
+
+	@Test
+	void closesRoomWhenPlayerLeaves() throws IOException {
+		ScriptedRoom script = new ScriptedRoom(server, "leaving");
+		try (GameClient spectator = connect()) {
+			spectator.send("WATCH leaving");
+			assertEquals("WATCHING leaving", spectator.readLine());
+			script.players[0].close();
+			assertEquals("CLOSED leaving", script.players[1].readUntil("CLOSED"));
+			assertEquals("CLOSED leaving", spectator.readUntil("CLOSED"));
+		} finally {
+			script.close();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package WheelOfFortune.Game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a {@link PhraseScheduler} saved in the background carries on through the same order when reopened.
+ */
+class PhraseSchedulerTest {
+	Path directory;
+
+	@BeforeEach
+	void create() throws IOException {
+		directory = Files.createTempDirectory("schedule");
+	}
+
+	@AfterEach
+	void delete() throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) Files.delete(path);
+		}
+	}
+
+	@Test
+	void reopenedSchedulerCarriesOnTheSameOrder() throws IOException {
+		Path file = directory.resolve("schedule.bin");
+		PhraseScheduler first = PhraseScheduler.open(file, 1000);
+		PhraseScheduler uninterrupted = new PhraseScheduler(1000, first.seed);
+		for (int n = 0; n < 700; n++) assertEquals(uninterrupted.next(), first.next());
+		first.close();
+
+		PhraseScheduler reopened = PhraseScheduler.open(file, 1000);
+		assertEquals(uninterrupted.cursor, reopened.cursor);
+		for (int n = 0; n < 700; n++) assertEquals(uninterrupted.next(), reopened.next(), "phrase " + n + " after reopening");
+		reopened.close();
+	}
+}
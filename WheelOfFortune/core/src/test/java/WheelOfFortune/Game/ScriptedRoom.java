@@ -0,0 +1,128 @@
+package WheelOfFortune.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Two scripted {@link GameClient}s playing in one room of a {@link GameServer} over loopback.
+ * <p>Each call to {@link ScriptedRoom#play()} sends the command the current player is expected to send and waits for
+ * the {@code TURN} that follows it on both clients, so the room is idle between calls. Letters are guessed in order
+ * of frequency. At each chance to solve, the first guess of a game is wrong and the next is the phrase.</p>
+ */
+class ScriptedRoom implements Closeable {
+	static final String LETTER_FREQUENCY = "etaoinshrdlcumwfgypbvkjxqz";
+
+	final GameServer server;
+	final String name;
+	final GameClient[] players = new GameClient[2];
+	final boolean[] guessed = new boolean[26];
+	String turn;
+	boolean solvedWrong;
+	/**
+	 * Lines seen by the first player since the last command, up to the {@code TURN}.
+	 */
+	final StringBuilder seen = new StringBuilder();
+	int games;
+
+	/**
+	 * Joins both players to a new room and waits for the first turn.
+	 *
+	 * @param server Server to play on (GameServer)
+	 * @param name   Name of the room (String)
+	 */
+	ScriptedRoom(GameServer server, String name) throws IOException {
+		this.server = server;
+		this.name = name;
+		for (int seat = 0; seat < players.length; seat++) {
+			players[seat] = new GameClient("localhost", server.port());
+			players[seat].socket.setSoTimeout(5000);
+			players[seat].send("JOIN " + name + " 2");
+			players[seat].readUntil("JOINED");
+		}
+		turn = readTurn();
+	}
+
+	/**
+	 * @return The room on the server. Only read between commands, when its loop is idle (Room)
+	 */
+	Room room() {
+		return server.loopFor(name).rooms.get(name);
+	}
+
+	/**
+	 * Sends the next command and waits until both players have been told whose turn it is.
+	 *
+	 * @return Command sent (String)
+	 */
+	String play() throws IOException {
+		String[] fields = turn.split(" ");
+		int seat = Integer.parseInt(fields[1]);
+		String command;
+		switch (fields[2]) {
+			case "letter":
+				command = "LETTER " + nextLetter(Integer.parseInt(fields[3]) >= room().game.vowelCost);
+				break;
+			case "choice":
+				command = "SOLVE " + (solvedWrong ? room().game.gamePhrase : "not the phrase");
+				solvedWrong = true;
+				break;
+			default:
+				command = "SPIN";
+		}
+		players[seat].send(command);
+		turn = readTurn();
+		return command;
+	}
+
+	/**
+	 * Reads both players' messages up to the next {@code TURN}, starting over the script when a new game starts.
+	 *
+	 * @return The first player's {@code TURN} (String)
+	 */
+	String readTurn() throws IOException {
+		seen.setLength(0);
+		String first = null;
+		for (GameClient player : players) {
+			while (true) {
+				String line = player.readLine();
+				if (player == players[0]) seen.append(line).append('\n');
+				if (line.startsWith("ERR ")) throw new AssertionError("Scripted command refused: " + line);
+				if (line.startsWith("START ") && player == players[0]) {
+					Arrays.fill(guessed, false);
+					solvedWrong = false;
+				}
+				if (line.startsWith("WON ") && player == players[0]) games++;
+				if (line.startsWith("TURN ")) {
+					if (first == null) first = line;
+					break;
+				}
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * @param canBuyVowel True if the current player can afford a vowel (Boolean)
+	 * @return Most common letter not guessed yet this game, or a consonant already missed if only vowels the player
+	 * can't afford are left (Character)
+	 */
+	char nextLetter(boolean canBuyVowel) {
+		for (int n = 0; n < LETTER_FREQUENCY.length(); n++) {
+			char letter = LETTER_FREQUENCY.charAt(n);
+			if (guessed[letter - 'a'] || (!canBuyVowel && FrequencyPolicy.isVowel(letter))) continue;
+			guessed[letter - 'a'] = true;
+			return letter;
+		}
+		for (int n = 0; n < LETTER_FREQUENCY.length(); n++) {
+			char letter = LETTER_FREQUENCY.charAt(n);
+			if (!FrequencyPolicy.isVowel(letter) && room().game.countOnBoard(letter) == 0) return letter;
+		}
+		throw new AssertionError("No letter left to guess");
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (GameClient player : players) player.close();
+	}
+}
@@ -0,0 +1,171 @@
+package WheelOfFortune.Game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Watches scripted games on a {@link GameServer} over loopback and checks that every spectator's
+ * {@link SpectatorFeed.View} follows the game without missing a delta.
+ */
+class SpectatorFeedTest {
+	static final int SPECTATORS = 5;
+	/**
+	 * Milliseconds a spectator waits for the next line before checking again that it hasn't taken too long.
+	 */
+	static final int QUIET_MILLIS = 100;
+
+	GameServer server;
+
+	@BeforeEach
+	void start() throws IOException {
+		server = new GameServer(0, 2, null);
+	}
+
+	@AfterEach
+	void stop() throws IOException {
+		server.close();
+	}
+
+	@Test
+	void viewsMatchGameAfterEveryCommand() throws IOException {
+		try (ScriptedRoom script = new ScriptedRoom(server, "arena")) {
+			Spectator[] spectators = new Spectator[SPECTATORS];
+			for (int n = 0; n < SPECTATORS; n++) spectators[n] = new Spectator(server.port(), "arena", false);
+			for (Spectator spectator : spectators) spectator.catchUp(script.room());
+
+			while (script.games < 3) {
+				script.play();
+				for (Spectator spectator : spectators) spectator.catchUp(script.room());
+			}
+			for (Spectator spectator : spectators) {
+				assertTrue(spectator.deltas > 0);
+				spectator.close();
+			}
+		}
+	}
+
+	@Test
+	void deltasFollowEachOtherWithinAGame() {
+		Game game = new Game(1L);
+		game.setNumberOfPlayers(2);
+		game.randomPlayer();
+		Engine engine = new Engine(game);
+		SpectatorFeed feed = new SpectatorFeed();
+		SpectatorFeed.View view = new SpectatorFeed.View();
+		view.apply(line(feed.reset(game)));
+		assertTrue(view.matches(game));
+
+		engine.spin(game.nextSpin());
+		feed.spun(engine.sectorLanded, "money", engine.spinValue);
+		game.currentPlayerAddMoney(500);
+		assertTrue(view.apply(line(feed.delta(game))));
+		assertEquals(game.currentPlayerMoney(), view.money[game.currentPlayer]);
+		assertEquals(engine.sectorLanded, view.spinSector);
+		assertTrue(view.matches(game));
+		assertNull(feed.delta(game));
+
+		game.nextPlayer();
+		feed.delta(game);
+		game.nextPlayer();
+		view.apply(line(feed.delta(game)));
+		assertFalse(view.matches(game));
+		view.apply(line(feed.snapshot(game)));
+		assertTrue(view.matches(game));
+	}
+
+	/**
+	 * @param message Encoded feed message (ByteBuffer)
+	 * @return Message without the line ending (String)
+	 */
+	static String line(ByteBuffer message) {
+		return new String(message.array(), message.position(), message.remaining() - 1, StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	void slowSpectatorIsCoalescedToLatestState() throws IOException {
+		try (ScriptedRoom script = new ScriptedRoom(server, "slow");
+			 Spectator slow = new Spectator(server.port(), "slow", true)) {
+			slow.catchUp(script.room());
+			script.room().spectators.get(0).channel.setOption(StandardSocketOptions.SO_SNDBUF, 4096);
+			for (int n = 0; n < 2000; n++) script.play();
+			slow.catchUp(script.room());
+			assertTrue(slow.coalesced > 0, "the spectator was never coalesced");
+		}
+	}
+
+	/**
+	 * A spectator rebuilding the game from the feed.
+	 */
+	static class Spectator implements AutoCloseable {
+		final Socket socket = new Socket();
+		final BufferedReader in;
+		final SpectatorFeed.View view = new SpectatorFeed.View();
+		int deltas;
+		/**
+		 * Snapshots that skipped deltas the spectator didn't read in time.
+		 */
+		int coalesced;
+
+		/**
+		 * @param port Port of the server (Integer)
+		 * @param room Room to watch (String)
+		 * @param slow True to use a small receive buffer, so what the server sends backs up (Boolean)
+		 */
+		Spectator(int port, String room, boolean slow) throws IOException {
+			if (slow) socket.setReceiveBufferSize(1024);
+			socket.connect(new InetSocketAddress("localhost", port));
+			socket.setSoTimeout(QUIET_MILLIS);
+			in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+			socket.getOutputStream().write(("WATCH " + room + "\n").getBytes(StandardCharsets.ISO_8859_1));
+			socket.getOutputStream().flush();
+		}
+
+		/**
+		 * Reads the feed until the view shows the room's game at the feed's latest sequence number, checking that no
+		 * delta is missed on the way. A delta the room hasn't published yet is read on the next call.
+		 *
+		 * @param room Room watched, only read while it is idle (Room)
+		 */
+		void catchUp(Room room) throws IOException {
+			long deadline = System.nanoTime() + 10_000_000_000L;
+			while (view.sequence < room.feed.sequence || !view.matches(room.game)) {
+				String line;
+				try {
+					line = in.readLine();
+				} catch (SocketTimeoutException e) {
+					assertTrue(System.nanoTime() < deadline, "the view never caught up with the game");
+					continue;
+				}
+				assertTrue(line != null, "the server closed the feed");
+				long expected = view.sequence + 1;
+				if (line.startsWith("SNAP ")) {
+					view.apply(line);
+					if (expected > 0 && view.sequence > expected) coalesced++;
+				} else if (view.apply(line)) {
+					deltas++;
+					assertFalse(view.outOfSync, "delta out of sync: " + line);
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			socket.close();
+		}
+	}
+}
@@ -1,11 +0,0 @@
-package WheelOfFortune.Game;
-
-/**
- * Instantiates a new GUI and calls the new game GUI function.
- */
-public class Main {
-    public static void main(String[] args) {
-        GUI gui = new GUI(800, 800);
-        gui.newGameGUI();
-    }
-}
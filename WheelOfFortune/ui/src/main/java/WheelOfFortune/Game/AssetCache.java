@@ -0,0 +1,127 @@
+package WheelOfFortune.Game;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide cache of decoded images from the {@code assets} resources.
+ * <p>Each image is decoded once, on a background thread, and converted to a display-compatible image so drawing it
+ * needs no conversion. {@link AssetCache#preload()} starts decoding every asset and rendering the default wheel at
+ * startup, so by the time a screen asks for an image it is usually ready. Screens share the same images and icons,
+ * so starting a new game decodes and allocates nothing. The {@link Advisor} behind the GUI's hints is built on the
+ * same thread, see {@link AssetCache#advisor(PhrasePack)}.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GUI
+ */
+public class AssetCache {
+	static final String LOGO = "wof.png";
+	static final String ICON = "wofIcon.png";
+	static final String[] PRELOAD = {ICON, LOGO};
+
+	static final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+	static final ConcurrentHashMap<String, ImageIcon> icons = new ConcurrentHashMap<>();
+	static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "asset-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Starts decoding every asset and rendering the wheel of the default layout and the puzzle board's tiles on the
+	 * loader thread.
+	 * Returns straight away.
+	 *
+	 * @see Wheel#sprites(WheelLayout)
+	 * @see PuzzleBoard#atlas()
+	 */
+	public static void preload() {
+		for (String name : PRELOAD) load(name);
+		loader.execute(() -> Wheel.sprites(WheelLayout.defaultLayout()));
+		loader.execute(PuzzleBoard::atlas);
+	}
+
+	/**
+	 * Starts building an advisor over the phrases games are played with on the loader thread, indexing every phrase
+	 * of the pack. Returns straight away. If indexing fails the failure is printed and the GUI gives no hints.
+	 *
+	 * @param phrasePack Phrases games choose from, or null for the phrase string (PhrasePack)
+	 * @return Advisor, when it is ready (CompletableFuture)
+	 * @see PhraseIndex
+	 */
+	public static CompletableFuture<Advisor> advisor(PhrasePack phrasePack) {
+		CompletableFuture<Advisor> advisor = CompletableFuture.supplyAsync(() -> new Advisor(phrasePack == null ? new PhraseIndex(Game.PHRASES) : new PhraseIndex(phrasePack)), loader);
+		advisor.exceptionally(e -> {
+			System.err.println("No hints, the phrases couldn't be indexed: " + e);
+			return null;
+		});
+		return advisor;
+	}
+
+	/**
+	 * Starts decoding an asset if it hasn't been already.
+	 *
+	 * @param name File name in the assets folder (String)
+	 * @return Decoded image, when it is ready (CompletableFuture)
+	 */
+	public static CompletableFuture<BufferedImage> load(String name) {
+		return images.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> decode(key), loader));
+	}
+
+	/**
+	 * Gets a decoded asset, waiting for it to be decoded if it isn't ready yet.
+	 *
+	 * @param name File name in the assets folder (String)
+	 * @return Shared decoded image, not to be drawn on (BufferedImage)
+	 * @throws UncheckedIOException if the asset can't be read
+	 */
+	public static BufferedImage image(String name) {
+		try {
+			return load(name).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException) throw (UncheckedIOException) e.getCause();
+			throw e;
+		}
+	}
+
+	/**
+	 * @param name File name in the assets folder (String)
+	 * @return Shared icon of a decoded asset (ImageIcon)
+	 * @throws UncheckedIOException if the asset can't be read
+	 */
+	public static ImageIcon icon(String name) {
+		return icons.computeIfAbsent(name, key -> new ImageIcon(image(key)));
+	}
+
+	/**
+	 * Decodes an asset and copies it into a display-compatible image.
+	 *
+	 * @param name File name in the assets folder (String)
+	 * @return Decoded image (BufferedImage)
+	 */
+	static BufferedImage decode(String name) {
+		try (InputStream input = AssetCache.class.getResourceAsStream("assets/" + name)) {
+			if (input == null) throw new IOException("Missing asset: " + name);
+			BufferedImage decoded = ImageIO.read(input);
+			if (decoded == null) throw new IOException("Not an image: " + name);
+			BufferedImage compatible = WheelSpriteCache.compatibleImage(decoded.getWidth(), decoded.getHeight(), null);
+			Graphics2D graphics2D = compatible.createGraphics();
+			graphics2D.drawImage(decoded, 0, 0, null);
+			graphics2D.dispose();
+			return compatible;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,616 @@
+package WheelOfFortune.Game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handles displaying the GUI for the game.
+ * Serves as the main "game loop" as it instantiates the objects used in the game.
+ * <p>Every component of every screen is built once, in the constructor, and each button, text box and the wheel
+ * get their one listener there. Each screen is a {@link Screen}: which of the logo, wheel or nothing is shown in
+ * the middle, which guess box is shown and which set of buttons. The screen methods set the labels for the current
+ * game, then switch to their screen with {@link GUI#show(Screen, String)}, which only flips {@link CardLayout}s.
+ * Nothing is added, removed or listened to after the window is built, so the number of components and listeners
+ * stays the same however many rounds are played. Messages are shown in {@link MessageLabel}s, which lay out their
+ * lines from cached glyphs rather than parsing HTML, and the phrase on a {@link PuzzleBoard} of tiles.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Game
+ * @see Engine
+ * @see Wheel
+ * @see Quadratic
+ * @see GameButton
+ */
+public class GUI {
+	static final String LOGO = "logo";
+	static final String WHEEL = "wheel";
+	static final String BOARD = "board";
+	static final String NONE = "none";
+	static final String LETTER = "letter";
+	static final String PHRASE = "phrase";
+	static final String WINNER = "winner";
+	/**
+	 * Smallest the window can be resized to and still fit the puzzle board and buttons.
+	 */
+	static final Dimension MINIMUM_SIZE = new Dimension(600, 600);
+
+	/**
+	 * Screens of the game, with what each shows in the middle of the window and in the guess panel.
+	 * The name of a screen is also its name in the {@link GameMetrics}.
+	 */
+	enum Screen {
+		NEW_GAME("newGame", LOGO, NONE),
+		NUMBER_OF_PLAYERS("numberOfPlayers", NONE, NONE),
+		WHEEL_CLICK("wheelClick", WHEEL, NONE),
+		WHEEL_SPIN_ANIMATION("wheelSpinAnimation", WHEEL, NONE),
+		WHEEL_MONEY("wheelMoney", WHEEL, NONE),
+		WHEEL_BANKRUPT("wheelBankrupt", WHEEL, NONE),
+		WHEEL_NEXT_PLAYER("wheelNextPlayer", WHEEL, NONE),
+		GUESS_LETTER("guessLetter", BOARD, LETTER),
+		GUESS_ERRORS("guessErrors", BOARD, NONE),
+		GUESS_LETTER_INCORRECT("guessLetterIncorrect", BOARD, NONE),
+		GUESS_LETTER_CORRECT("guessLetterCorrect", BOARD, NONE),
+		GUESS_FULL_PHRASE("guessFullPhrase", BOARD, PHRASE),
+		GUESS_FULL_PHRASE_INCORRECT("guessFullPhraseIncorrect", BOARD, NONE),
+		GAME_WINNER("gameWinner", BOARD, NONE);
+
+		final String name;
+		final String centre;
+		final String guess;
+
+		Screen(String name, String centre, String guess) {
+			this.name = name;
+			this.centre = centre;
+			this.guess = guess;
+		}
+	}
+
+	JFrame gui = new JFrame("Wheel of Fortune");
+
+	JPanel headerPanel = new JPanel();
+	JPanel contentPanel = new JPanel();
+	JPanel centrePanel = new JPanel(new CardLayout());
+	JPanel guessPanel = new JPanel(new CardLayout());
+	JPanel buttonPanel = new JPanel(new CardLayout());
+
+	MessageLabel playerLabel = new MessageLabel();
+	MessageLabel playerMoneyLabel = new MessageLabel();
+	MessageLabel infoLabel = new MessageLabel();
+	MessageLabel contentLabel = new MessageLabel();
+	JFormattedTextField letterBox = new JFormattedTextField();
+	JFormattedTextField phraseBox = new JFormattedTextField();
+
+	Wheel wheel;
+	PuzzleBoard board = new PuzzleBoard();
+	Game game;
+	Engine engine;
+	PhrasePack phrasePack;
+	/**
+	 * Order the phrases are played in, made when the first game starts unless {@link Main} has opened a saved one.
+	 */
+	PhraseScheduler scheduler;
+	GameJournal journal;
+	/**
+	 * Outcome of every round played in this window, kept across games.
+	 */
+	RoundStats stats = new RoundStats();
+	/**
+	 * Advises the player after a correct letter, built in the background by {@link AssetCache#advisor(PhrasePack)}.
+	 * Null, or not done, until then.
+	 */
+	CompletableFuture<Advisor> advisor;
+	/**
+	 * {@link Game#maxGuessEdits} of every game played in this window.
+	 */
+	int maxGuessEdits;
+	/**
+	 * Directory every game is recorded to as a GIF, or null to not record.
+	 */
+	Path recordings;
+	SessionRecorder recorder;
+	Screen screen;
+	/**
+	 * Outcome of {@link Engine#checkLetter(char)} shown on the guess errors screen, which decides what "Continue" does.
+	 */
+	String letterCheck;
+
+	/**
+	 * Constructs the GUI and every screen, and sets the window icon image once the {@link AssetCache} has decoded it.
+	 * Sets the dimensions of the GUI window using the parameters. The window can be resized down to
+	 * {@link GUI#MINIMUM_SIZE}, and the wheel and puzzle board fill whatever space is left.
+	 *
+	 * @param width  width of the GUI window (Integer)
+	 * @param height height of the GUI window (Integer)
+	 */
+	public GUI(int width, int height) {
+		gui.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		gui.setSize(width, height);
+		gui.setMinimumSize(MINIMUM_SIZE);
+		gui.setResizable(true);
+
+		gui.setLayout(new BorderLayout());
+		headerPanel.setLayout(new BorderLayout());
+		contentPanel.setLayout(new BorderLayout());
+
+		gui.add(headerPanel, BorderLayout.PAGE_START);
+		gui.add(contentPanel, BorderLayout.CENTER);
+		gui.add(buttonPanel, BorderLayout.PAGE_END);
+
+		playerLabel.setFont(new Font("", Font.BOLD, 50));
+		playerMoneyLabel.setFont(new Font("", Font.PLAIN, 40));
+		infoLabel.setFont(new Font("", Font.PLAIN, 40));
+		contentLabel.setFont(new Font("", Font.BOLD, 40));
+
+		headerPanel.add(playerLabel, BorderLayout.PAGE_START);
+		headerPanel.add(playerMoneyLabel, BorderLayout.CENTER);
+		headerPanel.add(infoLabel, BorderLayout.PAGE_END);
+
+		contentPanel.add(contentLabel, BorderLayout.PAGE_START);
+		contentPanel.add(centrePanel, BorderLayout.CENTER);
+		contentPanel.add(guessPanel, BorderLayout.PAGE_END);
+
+		buttonPanel.setPreferredSize(new Dimension(gui.getWidth(), 100));
+
+		buildCentre();
+		buildGuessBoxes();
+		buildButtons();
+
+		AssetCache.load(AssetCache.ICON).whenComplete((wofIcon, error) -> {
+			if (error != null) error.printStackTrace();
+			else SwingUtilities.invokeLater(() -> gui.setIconImage(wofIcon));
+		});
+	}
+
+	/**
+	 * Builds the middle of the window: the logo from the {@link AssetCache}, the wheel, the puzzle board or nothing.
+	 * The wheel's one mouse listener only spins the wheel while the wheel click screen is showing.
+	 */
+	void buildCentre() {
+		wheel = new Wheel(WheelLayout.defaultLayout());
+		wheel.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent click) {
+				if (screen == Screen.WHEEL_CLICK && wheel.detectClicked(click.getX(), click.getY())) wheelSpinAnimationGUI();
+			}
+		});
+		centrePanel.add(new JLabel(AssetCache.icon(AssetCache.LOGO)), LOGO);
+		centrePanel.add(wheel, WHEEL);
+		centrePanel.add(board, BOARD);
+		centrePanel.add(new JPanel(), NONE);
+	}
+
+	/**
+	 * Builds the letter and phrase guess boxes.
+	 */
+	void buildGuessBoxes() {
+		letterBox.setPreferredSize(new Dimension(100, 100));
+		letterBox.setHorizontalAlignment(JFormattedTextField.CENTER);
+		letterBox.setFont(new Font("", Font.BOLD, 80));
+		phraseBox.setPreferredSize(new Dimension(450, 50));
+		phraseBox.setFont(new Font("", Font.PLAIN, 30));
+		phraseBox.setHorizontalAlignment(JFormattedTextField.CENTER);
+
+		JPanel letterPanel = new JPanel();
+		letterPanel.add(letterBox);
+		JPanel phrasePanel = new JPanel();
+		phrasePanel.add(phraseBox);
+		guessPanel.add(new JPanel(), NONE);
+		guessPanel.add(letterPanel, LETTER);
+		guessPanel.add(phrasePanel, PHRASE);
+	}
+
+	/**
+	 * Builds the buttons of every screen and gives each button its one listener.
+	 */
+	void buildButtons() {
+		addButtons(Screen.NEW_GAME.name,
+				button("New game", this::numberOfPlayersGUI),
+				button("Exit", gui::dispose));
+		addButtons(Screen.NUMBER_OF_PLAYERS.name,
+				button("2 players", () -> startGameGUI(2)),
+				button("3 players", () -> startGameGUI(3)),
+				button("4 players", () -> startGameGUI(4)));
+		addButtons(Screen.WHEEL_CLICK.name);
+		addButtons(Screen.WHEEL_SPIN_ANIMATION.name);
+		addButtons(Screen.WHEEL_MONEY.name, button("Guess letter", this::guessLetterGUI));
+		addButtons(Screen.WHEEL_BANKRUPT.name, button("Next Player", this::wheelClickGUI));
+		addButtons(Screen.WHEEL_NEXT_PLAYER.name, button("Next Player", this::wheelClickGUI));
+		addButtons(Screen.GUESS_LETTER.name, button("Guess", () -> {
+			String letterGuess = letterBox.getText();
+			if (letterGuess.isEmpty()) return;
+			game.playerLetterGuess = letterGuess.charAt(0);
+			guessErrorsGUI();
+		}));
+		addButtons(Screen.GUESS_ERRORS.name, button("Continue", () -> {
+			if (letterCheck.equals("guessVowel")) revealLetterGUI();
+			else guessLetterGUI();
+		}));
+		addButtons(NONE);
+		addButtons(Screen.GUESS_LETTER_INCORRECT.name, button("Next Player", this::wheelClickGUI));
+		addButtons(Screen.GUESS_LETTER_CORRECT.name,
+				button("Spin", this::wheelClickGUI),
+				button("Guess phrase", this::guessFullPhraseGUI));
+		addButtons(WINNER, button("Winner", this::gameWinnerGUI));
+		addButtons(Screen.GUESS_FULL_PHRASE.name,
+				button("Back", this::guessLetterCorrectGUI),
+				button("Guess", () -> {
+					if (engine.guessPhrase(phraseBox.getText())) gameWinnerGUI();
+					else guessFullPhraseIncorrectGUI();
+				}));
+		addButtons(Screen.GUESS_FULL_PHRASE_INCORRECT.name, button("Next Player", this::wheelClickGUI));
+		addButtons(Screen.GAME_WINNER.name,
+				button("New game", this::newGameGUI),
+				button("Exit", gui::dispose));
+	}
+
+	/**
+	 * @param text   Text on the button (String)
+	 * @param action Action of the button's one listener (Runnable)
+	 * @return New button (GameButton)
+	 */
+	GameButton button(String text, Runnable action) {
+		GameButton button = new GameButton(text);
+		button.addActionListener(e -> action.run());
+		return button;
+	}
+
+	/**
+	 * Adds a set of buttons to the button panel as one card.
+	 *
+	 * @param card    Name of the card (String)
+	 * @param buttons Buttons on the card (GameButton[])
+	 */
+	void addButtons(String card, GameButton... buttons) {
+		JPanel panel = new JPanel();
+		for (GameButton button : buttons) panel.add(button);
+		buttonPanel.add(panel, card);
+	}
+
+	/**
+	 * Switches to a screen by showing its cards. Records the screen in the {@link GameMetrics}.
+	 *
+	 * @param next    Screen to show (Screen)
+	 * @param buttons Card of buttons to show (String)
+	 */
+	void show(Screen next, String buttons) {
+		screen = next;
+		Engine.metrics.screen(next.name);
+		((CardLayout) centrePanel.getLayout()).show(centrePanel, next.centre);
+		((CardLayout) guessPanel.getLayout()).show(guessPanel, next.guess);
+		((CardLayout) buttonPanel.getLayout()).show(buttonPanel, buttons);
+	}
+
+	/**
+	 * Instantiates a new game object. Displays new game screen with the logo from the {@link AssetCache}.
+	 * The phrase comes from {@link GUI#phrasePack} if one has been opened, otherwise from the built-in phrases,
+	 * in the order of the {@link GUI#scheduler} so no phrase repeats until every phrase has been played.
+	 * Shows a button to go to number of players GUI and an exit application button.
+	 * Ends the recording of the last game, if there is one.
+	 */
+	public void newGameGUI() {
+		stopRecording();
+		if (scheduler == null) scheduler = new PhraseScheduler(Game.phraseCount(phrasePack), GameRandom.nextSeed());
+		game = new Game(phrasePack, scheduler);
+		game.maxGuessEdits = maxGuessEdits;
+		engine = new Engine(game, wheel.layout);
+		board.setGame(game);
+
+		playerLabel.setText("");
+		playerMoneyLabel.setText("");
+		infoLabel.setText("");
+		contentLabel.setText("");
+		show(Screen.NEW_GAME, Screen.NEW_GAME.name);
+
+		gui.setVisible(true);
+	}
+
+	/**
+	 * Displays a GUI that allows the user to click a button to decide the number of players for a game.
+	 * When the user clicks a button, {@link GUI#startGameGUI(int)} calls {@link Game#setNumberOfPlayers(int)}
+	 * with appropriate parameter and calls {@link Game#randomPlayer()} to randomise the starting player.
+	 *
+	 * @see Game#setNumberOfPlayers(int)
+	 * @see Game#randomPlayer()
+	 */
+	public void numberOfPlayersGUI() {
+		playerLabel.setText("New game");
+		playerMoneyLabel.setLines("", "", "", "", "Number of players?");
+		infoLabel.setText("");
+		contentLabel.setText("");
+		show(Screen.NUMBER_OF_PLAYERS, Screen.NUMBER_OF_PLAYERS.name);
+	}
+
+	/**
+	 * Sets the number of players and a random starting player, starts recording the game to the {@link GUI#journal}
+	 * if there is one and its rounds to the {@link GUI#stats}, then calls {@link GUI#wheelClickGUI()} and starts
+	 * recording the game if there is a {@link GUI#recordings} directory.
+	 *
+	 * @param players Number of players (Integer)
+	 * @see GameJournal#attach(Engine)
+	 * @see RoundStats#attach(Engine)
+	 */
+	void startGameGUI(int players) {
+		game.setNumberOfPlayers(players);
+		game.randomPlayer();
+		if (journal != null) journal.attach(engine);
+		stats.attach(engine);
+		wheelClickGUI();
+		if (recordings != null) startRecording();
+	}
+
+	/**
+	 * Offers to carry on with a game recovered from the {@link GameJournal}, at the start of the current player's turn.
+	 * Games that hadn't started or were already solved aren't offered.
+	 *
+	 * @param recovered Engine rebuilt by {@link GameJournal#recover(java.nio.file.Path, WheelLayout)}, or null (Engine)
+	 * @return True if the game was resumed, false if a new game should be started instead (Boolean)
+	 */
+	public boolean resumeGameGUI(Engine recovered) {
+		if (recovered == null || recovered.game.numberOfPlayers == 0 || recovered.solved()) return false;
+		int answer = JOptionPane.showConfirmDialog(null, "Resume the game in progress?", "Wheel of Fortune", JOptionPane.YES_NO_OPTION);
+		if (answer != JOptionPane.YES_OPTION) return false;
+
+		game = recovered.game;
+		engine = recovered;
+		board.setGame(game);
+		if (journal != null) journal.attach(engine);
+		stats.attach(engine);
+		wheelClickGUI();
+		if (recordings != null) startRecording();
+		gui.setVisible(true);
+		return true;
+	}
+
+	/**
+	 * Starts recording the content panel, with the wheel spins and board reveals, to a GIF named after the phrase
+	 * index and seed of the game, which replay it with {@link Game#Game(PhrasePack, int, long)}.
+	 *
+	 * @see SessionRecorder
+	 */
+	void startRecording() {
+		stopRecording();
+		recorder = new SessionRecorder(contentPanel, recordings.resolve("game-" + game.phraseIndex + "-" + Long.toHexString(game.seed) + ".gif"));
+		wheel.recorder = recorder;
+		board.recorder = recorder;
+	}
+
+	/**
+	 * Ends the recording, if there is one. The recorder finishes writing the file in the background.
+	 */
+	void stopRecording() {
+		if (recorder == null) return;
+		recorder.close();
+		wheel.recorder = null;
+		board.recorder = null;
+		recorder = null;
+	}
+
+	/**
+	 * Displays a GUI that shows the current player and draws the wheel to the screen.
+	 * The wheel lays itself out to fit the window with {@link Wheel#layOut()}.
+	 * Clicking the wheel while this screen is showing calls {@link Wheel#detectClicked(int, int)}.
+	 *
+	 * @see Wheel#layOut()
+	 * @see Wheel#detectClicked(int, int)
+	 */
+	public void wheelClickGUI() {
+		playerLabel.setText("Player " + game.displayCurrentPlayer());
+		playerMoneyLabel.setText("");
+		infoLabel.setText("Spin the Wheel");
+		contentLabel.setText("▼");
+
+		show(Screen.WHEEL_CLICK, Screen.WHEEL_CLICK.name);
+	}
+
+	/**
+	 * Instantiates a new quadratic then starts a {@link SpinAnimation} that replays the spin by rotating the wheel image
+	 * with {@link Wheel#rotateTo(double)} to {@link Quadratic#angleAt(double)} for the time elapsed.
+	 * The animation runs on its own render thread, so this returns straight away and the EDT stays free.
+	 * After the wheel has stopped spinning, {@link GUI#wheelLandedGUI()} is called on the EDT.
+	 *
+	 * @see SpinAnimation
+	 * @see Wheel#rotateTo(double)
+	 * @see Quadratic#angleAt(double)
+	 */
+	public void wheelSpinAnimationGUI() {
+		show(Screen.WHEEL_SPIN_ANIMATION, Screen.WHEEL_SPIN_ANIMATION.name);
+		new SpinAnimation(wheel, game.nextSpin(), this::wheelLandedGUI).start();
+	}
+
+	/**
+	 * Applies the sector landed upright by calling {@link Engine#landOn(int)} then calls appropriate GUI function.
+	 *
+	 * @see Engine#landOn(int)
+	 */
+	public void wheelLandedGUI() {
+		int player = game.displayCurrentPlayer();
+		switch (engine.landOn(wheel.sectorLanded)) {
+			case "money":
+				wheelMoneyGUI(engine.spinValue);
+				break;
+			case "bankrupt":
+				wheelBankruptGUI(player);
+				break;
+			case "nextPlayer":
+				wheelNextPlayerGUI();
+				break;
+		}
+	}
+
+	/**
+	 * Displays wheel prize money above the wheel, which {@link Engine#landOn(int)} has already added to the current player.
+	 * Shows a button to go to guess letter screen.
+	 *
+	 * @param wheelPrizeMoney amount of money to display
+	 * @see Engine#landOn(int)
+	 */
+	public void wheelMoneyGUI(int wheelPrizeMoney) {
+		infoLabel.setText("+£" + wheelPrizeMoney);
+		show(Screen.WHEEL_MONEY, Screen.WHEEL_MONEY.name);
+	}
+
+	/**
+	 * Displays the player who spun is now bankrupt and shows a button to spin the wheel.
+	 * {@link Engine#landOn(int)} has already made the player bankrupt and moved to the next player.
+	 *
+	 * @param player player who went bankrupt, as displayed (Integer)
+	 * @see Engine#landOn(int)
+	 */
+	public void wheelBankruptGUI(int player) {
+		infoLabel.setText("Player " + player + " bankrupt");
+		show(Screen.WHEEL_BANKRUPT, Screen.WHEEL_BANKRUPT.name);
+	}
+
+	/**
+	 * Displays the next player is to spin the wheel and shows a button to spin the wheel.
+	 * {@link Engine#landOn(int)} has already moved to the next player.
+	 *
+	 * @see Engine#landOn(int)
+	 */
+	public void wheelNextPlayerGUI() {
+		infoLabel.setText("Next Player");
+		show(Screen.WHEEL_NEXT_PLAYER, Screen.WHEEL_NEXT_PLAYER.name);
+	}
+
+	/**
+	 * Displays a GUI that shows the current player, their money, an empty guess box and a button.
+	 * The user can guess a letter of the phrase by typing in the guess box, then clicking the button.
+	 */
+	public void guessLetterGUI() {
+		letterBox.setText("");
+		playerMoneyLabel.setText("Money: £" + game.currentPlayerMoney());
+		infoLabel.setLines("", "Guess a letter (vowels cost £" + game.vowelCost + ")", "", "", "", "");
+		contentLabel.setText("");
+		show(Screen.GUESS_LETTER, Screen.GUESS_LETTER.name);
+	}
+
+	/**
+	 * Verifies the letter guess by calling {@link Engine#checkLetter(char)}
+	 * and uses return values to display errors.
+	 * Letters that pass are revealed by {@link GUI#revealLetterGUI()}, vowels after the player has seen what they cost.
+	 *
+	 * @see Engine#checkLetter(char)
+	 * @see Engine#revealLetter(char)
+	 */
+	public void guessErrorsGUI() {
+		letterCheck = engine.checkLetter(game.playerLetterGuess);
+		switch (letterCheck) {
+			case "notLetter":
+				infoLabel.setLines("", "Guess must be a letter", "", "", "", "");
+				break;
+			case "alreadyFoundLetter":
+				infoLabel.setLines("", "'" + game.playerLetterGuess + "' has already been found", "", "", "", "");
+				break;
+			case "guessVowel":
+				playerMoneyLabel.setText("Money: £" + game.currentPlayerMoney());
+				infoLabel.setLines("", "-£" + game.vowelCost + " for vowel guess", "", "", "", "");
+				break;
+			case "notEnoughMoney":
+				infoLabel.setLines("", "Not enough money!", "", "", "", "");
+				break;
+			case "verifyLetter":
+				revealLetterGUI();
+				return;
+		}
+		show(Screen.GUESS_ERRORS, Screen.GUESS_ERRORS.name);
+	}
+
+	/**
+	 * Reveals a letter that has passed {@link Engine#checkLetter(char)} by calling {@link Engine#revealLetter(char)}
+	 * then calls the correct or incorrect GUI function. Only the tiles of a correct letter are repainted on the board.
+	 *
+	 * @see PuzzleBoard#reveal(char)
+	 */
+	void revealLetterGUI() {
+		if (engine.revealLetter(game.playerLetterGuess)) {
+			board.reveal(game.playerLetterGuess);
+			guessLetterCorrectGUI();
+		} else guessLetterIncorrectGUI();
+	}
+
+	/**
+	 * Displays that the user's letter guess was incorrect.
+	 * {@link Engine#revealLetter(char)} has already moved to the next player, shows a button that lets them spin the wheel.
+	 */
+	public void guessLetterIncorrectGUI() {
+		infoLabel.setLines("", "Guess '" + game.playerLetterGuess + "' was incorrect", "", "", "", "");
+		show(Screen.GUESS_LETTER_INCORRECT, Screen.GUESS_LETTER_INCORRECT.name);
+	}
+
+	/**
+	 * Displays that the user's guess was correct and shows buttons to spin the wheel or guess the full phrase,
+	 * with a hint from the {@link GUI#advisor}.
+	 * Checks if the guess completes the guess phrase by calling {@link Engine#solved()}
+	 * and if true, shows a button that calls game winner GUI function instead.
+	 *
+	 * @see Engine#solved()
+	 */
+	public void guessLetterCorrectGUI() {
+		playerMoneyLabel.setText("Money: £" + game.currentPlayerMoney());
+		infoLabel.setLines("", "Guess '" + game.playerLetterGuess + "' was correct", "", "+£" + game.rewardLettersFound(game.lettersFound), "", engine.solved() ? "" : hint());
+		show(Screen.GUESS_LETTER_CORRECT, engine.solved() ? WINNER : Screen.GUESS_LETTER_CORRECT.name);
+	}
+
+	/**
+	 * Asks the {@link GUI#advisor} what the current player should do next. No hint is given until the advisor has been
+	 * built, so the EDT never waits for the phrases to be indexed.
+	 *
+	 * @return Hint naming the choice expected to win the most money, or an empty string (String)
+	 * @see Advisor#advise(Engine)
+	 */
+	String hint() {
+		if (advisor == null || !advisor.isDone() || advisor.isCompletedExceptionally()) return "";
+		Advisor.Advice advice = advisor.join().advise(engine);
+		if (advice.candidates == 0) return "";
+		switch (advice.best()) {
+			case "solve":
+				return "Hint: guess the phrase (expected £" + Math.round(advice.expected("solve")) + ")";
+			case "vowel":
+				return "Hint: spin and buy a vowel (expected £" + Math.round(advice.expected("vowel")) + ")";
+			default:
+				return "Hint: spin again (expected £" + Math.round(advice.expected("spin")) + ")";
+		}
+	}
+
+	/**
+	 * Displays a GUI with an empty guess box and a button.
+	 * Allows the user to guess the full phrase.
+	 * When the user clicks the guess button, checks if the guess is correct by
+	 * calling {@link Engine#guessPhrase(String)} then calling appropriate GUI.
+	 * @see Engine#guessPhrase(String)
+	 */
+	public void guessFullPhraseGUI() {
+		phraseBox.setText("");
+		infoLabel.setLines("", "Guess the phrase", "", "", "", "");
+		show(Screen.GUESS_FULL_PHRASE, Screen.GUESS_FULL_PHRASE.name);
+	}
+
+	/**
+	 * Displays the users full phrase guess was incorrect.
+	 * {@link Engine#guessPhrase(String)} has already moved to the next player, shows a button to spin the wheel.
+	 */
+	public void guessFullPhraseIncorrectGUI() {
+		infoLabel.setLines("", "Guess '" + game.playerFullGuess + "' was incorrect", "", "", "", "");
+		show(Screen.GUESS_FULL_PHRASE_INCORRECT, Screen.GUESS_FULL_PHRASE_INCORRECT.name);
+	}
+
+	/**
+	 * Displays that the current player is the winner and displays {@link Game#bonusMoney()} and {@link Game#prizeMoneyTotal()}.
+	 * Shows a button to make a new game and a button to exit the application.
+	 * @see Game#bonusMoney()
+	 * @see	Game#prizeMoneyTotal()
+	 */
+	public void gameWinnerGUI() {
+		playerLabel.setText("Congratulations!");
+		playerMoneyLabel.setText("");
+		infoLabel.setLines("Player " + game.displayCurrentPlayer() + " wins!", "", "Money: £" + game.currentPlayerMoney(), "Bonus: £" + game.bonusMoney(), "Total prize: £" + game.prizeMoneyTotal(), "", "The phrase was:", "");
+		contentLabel.setText("");
+		board.showAll();
+		show(Screen.GAME_WINNER, Screen.GAME_WINNER.name);
+	}
+}
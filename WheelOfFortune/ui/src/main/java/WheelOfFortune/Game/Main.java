@@ -0,0 +1,46 @@
+package WheelOfFortune.Game;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Instantiates a new GUI and calls the new game GUI function.
+ * The {@link AssetCache} starts decoding images and rendering the wheel in the background before the window is built,
+ * then builds the {@link Advisor} for the hints once the phrases are known.
+ * An optional argument is the path of a {@link PhrasePack} to choose phrases from.
+ * The order phrases are played in is saved to the {@link PhraseScheduler} file given by {@code -Dwof.schedule}, if set,
+ * so phrases don't repeat across restarts either.
+ * Games are recorded to a {@link GameJournal} in the directory given by {@code -Dwof.journal}, if set, and a game
+ * left unfinished there is offered to be resumed at startup.
+ * Every game is recorded as a GIF by a {@link SessionRecorder} to the directory given by {@code -Dwof.record}, if set.
+ * Full phrase guesses may be up to {@code -Dwof.guess.maxEdits} edits away from the phrase, 0 by default.
+ * EDT dispatch times are recorded in the {@link GameMetrics} by a {@link MetricsEventQueue}.
+ * The seed of the session is printed so it can be replayed with {@code -Dwof.seed}, see {@link GameRandom}.
+ */
+public class Main {
+    public static void main(String[] args) throws IOException {
+        System.out.println("Seed: " + GameRandom.seed());
+        AssetCache.preload();
+        MetricsEventQueue.install();
+        GUI gui = new GUI(800, 800);
+        gui.maxGuessEdits = Integer.getInteger("wof.guess.maxEdits", 0);
+        if (args.length > 0) gui.phrasePack = new PhrasePack(Paths.get(args[0]));
+        gui.advisor = AssetCache.advisor(gui.phrasePack);
+        String schedule = System.getProperty("wof.schedule");
+        if (schedule != null) gui.scheduler = PhraseScheduler.open(Paths.get(schedule), Game.phraseCount(gui.phrasePack));
+        String journal = System.getProperty("wof.journal");
+        Engine recovered = null;
+        if (journal != null) {
+            try {
+                recovered = GameJournal.recover(Paths.get(journal), gui.wheel.layout);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Couldn't recover the journal in " + journal + ", starting a new game: " + e);
+            }
+            gui.journal = new GameJournal(Paths.get(journal), false);
+        }
+        String record = System.getProperty("wof.record");
+        if (record != null) gui.recordings = Files.createDirectories(Paths.get(record));
+        if (!gui.resumeGameGUI(recovered)) gui.newGameGUI();
+    }
+}
@@ -0,0 +1,212 @@
+package WheelOfFortune.Game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Label of centred lines of text, used by the {@link GUI} instead of a {@link JLabel} with HTML text.
+ * <p>A JLabel given HTML parses it and builds a tree of views on every {@link JLabel#setText(String)}, only to centre
+ * some lines. This label lays each line out from cached {@link GlyphVector}s instead. Lines are split into runs of
+ * digits and runs of everything else. Other runs, such as "Money: £", are cached by their text, and digits are drawn
+ * from ten cached glyph vectors, so changing only the amounts in a message lays nothing out again. The runs of each
+ * line are found when the text is set, so painting only draws them. Changing the text only repaints the label,
+ * unless the lines no longer fit its size, when it is also revalidated.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GUI
+ */
+public class MessageLabel extends JComponent {
+	/**
+	 * Most runs of text kept laid out. Past this the least recently used run is dropped.
+	 */
+	static final int CACHED_RUNS = 128;
+
+	/**
+	 * A run of text laid out in the label's font.
+	 */
+	static class Run {
+		final GlyphVector glyphs;
+		final float advance;
+
+		Run(GlyphVector glyphs) {
+			this.glyphs = glyphs;
+			this.advance = (float) glyphs.getLogicalBounds().getWidth();
+		}
+	}
+
+	final Map<String, Run> runs = new LinkedHashMap<>(CACHED_RUNS, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Run> eldest) {
+			return size() > CACHED_RUNS;
+		}
+	};
+	final Run[] digits = new Run[10];
+	String[] lines = new String[0];
+	/**
+	 * Runs of each line, worked out when the lines are set so painting only draws them.
+	 */
+	Run[][] lineRuns = new Run[0][];
+	float[] widths = new float[0];
+	FontRenderContext context;
+	int lineHeight;
+	int ascent;
+
+	/**
+	 * Constructs an empty label with the colours of a {@link JLabel}.
+	 */
+	public MessageLabel() {
+		setForeground(UIManager.getColor("Label.foreground"));
+		setFont(UIManager.getFont("Label.font"));
+	}
+
+	/**
+	 * Sets the font and drops every cached run.
+	 *
+	 * @param font Font of the text (Font)
+	 */
+	@Override
+	public void setFont(Font font) {
+		super.setFont(font);
+		runs.clear();
+		Arrays.fill(digits, null);
+		measure();
+	}
+
+	/**
+	 * Shows one line of text, or nothing if the text is empty.
+	 *
+	 * @param text Text to show (String)
+	 */
+	public void setText(String text) {
+		if (text.isEmpty()) setLines();
+		else setLines(text);
+	}
+
+	/**
+	 * Shows lines of text centred one above the other. Empty lines are left blank.
+	 *
+	 * @param lines Lines to show (String[])
+	 */
+	public void setLines(String... lines) {
+		Dimension before = getPreferredSize();
+		this.lines = lines;
+		measure();
+		if (!before.equals(getPreferredSize())) revalidate();
+		repaint();
+	}
+
+	/**
+	 * @return Lines showing, joined by new lines (String)
+	 */
+	public String getText() {
+		return String.join("\n", lines);
+	}
+
+	/**
+	 * Splits every line into runs and works out its width and the height of a line.
+	 */
+	void measure() {
+		Font font = getFont();
+		if (font == null) return;
+		FontMetrics metrics = getFontMetrics(font);
+		context = metrics.getFontRenderContext();
+		lineHeight = metrics.getHeight();
+		ascent = metrics.getAscent();
+		if (widths.length != lines.length) {
+			widths = new float[lines.length];
+			lineRuns = new Run[lines.length][];
+		}
+		List<Run> line = new ArrayList<>();
+		for (int n = 0; n < lines.length; n++) {
+			line.clear();
+			float width = 0;
+			String text = lines[n];
+			for (int start = 0, end; start < text.length(); start = end) {
+				end = runEnd(text, start);
+				if (Character.isDigit(text.charAt(start))) {
+					for (int character = start; character < end; character++) line.add(digit(text.charAt(character)));
+				} else line.add(run(text.substring(start, end)));
+			}
+			for (Run run : line) width += run.advance;
+			widths[n] = width;
+			lineRuns[n] = line.toArray(new Run[0]);
+		}
+	}
+
+	/**
+	 * @param line  Line of text (String)
+	 * @param start Start of a run (Integer)
+	 * @return End of the run of digits or of other characters starting at start (Integer)
+	 */
+	static int runEnd(String line, int start) {
+		boolean digit = Character.isDigit(line.charAt(start));
+		int end = start + 1;
+		while (end < line.length() && Character.isDigit(line.charAt(end)) == digit) end++;
+		return end;
+	}
+
+	/**
+	 * @param text Run of text that isn't digits (String)
+	 * @return Cached layout of the run (Run)
+	 */
+	Run run(String text) {
+		Run run = runs.get(text);
+		if (run == null) {
+			run = new Run(getFont().createGlyphVector(context, text));
+			runs.put(text, run);
+		}
+		return run;
+	}
+
+	/**
+	 * @param digit Character from '0' to '9', other digits are laid out as runs (Character)
+	 * @return Cached layout of the digit (Run)
+	 */
+	Run digit(char digit) {
+		if (digit < '0' || digit > '9') return run(String.valueOf(digit));
+		Run run = digits[digit - '0'];
+		if (run == null) {
+			run = new Run(getFont().createGlyphVector(context, String.valueOf(digit)));
+			digits[digit - '0'] = run;
+		}
+		return run;
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet()) return super.getPreferredSize();
+		float width = 0;
+		for (float line : widths) width = Math.max(width, line);
+		Insets insets = getInsets();
+		return new Dimension((int) Math.ceil(width) + insets.left + insets.right, lines.length * lineHeight + insets.top + insets.bottom);
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		if (lines.length == 0) return;
+		Graphics2D graphics2D = (Graphics2D) graphics.create();
+		Object hints = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+		if (hints instanceof Map) graphics2D.addRenderingHints((Map<?, ?>) hints);
+		graphics2D.setColor(getForeground());
+		Insets insets = getInsets();
+		int width = getWidth() - insets.left - insets.right;
+		int top = insets.top + (getHeight() - insets.top - insets.bottom - lines.length * lineHeight) / 2;
+		for (int n = 0; n < lines.length; n++) {
+			float x = insets.left + (width - widths[n]) / 2;
+			float y = top + n * lineHeight + ascent;
+			for (Run run : lineRuns[n]) {
+				graphics2D.drawGlyphVector(run.glyphs, x, y);
+				x += run.advance;
+			}
+		}
+		graphics2D.dispose();
+	}
+}
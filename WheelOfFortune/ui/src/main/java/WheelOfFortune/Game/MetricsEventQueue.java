@@ -0,0 +1,63 @@
+package WheelOfFortune.Game;
+
+import java.awt.*;
+
+/**
+ * Event queue that times how long the Event Dispatch Thread spends on every event.
+ * <p>Each dispatch is recorded in the {@link GameMetrics}. Dispatches longer than a frame are committed as
+ * {@link GameEvents.EdtStall} events, and a dispatch that changes the screen, such as the click that goes from
+ * {@link GUI#wheelClickGUI()} to {@link GUI#wheelSpinAnimationGUI()}, is committed as a
+ * {@link GameEvents.ScreenTransition} event. The events are only created while a recording is running, see
+ * {@link GameEvents#recording}.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GameMetrics
+ */
+public class MetricsEventQueue extends EventQueue {
+
+	/**
+	 * Replaces the system event queue with a metrics event queue.
+	 */
+	public static void install() {
+		Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MetricsEventQueue());
+	}
+
+	@Override
+	protected void dispatchEvent(AWTEvent event) {
+		GameMetrics metrics = Engine.metrics;
+		String screen = metrics.screen;
+		// Only allocated while a recording is running, this runs for every event the EDT dispatches.
+		GameEvents.EdtStall stall = null;
+		GameEvents.ScreenTransition transition = null;
+		if (GameEvents.recording) {
+			stall = new GameEvents.EdtStall();
+			transition = new GameEvents.ScreenTransition();
+			stall.begin();
+			transition.begin();
+		}
+		long start = System.nanoTime();
+
+		super.dispatchEvent(event);
+
+		long nanos = System.nanoTime() - start;
+		metrics.edtDispatch(nanos);
+		if (stall != null) {
+			stall.end();
+			transition.end();
+			if (stall.shouldCommit()) {
+				stall.event = event.getClass().getSimpleName();
+				stall.screen = screen;
+				stall.commit();
+			}
+		}
+		if (!screen.equals(metrics.screen)) {
+			metrics.screenTransition(nanos);
+			if (transition != null && transition.shouldCommit()) {
+				transition.from = screen;
+				transition.to = metrics.screen;
+				transition.commit();
+			}
+		}
+	}
+}
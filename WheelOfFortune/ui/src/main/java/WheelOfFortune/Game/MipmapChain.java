@@ -0,0 +1,75 @@
+package WheelOfFortune.Game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Chain of an image downscaled by halves, so an image of any smaller size can be made from a level no more than
+ * twice its size.
+ * <p>Each level is the level before it scaled by a half with bilinear interpolation. Halving averages every
+ * source pixel into the result, which keeps the fine lines and labels of the wheel sharp where scaling straight
+ * down by more than half would skip pixels and alias. {@link MipmapChain#scaled(int)} finishes with one more bilinear
+ * step from the nearest bigger level, so any size is made with the same quality and never from the full size
+ * source.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Wheel#sprites(WheelLayout, int)
+ */
+public class MipmapChain {
+	final BufferedImage[] levels;
+
+	/**
+	 * Builds the chain by halving the source until the next level would be smaller than the smallest size.
+	 *
+	 * @param source   Full size image, level 0 of the chain (BufferedImage)
+	 * @param smallest Smallest width a level may have (Integer)
+	 */
+	public MipmapChain(BufferedImage source, int smallest) {
+		int count = 1;
+		for (int width = source.getWidth(); width / 2 >= smallest; width /= 2) count++;
+		levels = new BufferedImage[count];
+		levels[0] = source;
+		for (int n = 1; n < count; n++) {
+			BufferedImage previous = levels[n - 1];
+			levels[n] = resize(previous, previous.getWidth() / 2, previous.getHeight() / 2);
+		}
+	}
+
+	/**
+	 * @param width Width needed (Integer)
+	 * @return Smallest level at least as wide, or level 0 if none is (BufferedImage)
+	 */
+	public BufferedImage level(int width) {
+		for (int n = levels.length - 1; n > 0; n--) {
+			if (levels[n].getWidth() >= width) return levels[n];
+		}
+		return levels[0];
+	}
+
+	/**
+	 * Makes a new image of the chain at a square size from the nearest bigger level.
+	 *
+	 * @param size Width and height of the image (Integer)
+	 * @return New display-compatible image (BufferedImage)
+	 */
+	public BufferedImage scaled(int size) {
+		return resize(level(size), size, size);
+	}
+
+	/**
+	 * @param source Image to resize (BufferedImage)
+	 * @param width  Width of the new image (Integer)
+	 * @param height Height of the new image (Integer)
+	 * @return New display-compatible image resized with bilinear interpolation (BufferedImage)
+	 */
+	static BufferedImage resize(BufferedImage source, int width, int height) {
+		BufferedImage resized = WheelSpriteCache.compatibleImage(width, height, null);
+		Graphics2D graphics2D = resized.createGraphics();
+		graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		graphics2D.drawImage(source, 0, 0, width, height, null);
+		graphics2D.dispose();
+		return resized;
+	}
+}
@@ -0,0 +1,239 @@
+package WheelOfFortune.Game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Puzzle board that shows the game phrase as tiles, hidden until their letter is found.
+ * <p>Every tile is copied from one atlas image rendered once per process by {@link PuzzleBoard#atlas()}: a hidden
+ * tile and a revealed tile for every printable ASCII character. Words are wrapped onto rows as a whole, so a long
+ * phrase fills the board row by row instead of running off the side.</p>
+ * <p>{@link PuzzleBoard#reveal(char)} only paints the tiles at the positions of the letter in
+ * {@link Game#letterPositions}, each in its own small paint, and painting only draws the tiles in the rows of the clip,
+ * so a reveal costs the same however long the phrase is. The board is opaque so nothing behind it is painted.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GUI
+ * @see Game#setPhrase(String)
+ */
+public class PuzzleBoard extends JComponent {
+	static final int TILE_WIDTH = 40;
+	static final int TILE_HEIGHT = 54;
+	static final int GAP = 4;
+	/**
+	 * Atlas cell of a hidden tile. Cell {@code c - ' '} is the revealed tile of character {@code c}, and the last cell
+	 * is a revealed tile with nothing on it for characters outside the atlas.
+	 */
+	static final int HIDDEN = 0;
+	static final int BLANK = 127 - ' ';
+	static final Color HIDDEN_COLOUR = new Color(32, 140, 72);
+	static final Color TILE_COLOUR = Color.WHITE;
+	static final Color EDGE_COLOUR = new Color(20, 60, 120);
+	static BufferedImage atlas;
+
+	Game game;
+	/**
+	 * Show every tile revealed, for when the phrase has been guessed in full.
+	 */
+	boolean showAll;
+	/**
+	 * Top left corner of the tile of each position of the phrase, or -1 for spaces.
+	 */
+	int[] tileX = new int[0];
+	int[] tileY = new int[0];
+	/**
+	 * First position of each row and the end of the phrase, so painting can start at the first row in the clip.
+	 */
+	int[] rowStart = {0};
+	int rows;
+	/**
+	 * Top of the first row of tiles.
+	 */
+	int top;
+	int laidOutWidth = -1;
+	/**
+	 * Recorder told about every paint, so reveals are recorded, or null.
+	 */
+	SessionRecorder recorder;
+
+	/**
+	 * Constructs an empty board.
+	 */
+	public PuzzleBoard() {
+		setOpaque(true);
+		setBackground(EDGE_COLOUR);
+		setFont(new Font("", Font.BOLD, 34));
+	}
+
+	/**
+	 * Gets the tile atlas, rendering it the first time. Called early by {@link AssetCache#preload()}.
+	 *
+	 * @return Shared atlas image, not to be drawn on (BufferedImage)
+	 */
+	static synchronized BufferedImage atlas() {
+		if (atlas == null) {
+			BufferedImage rendered = WheelSpriteCache.compatibleImage((BLANK + 1) * TILE_WIDTH, TILE_HEIGHT, null);
+			Graphics2D graphics2D = rendered.createGraphics();
+			graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			graphics2D.setFont(new Font("", Font.BOLD, 34));
+			FontMetrics metrics = graphics2D.getFontMetrics();
+			for (int cell = 0; cell <= BLANK; cell++) {
+				int x = cell * TILE_WIDTH;
+				graphics2D.setColor(cell == HIDDEN ? HIDDEN_COLOUR : TILE_COLOUR);
+				graphics2D.fillRoundRect(x + 1, 1, TILE_WIDTH - 2, TILE_HEIGHT - 2, 8, 8);
+				if (cell == HIDDEN || cell == BLANK) continue;
+				String character = String.valueOf(Character.toUpperCase((char) (cell + ' ')));
+				graphics2D.setColor(Color.BLACK);
+				graphics2D.drawString(character, x + (TILE_WIDTH - metrics.stringWidth(character)) / 2,
+						(TILE_HEIGHT - metrics.getHeight()) / 2 + metrics.getAscent());
+			}
+			graphics2D.dispose();
+			atlas = rendered;
+		}
+		return atlas;
+	}
+
+	/**
+	 * Shows the phrase of a game, with only the letters found so far revealed.
+	 *
+	 * @param game Game to show (Game)
+	 */
+	public void setGame(Game game) {
+		this.game = game;
+		showAll = false;
+		laidOutWidth = -1;
+		revalidate();
+		repaint();
+	}
+
+	/**
+	 * Reveals every tile, for when the phrase has been guessed in full.
+	 */
+	public void showAll() {
+		showAll = true;
+		repaint();
+	}
+
+	/**
+	 * Paints only the tiles of a letter that has just been revealed.
+	 *
+	 * @param letter Letter revealed (Character)
+	 * @see Game#revealLetter(char)
+	 */
+	public void reveal(char letter) {
+		if (letter < 'a' || letter > 'z' || game == null) return;
+		layOut();
+		int[] offsets = game.letterOffsets;
+		boolean showing = isShowing();
+		for (int n = offsets[letter - 'a']; n < offsets[letter - 'a' + 1]; n++) {
+			int position = game.letterPositions[n];
+			if (showing) paintImmediately(tileX[position], tileY[position], TILE_WIDTH, TILE_HEIGHT);
+			else repaint(tileX[position], tileY[position], TILE_WIDTH, TILE_HEIGHT);
+		}
+	}
+
+	@Override
+	public void doLayout() {
+		layOut();
+	}
+
+	/**
+	 * Works out the tile of every position of the phrase for the width of the board, wrapping whole words onto rows.
+	 * Does nothing if the board has already been laid out at this width.
+	 */
+	void layOut() {
+		int width = getWidth() > 0 ? getWidth() : getPreferredSize().width;
+		if (game == null || width == laidOutWidth) return;
+		laidOutWidth = width;
+		String phrase = game.gamePhrase;
+		int columns = Math.max(1, (width - GAP) / (TILE_WIDTH + GAP));
+		if (tileX.length < phrase.length()) {
+			tileX = new int[phrase.length()];
+			tileY = new int[phrase.length()];
+			rowStart = new int[phrase.length() + 2];
+		}
+		int[] rowLengths = new int[phrase.length() + 1];
+		rows = 0;
+		int column = 0;
+		rowStart[0] = 0;
+		for (int start = 0; start < phrase.length(); ) {
+			int end = start;
+			while (end < phrase.length() && phrase.charAt(end) != ' ') end++;
+			int length = end - start;
+			if (column > 0 && column + 1 + length > columns) {
+				rowLengths[rows++] = column;
+				rowStart[rows] = start;
+				column = 0;
+			} else if (column > 0) column++;
+			for (int n = start; n < end; n++) {
+				if (column == columns) {
+					rowLengths[rows++] = column;
+					rowStart[rows] = n;
+					column = 0;
+				}
+				tileX[n] = column++;
+				tileY[n] = rows;
+			}
+			if (end < phrase.length()) tileX[end] = -1;
+			start = end + 1;
+		}
+		rowLengths[rows++] = column;
+		rowStart[rows] = phrase.length();
+		top = Math.max(GAP, (getHeight() - rows * (TILE_HEIGHT + GAP) + GAP) / 2);
+		for (int row = 0; row < rows; row++) {
+			int left = (width - rowLengths[row] * (TILE_WIDTH + GAP) + GAP) / 2;
+			for (int n = rowStart[row]; n < rowStart[row + 1]; n++) {
+				if (tileX[n] < 0) continue;
+				tileX[n] = left + tileX[n] * (TILE_WIDTH + GAP);
+				tileY[n] = top + row * (TILE_HEIGHT + GAP);
+			}
+		}
+	}
+
+	@Override
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet()) return super.getPreferredSize();
+		return new Dimension(16 * (TILE_WIDTH + GAP) + GAP, 4 * (TILE_HEIGHT + GAP) + GAP);
+	}
+
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		if (height != getHeight()) laidOutWidth = -1;
+		super.setBounds(x, y, width, height);
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		Rectangle clip = graphics.getClipBounds();
+		if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+		graphics.setColor(getBackground());
+		graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+		if (game == null) return;
+		layOut();
+		BufferedImage tiles = atlas();
+		String phrase = game.gamePhrase;
+		char[] board = game.guessBoard;
+		for (int row = Math.max(0, (clip.y - top) / (TILE_HEIGHT + GAP)); row < rows; row++) {
+			int y = top + row * (TILE_HEIGHT + GAP);
+			if (y >= clip.y + clip.height) break;
+			for (int n = rowStart[row]; n < rowStart[row + 1]; n++) {
+				int x = tileX[n];
+				if (x < 0 || x + TILE_WIDTH <= clip.x || x >= clip.x + clip.width) continue;
+				char character = showAll ? phrase.charAt(n) : board[n];
+				int cell = character == '-' && !showAll ? HIDDEN : character > ' ' && character < 127 ? character - ' ' : BLANK;
+				int sourceX = cell * TILE_WIDTH;
+				graphics.drawImage(tiles, x, tileY[n], x + TILE_WIDTH, tileY[n] + TILE_HEIGHT,
+						sourceX, 0, sourceX + TILE_WIDTH, TILE_HEIGHT, null);
+				if (cell == BLANK) {
+					graphics.setColor(Color.BLACK);
+					graphics.setFont(getFont());
+					graphics.drawString(String.valueOf(character), x + GAP, tileY[n] + TILE_HEIGHT - GAP * 3);
+				}
+			}
+		}
+		if (recorder != null) recorder.frameDrawn();
+	}
+}
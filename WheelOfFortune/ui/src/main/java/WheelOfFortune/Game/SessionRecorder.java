@@ -0,0 +1,302 @@
+package WheelOfFortune.Game;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records what a component shows, such as the wheel spinning and the board being revealed, to an animated GIF for
+ * replays on venue screens.
+ * <p>The {@link Wheel} and {@link PuzzleBoard} call {@link SessionRecorder#frameDrawn()} after every paint. The
+ * component is then painted again into one of {@link SessionRecorder#RING} reused frame buffers, at most
+ * {@link SessionRecorder#FRAMES_PER_SECOND} times a second. Frames have a fixed size, {@link SessionRecorder#WIDTH}
+ * by {@link SessionRecorder#HEIGHT}, a quarter of the pixels of the window by default, and the component is scaled
+ * to fit them at its current size, so painting it again costs a fraction of the paint on screen and a resized
+ * window is still recorded whole. If every buffer is still waiting to be encoded the frame
+ * is dropped, so recording never waits on the encoder and never holds more than the ring of frames in memory. When
+ * painting stops, the last state is captured by a trailing timer so the recording always ends on what was shown.</p>
+ * <p>An encoder thread takes the frames in order, reduces each to a fixed 256 colour palette, hands the buffer back
+ * and appends the frame to the GIF file, so the file is written as the recording goes and never held in memory.
+ * A frame is shown for the time until the next frame was captured, so the GIF plays at the speed of the game.
+ * If writing the file fails, recording stops and the failure is reported when the recorder is closed.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GUI#startGameGUI(int)
+ */
+public class SessionRecorder implements Runnable {
+	static final int RING = 4;
+	/**
+	 * Most frames captured a second, set with {@code -Dwof.record.fps}.
+	 */
+	static final int FRAMES_PER_SECOND = Integer.getInteger("wof.record.fps", 25);
+	/**
+	 * Size of the frames, set with {@code -Dwof.record.width} and {@code -Dwof.record.height}.
+	 */
+	static final int WIDTH = Math.max(1, Integer.getInteger("wof.record.width", 400));
+	static final int HEIGHT = Math.max(1, Integer.getInteger("wof.record.height", 280));
+	/**
+	 * How long the last frame is shown before the GIF loops, in hundredths of a second.
+	 */
+	static final int LAST_FRAME_DELAY = 300;
+	/**
+	 * Longest the encoder is waited for when the JVM exits before the file is closed.
+	 */
+	static final long EXIT_WAIT_MILLIS = 2000;
+	static final IndexColorModel PALETTE = palette();
+
+	/**
+	 * A reused frame buffer and when it was captured.
+	 */
+	static class Frame {
+		final BufferedImage image;
+		long nanos;
+
+		Frame(BufferedImage image) {
+			this.image = image;
+		}
+	}
+
+	static final Frame END = new Frame(null);
+
+	JComponent source;
+	Path file;
+	final ArrayBlockingQueue<Frame> free = new ArrayBlockingQueue<>(RING);
+	final ArrayBlockingQueue<Frame> filled = new ArrayBlockingQueue<>(RING + 1);
+	final long capturePeriod = TimeUnit.SECONDS.toNanos(1) / FRAMES_PER_SECOND;
+	long nextCapture;
+	/**
+	 * True while the source is being painted into a frame, so that paint doesn't ask for another frame.
+	 */
+	boolean capturing;
+	boolean captureQueued;
+	volatile boolean closed;
+	final Runnable captureTask = this::capture;
+	final Timer trailing;
+	Thread encoder;
+	Thread exitHook;
+	volatile long captured;
+	volatile long dropped;
+	volatile IOException failure;
+	boolean reported;
+
+	/**
+	 * Allocates the ring of frames and starts the encoder thread. Must be called on the EDT.
+	 *
+	 * @param source Component to record (JComponent)
+	 * @param file   GIF file to write, replaced if it exists (Path)
+	 */
+	public SessionRecorder(JComponent source, Path file) {
+		this.source = source;
+		this.file = file;
+		for (int n = 0; n < RING; n++) free.add(new Frame(new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB)));
+		trailing = new Timer((int) TimeUnit.NANOSECONDS.toMillis(capturePeriod), e -> capture());
+		trailing.setRepeats(false);
+
+		encoder = new Thread(this, "session-recorder");
+		encoder.setDaemon(true);
+		encoder.setPriority(Thread.MIN_PRIORITY);
+		encoder.start();
+		exitHook = new Thread(this::finishOnExit, "session-recorder-exit");
+		Runtime.getRuntime().addShutdownHook(exitHook);
+		capture();
+	}
+
+	/**
+	 * @return Palette of a 6 by 6 by 6 colour cube and 40 greys (IndexColorModel)
+	 */
+	static IndexColorModel palette() {
+		byte[] red = new byte[256];
+		byte[] green = new byte[256];
+		byte[] blue = new byte[256];
+		int n = 0;
+		for (int r = 0; r < 6; r++) {
+			for (int g = 0; g < 6; g++) {
+				for (int b = 0; b < 6; b++, n++) {
+					red[n] = (byte) (r * 51);
+					green[n] = (byte) (g * 51);
+					blue[n] = (byte) (b * 51);
+				}
+			}
+		}
+		for (int grey = 0; n < 256; grey++, n++) {
+			byte level = (byte) (grey * 255 / 39);
+			red[n] = level;
+			green[n] = level;
+			blue[n] = level;
+		}
+		return new IndexColorModel(8, 256, red, green, blue);
+	}
+
+	/**
+	 * Asks for a frame after the source or a component in it has been painted. Called on the EDT, the frame is
+	 * captured once the current paint has finished.
+	 */
+	public void frameDrawn() {
+		if (capturing || captureQueued || closed || failure != null) return;
+		captureQueued = true;
+		SwingUtilities.invokeLater(captureTask);
+	}
+
+	/**
+	 * Paints the source, scaled to fit and centred, into a free frame and queues it for the encoder. Does nothing if
+	 * the last frame was captured too recently, no frame is free or the source hasn't been laid out yet, except start
+	 * the trailing timer to try again once painting has stopped.
+	 */
+	void capture() {
+		captureQueued = false;
+		if (closed || failure != null) return;
+		long now = System.nanoTime();
+		int sourceWidth = source.getWidth();
+		int sourceHeight = source.getHeight();
+		Frame frame = now - nextCapture >= 0 && sourceWidth > 0 && sourceHeight > 0 ? free.poll() : null;
+		if (frame == null) {
+			if (now - nextCapture >= 0 && sourceWidth > 0 && sourceHeight > 0) dropped++;
+			trailing.restart();
+			return;
+		}
+		capturing = true;
+		Graphics2D graphics2D = frame.image.createGraphics();
+		try {
+			double scale = Math.min((double) WIDTH / sourceWidth, (double) HEIGHT / sourceHeight);
+			graphics2D.setColor(source.getBackground());
+			graphics2D.fillRect(0, 0, WIDTH, HEIGHT);
+			graphics2D.translate((WIDTH - sourceWidth * scale) / 2, (HEIGHT - sourceHeight * scale) / 2);
+			graphics2D.scale(scale, scale);
+			graphics2D.setClip(0, 0, sourceWidth, sourceHeight);
+			source.paint(graphics2D);
+		} finally {
+			graphics2D.dispose();
+			capturing = false;
+		}
+		frame.nanos = now;
+		nextCapture = now + capturePeriod;
+		captured++;
+		filled.add(frame);
+	}
+
+	/**
+	 * Stops capturing and lets the encoder finish the file in the background. Must be called on the EDT.
+	 * Reports the failure if writing the file has failed, otherwise the encoder reports it if finishing the file fails.
+	 */
+	public void close() {
+		if (closed) return;
+		closed = true;
+		trailing.stop();
+		filled.add(END);
+		try {
+			Runtime.getRuntime().removeShutdownHook(exitHook);
+		} catch (IllegalStateException e) {
+			// Already exiting, the hook waits for the encoder.
+		}
+		if (failure != null) reportFailure();
+	}
+
+	/**
+	 * Prints the failure that stopped the recording, once, from whichever of {@link SessionRecorder#close()} and the
+	 * encoder sees it last.
+	 */
+	synchronized void reportFailure() {
+		if (reported) return;
+		reported = true;
+		System.err.println("Recording to " + file + " failed after " + captured + " frames: " + failure);
+	}
+
+	/**
+	 * Shutdown hook that ends the file if the window is closed while recording. The EDT may be the thread exiting,
+	 * so the end of the recording is queued from here.
+	 */
+	void finishOnExit() {
+		closed = true;
+		filled.offer(END);
+		try {
+			encoder.join(EXIT_WAIT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Encoder loop. A frame is written when the one after it arrives, once its delay is known, and the last frame
+	 * when the recording is closed. Frames are handed back to the ring as soon as they have been reduced to the
+	 * palette, before the slow part of writing them.
+	 */
+	@Override
+	public void run() {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+		BufferedImage indexed = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_INDEXED, PALETTE);
+		Graphics2D indexedGraphics = indexed.createGraphics();
+		boolean first = true;
+		try (ImageOutputStream out = ImageIO.createImageOutputStream(Files.newOutputStream(file))) {
+			writer.setOutput(out);
+			writer.prepareWriteSequence(null);
+			Frame previous = filled.take();
+			while (previous != END) {
+				Frame next = filled.take();
+				int delay = next == END ? LAST_FRAME_DELAY : (int) Math.min(0xFFFF, Math.max(1, (next.nanos - previous.nanos) / 10_000_000));
+				indexedGraphics.drawImage(previous.image, 0, 0, null);
+				free.add(previous);
+				writer.writeToSequence(new IIOImage(indexed, null, metadata(writer, indexed, delay, first)), null);
+				first = false;
+				previous = next;
+			}
+			writer.endWriteSequence();
+		} catch (IOException e) {
+			failure = e;
+			if (closed) reportFailure();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			indexedGraphics.dispose();
+			writer.dispose();
+		}
+	}
+
+	/**
+	 * Builds the GIF metadata of a frame: how long it is shown, and on the first frame the extension that makes the
+	 * GIF loop.
+	 *
+	 * @param writer GIF writer (ImageWriter)
+	 * @param image  Frame to write (BufferedImage)
+	 * @param delay  Time the frame is shown in hundredths of a second (Integer)
+	 * @param first  True for the first frame (Boolean)
+	 * @return Metadata of the frame (IIOMetadata)
+	 * @throws IOException if the metadata can't be set
+	 */
+	static IIOMetadata metadata(ImageWriter writer, BufferedImage image, int delay, boolean first) throws IOException {
+		IIOMetadata metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), null);
+		String format = metadata.getNativeMetadataFormatName();
+		IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+		IIOMetadataNode control = new IIOMetadataNode("GraphicControlExtension");
+		control.setAttribute("disposalMethod", "none");
+		control.setAttribute("userInputFlag", "FALSE");
+		control.setAttribute("transparentColorFlag", "FALSE");
+		control.setAttribute("delayTime", Integer.toString(delay));
+		control.setAttribute("transparentColorIndex", "0");
+		root.appendChild(control);
+		if (first) {
+			IIOMetadataNode extensions = new IIOMetadataNode("ApplicationExtensions");
+			IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+			loop.setAttribute("applicationID", "NETSCAPE");
+			loop.setAttribute("authenticationCode", "2.0");
+			loop.setUserObject(new byte[]{1, 0, 0});
+			extensions.appendChild(loop);
+			root.appendChild(extensions);
+		}
+		metadata.setFromTree(format, root);
+		return metadata;
+	}
+}
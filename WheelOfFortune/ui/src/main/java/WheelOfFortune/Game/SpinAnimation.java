@@ -0,0 +1,94 @@
+package WheelOfFortune.Game;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays the wheel spin animation on its own render thread so the Event Dispatch Thread stays free for input.
+ * <p>A frame is drawn {@link SpinAnimation#FRAMES_PER_SECOND} times a second. Every frame sets the wheel to
+ * {@link Quadratic#angleAt(double)} for the time elapsed since the spin started, and the last frame sets it to
+ * {@link Quadratic#finalAngle()}, so the wheel lands on the same sector as {@link Engine#spin(Quadratic)} and a spin
+ * lasts the same time at any frame rate. Frames that can't be drawn in time are dropped rather than slowing the spin down.</p>
+ * <p>Frames are requested with {@link Wheel#repaint()}, which Swing coalesces and paints on the EDT.
+ * When the wheel stops, the callback is run on the EDT. The time the spin took is recorded in the
+ * {@link GameMetrics} and, only while a recording is running, as a {@link GameEvents.Spin} event, see
+ * {@link GameEvents#recording}.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see GUI#wheelSpinAnimationGUI()
+ */
+public class SpinAnimation implements Runnable {
+	static final int FRAMES_PER_SECOND = 60;
+	static final long STOPPED_PAUSE_MILLIS = 100;
+
+	Wheel wheel;
+	Quadratic quadratic;
+	Runnable onStopped;
+
+	/**
+	 * @param wheel     Wheel to rotate and repaint (Wheel)
+	 * @param quadratic Quadratic to spin the wheel with (Quadratic)
+	 * @param onStopped Called on the EDT after the wheel has stopped (Runnable)
+	 */
+	public SpinAnimation(Wheel wheel, Quadratic quadratic, Runnable onStopped) {
+		this.wheel = wheel;
+		this.quadratic = quadratic;
+		this.onStopped = onStopped;
+	}
+
+	/**
+	 * Starts the animation on a new daemon render thread and returns straight away.
+	 */
+	public void start() {
+		Thread renderThread = new Thread(this, "wheel-spin");
+		renderThread.setDaemon(true);
+		renderThread.start();
+	}
+
+	/**
+	 * Render loop. Sets the wheel to the rotation for the time elapsed, requests a frame, then parks until the next frame is due.
+	 */
+	@Override
+	public void run() {
+		long framePeriod = TimeUnit.SECONDS.toNanos(1) / FRAMES_PER_SECOND;
+		long start = System.nanoTime();
+		long nextFrame = start;
+		double startRadians = wheel.rotateByRadians;
+		double duration = quadratic.durationSeconds();
+		boolean spinning = true;
+		int frames = 0;
+		GameEvents.Spin event = null;
+		if (GameEvents.recording) {
+			event = new GameEvents.Spin();
+			event.begin();
+		}
+
+		while (spinning) {
+			double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+			if (seconds >= duration) {
+				spinning = false;
+				wheel.rotateTo(Engine.rotate(startRadians, quadratic.finalAngle()));
+			} else wheel.rotateTo(Engine.rotate(startRadians, quadratic.angleAt(seconds)));
+			wheel.repaint();
+			frames++;
+			if (!spinning) break;
+
+			nextFrame += framePeriod;
+			long wait = nextFrame - System.nanoTime();
+			if (wait > 0) LockSupport.parkNanos(wait);
+			else nextFrame = System.nanoTime();
+		}
+
+		Engine.metrics.spin(System.nanoTime() - start);
+		if (event != null) {
+			event.frames = frames;
+			event.sector = wheel.sectorLanded;
+			event.commit();
+		}
+
+		LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(STOPPED_PAUSE_MILLIS));
+		SwingUtilities.invokeLater(onStopped);
+	}
+}
@@ -0,0 +1,307 @@
+package WheelOfFortune.Game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Wheel class for wheel of fortune game. Most of this class is mathematical functions.
+ * This class extends JComponent to override the paintComponent of JComponent with custom painting.
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ */
+public class Wheel extends JComponent {
+	/**
+	 * Number of pre-rotated frames in a full revolution, set with {@code -Dwof.wheel.frames}.
+	 */
+	static final int SPRITE_FRAMES = Integer.getInteger("wof.wheel.frames", 180);
+	/**
+	 * Most memory the pre-rotated frames may use, set with {@code -Dwof.wheel.cacheBytes}.
+	 */
+	static final long SPRITE_BUDGET_BYTES = Long.getLong("wof.wheel.cacheBytes", 128L << 20);
+	/**
+	 * Blends the two nearest frames instead of snapping to one, set with {@code -Dwof.wheel.blend=true}.
+	 */
+	static final boolean SPRITE_BLEND = Boolean.getBoolean("wof.wheel.blend");
+	/**
+	 * Diameter of the wheel in the default 800 by 800 window, used until the wheel is laid out.
+	 */
+	static final int DIAMETER = 400;
+	/**
+	 * Diameter the wheel image is rendered at from the layout, the top of the {@link MipmapChain}, set with
+	 * {@code -Dwof.wheel.maxDiameter}. Big enough for a wheel filling the height of a 4K screen.
+	 */
+	static final int MAX_DIAMETER = Integer.getInteger("wof.wheel.maxDiameter", 2048);
+	static final int MIN_DIAMETER = 64;
+	/**
+	 * Device pixel sizes of the wheel are rounded down to a multiple of this, so resizing the window a few pixels at a
+	 * time doesn't make new frames for every pixel.
+	 */
+	static final int SIZE_STEP = 16;
+	static MipmapChain mipmaps;
+	static WheelSpriteCache spriteCache;
+	static WheelLayout spriteLayout;
+
+	volatile double rotateByRadians;
+	int sectorLanded;
+	int radius;
+	/**
+	 * Diameter of the wheel in user space, the largest that fits the component.
+	 */
+	int diameter = DIAMETER;
+	/**
+	 * Device pixels per user space pixel of the screen the wheel was last painted on.
+	 */
+	double scale = 1;
+	int imageX;
+	int imageY = 3;
+	int centreX;
+	int centreY;
+	int xPower2;
+	int yPower2;
+	int rPower2;
+	WheelSpriteCache sprites;
+	WheelLayout layout;
+	/**
+	 * Recorder told about every frame drawn, or null.
+	 */
+	SessionRecorder recorder;
+
+	/**
+	 * Constructs the default wheel.
+	 *
+	 * @see WheelLayout#defaultLayout()
+	 */
+	public Wheel() {
+		this(WheelLayout.defaultLayout());
+	}
+
+	/**
+	 * Constructor gets the frames of the wheel at its default size and sets the radius of the wheel.
+	 * The first wheel with a layout also renders the wheel image and its {@link MipmapChain} and starts rendering
+	 * its frames.
+	 *
+	 * @param layout Layout of the wheel (WheelLayout)
+	 */
+	public Wheel(WheelLayout layout) {
+		this.layout = layout;
+		sprites = sprites(layout);
+		radius = diameter / 2;
+	}
+
+	/**
+	 * Gets the frames of a layout at the default size. Called early by {@link AssetCache#preload()} so the first
+	 * wheel doesn't have to wait.
+	 *
+	 * @param layout Layout of the wheel (WheelLayout)
+	 * @return Frames of the wheel (WheelSpriteCache)
+	 * @see Wheel#sprites(WheelLayout, int)
+	 */
+	static WheelSpriteCache sprites(WheelLayout layout) {
+		return sprites(layout, DIAMETER);
+	}
+
+	/**
+	 * Gets the {@link WheelSpriteCache} of a layout at a size in device pixels. If the layout is new, renders the
+	 * wheel image at {@link Wheel#MAX_DIAMETER} and builds its {@link MipmapChain}. If the size is new, scales the
+	 * wheel image from the nearest level of the chain and starts rendering its frames, and stops rendering the frames
+	 * of the old size. Only the frames of one size are kept.
+	 *
+	 * @param layout Layout of the wheel (WheelLayout)
+	 * @param size   Diameter of the frames in device pixels (Integer)
+	 * @return Frames of the wheel (WheelSpriteCache)
+	 */
+	static synchronized WheelSpriteCache sprites(WheelLayout layout, int size) {
+		if (mipmaps == null || spriteLayout != layout) {
+			mipmaps = new MipmapChain(renderImage(layout, MAX_DIAMETER), MIN_DIAMETER);
+			spriteLayout = layout;
+			if (spriteCache != null) spriteCache.close();
+			spriteCache = null;
+		}
+		if (spriteCache == null || spriteCache.source.getWidth() != size) {
+			if (spriteCache != null) spriteCache.close();
+			spriteCache = new WheelSpriteCache(mipmaps.scaled(size), SPRITE_FRAMES, SPRITE_BUDGET_BYTES, SPRITE_BLEND);
+			spriteCache.prerender();
+		}
+		return spriteCache;
+	}
+
+	/**
+	 * Lays the wheel out whenever the component is resized.
+	 */
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		super.setBounds(x, y, width, height);
+		layOut();
+	}
+
+	/**
+	 * Sizes the wheel to the largest circle that fits the component, centred along the top, and calculates the image
+	 * X coordinate (top left corner of the wheel image) and the centre x and y coordinates of the wheel.
+	 * <p>The frames are made at the size of the wheel in device pixels, so with {@link Wheel#scale} of 2 on a HiDPI
+	 * screen they have twice the diameter. The diameter is rounded down to the size of the frames, so at whole number
+	 * scales they are drawn without scaling. Frames of a new size are scaled once from the {@link MipmapChain},
+	 * never while painting.</p>
+	 */
+	void layOut() {
+		int fits = Math.max(MIN_DIAMETER, Math.min(getWidth(), getHeight() - imageY * 2));
+		int size = Math.min(MAX_DIAMETER, Math.max(SIZE_STEP, (int) (fits * scale) / SIZE_STEP * SIZE_STEP));
+		diameter = (int) Math.round(size / scale);
+		radius = diameter / 2;
+		imageX = (getWidth() - diameter) / 2;
+		centreX = imageX + radius;
+		centreY = imageY + radius;
+		if (sprites.source.getWidth() != size) sprites = sprites(layout, size);
+	}
+
+	/**
+	 * Detects if the wheel has been clicked.
+	 * <p>Function is used inside an action listener and takes in the x and y values of the click
+	 * as parameters.</p>
+	 * <p>Uses the equation of a circle, the centre coordinates of the wheel and the radius of the wheel, to detect
+	 * if the clicked x and y coordinates are within the wheel.</p>
+	 * <p>Returns true if the user clicks within the wheel.</p>
+	 *
+	 * @param clickX X position of the users click
+	 * @param clickY Y position of the users click
+	 * @return True/false (Boolean)
+	 */
+	public boolean detectClicked(int clickX, int clickY) {
+		xPower2 = (clickX - centreX) * (clickX - centreX);
+		yPower2 = (clickY - centreY) * (clickY - centreY);
+		rPower2 = radius * radius;
+		return xPower2 + yPower2 <= rPower2;
+	}
+
+	/**
+	 * <p>Calculates the rotation of a new wheel image within the spin animation.
+	 *  Also, calculates which sector landed at 90 degrees.</p>
+	 * <p>Converts the y value of a mathematical function into radians.</p>
+	 * <p>Then take radians mod PI * 2.
+	 * This is to make sure the {@link Wheel#rotateByRadians} value doesn't increase
+	 * infinitely by resetting back to 0 when the wheel makes a full revolution.</p>
+	 * <p>The {@link Wheel#sectorLanded} is looked up in the {@link WheelLayout} with {@link WheelLayout#sectorAt(double)}.</p>
+	 * <p>The maths is shared with the headless {@link Engine} so the GUI and simulations land on the same sectors.</p>
+	 * <p>The wheel is also turned from the {@link SpinAnimation} render thread, {@link Wheel#rotateByRadians} is volatile so that
+	 * {@link Wheel#paintComponent(Graphics)} on the EDT always draws the latest rotation.</p>
+	 *
+	 * @param y Y value of a mathematical function
+	 */
+	public void rotate(double y) {
+		rotateByRadians = Engine.rotate(rotateByRadians, y);
+		sectorLanded = layout.sectorAt(rotateByRadians);
+	}
+
+	/**
+	 * Sets the rotation of the wheel and calculates which sector landed at 90 degrees.
+	 * Used by {@link SpinAnimation} to replay a spin whose final angle is already known.
+	 *
+	 * @param radians Rotation in radians (Double)
+	 * @see Quadratic#angleAt(double)
+	 */
+	public void rotateTo(double radians) {
+		rotateByRadians = radians;
+		sectorLanded = layout.sectorAt(radians);
+	}
+
+	/**<p>Overrides the JComponent paintComponent.</p>
+	 * Draws the wheel image rotated by the class variable {@link Wheel#rotateByRadians}, using the nearest
+	 * pre-rotated frame from the {@link WheelSpriteCache} instead of resampling the image every frame.
+	 * If the wheel is painted on a screen with a different scale, it is laid out again for the next frame.
+	 * Calling the function {@link Wheel#rotateTo(double)} then {@link Wheel#repaint()} from the
+	 * {@link SpinAnimation} render loop gives the illusion that the wheel is spinning.
+	 * Each paint is timed into the {@link GameMetrics}, committed as a {@link GameEvents.Frame} event only while a
+	 * recording is running, see {@link GameEvents#recording}, then passed on to the {@link Wheel#recorder}, except the
+	 * paints the recorder makes itself.
+	 * @param g graphics
+	 */
+	@Override
+	public void paintComponent(Graphics g) {
+		if (recorder != null && recorder.capturing) {
+			sprites.draw((Graphics2D) g, rotateByRadians, imageX, imageY, diameter);
+			return;
+		}
+		GameEvents.Frame event = null;
+		if (GameEvents.recording) {
+			event = new GameEvents.Frame();
+			event.begin();
+		}
+		long start = System.nanoTime();
+		Graphics2D graphics2D = (Graphics2D) g;
+		double paintScale = graphics2D.getTransform().getScaleX();
+		if (paintScale != scale && paintScale > 0) {
+			scale = paintScale;
+			layOut();
+		}
+		sprites.draw(graphics2D, rotateByRadians, imageX, imageY, diameter);
+		Engine.metrics.frame(System.nanoTime() - start);
+		if (event != null) event.commit();
+		if (recorder != null) recorder.frameDrawn();
+	}
+
+	/**Renders the image of a wheel from its layout.
+	 * <p>The sector upright at rotation 0 is drawn just left of the top of the wheel and later sectors carry on
+	 * anticlockwise, so turning the image clockwise by a rotation brings the sector
+	 * {@link WheelLayout#sectorAt(double)} finds for it under the pointer. Labels are drawn across each sector near the rim,
+	 * with {@code |} starting a new line further in.</p>
+	 * @param layout Layout of the wheel (WheelLayout)
+	 * @param diameter Width and height of the image (Integer)
+	 * @return Image of the wheel used in the game
+	 */
+	static BufferedImage renderImage(WheelLayout layout, int diameter) {
+		BufferedImage image = new BufferedImage(diameter, diameter, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2D = image.createGraphics();
+		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+		double centre = diameter / 2.0;
+		double outline = Math.max(2, diameter / 100.0);
+		double wheelRadius = centre - outline;
+		graphics2D.setStroke(new BasicStroke((float) outline));
+
+		for (int n = 0; n < layout.size(); n++) {
+			double start = Math.toDegrees(layout.starts[n]);
+			double extent = Math.toDegrees(layout.starts[n + 1]) - start;
+			Arc2D sector = new Arc2D.Double(centre - wheelRadius, centre - wheelRadius, wheelRadius * 2, wheelRadius * 2,
+					90 + start, extent, Arc2D.PIE);
+			graphics2D.setColor(new Color(layout.colours[n]));
+			graphics2D.fill(sector);
+			graphics2D.setColor(Color.BLACK);
+			graphics2D.draw(sector);
+		}
+
+		Font font = new Font(Font.SERIF, Font.BOLD, Math.max(8, diameter / 10));
+		FontRenderContext context = graphics2D.getFontRenderContext();
+		for (int n = 0; n < layout.size(); n++) {
+			String[] lines = layout.labels[n].split("\\|");
+			double extent = layout.starts[n + 1] - layout.starts[n];
+			Font sectorFont = font.deriveFont((float) Math.min(font.getSize2D(),
+					font.getSize2D() * extent / (Math.PI / 4) * (lines.length > 1 ? 0.6 : 1)));
+			Graphics2D label = (Graphics2D) graphics2D.create();
+			label.translate(centre, centre);
+			label.rotate(-(layout.starts[n] + layout.starts[n + 1]) / 2);
+			label.setFont(sectorFont);
+			label.setColor(Color.BLACK);
+			double baseline = -wheelRadius * 0.95;
+			for (String line : lines) {
+				Rectangle2D bounds = sectorFont.getStringBounds(line, context);
+				double maxWidth = 2 * Math.abs(baseline) * Math.tan(Math.min(extent, Math.PI / 2) / 2) * 0.8;
+				Font lineFont = bounds.getWidth() > maxWidth ? sectorFont.deriveFont((float) (sectorFont.getSize2D() * maxWidth / bounds.getWidth())) : sectorFont;
+				Rectangle2D lineBounds = lineFont.getStringBounds(line, context);
+				label.setFont(lineFont);
+				baseline += lineBounds.getHeight() * 0.8;
+				label.drawString(line, (float) -lineBounds.getCenterX(), (float) baseline);
+				baseline += lineBounds.getHeight() * 0.2;
+			}
+			label.dispose();
+		}
+		graphics2D.dispose();
+		return image;
+	}
+}
+
+
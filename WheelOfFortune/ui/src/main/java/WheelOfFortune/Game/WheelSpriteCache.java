@@ -0,0 +1,180 @@
+package WheelOfFortune.Game;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache of pre-rotated frames of the wheel image, so the wheel doesn't have to be resampled at an arbitrary angle
+ * every time it is painted.
+ * <p>A full revolution is divided into {@link WheelSpriteCache#frameCount} frames and a rotation is snapped to the
+ * nearest one. With blending on, the two frames either side of the rotation are drawn over each other instead.
+ * Frames are rendered lazily the first time they are needed, or ahead of time on a background thread by
+ * {@link WheelSpriteCache#prerender()}.</p>
+ * <p>Frames are display-compatible images so Java2D can keep them in video memory. Once the frames held use more than
+ * {@link WheelSpriteCache#budgetBytes} the least recently drawn frames are evicted.</p>
+ *
+ * @author Harry Bridgen
+ * @version 1.0
+ * @see Wheel#paintComponent(Graphics)
+ */
+public class WheelSpriteCache {
+	BufferedImage source;
+	int frameCount;
+	long budgetBytes;
+	long frameBytes;
+	boolean blend;
+	/**
+	 * Set once these frames are no longer drawn, to stop {@link WheelSpriteCache#prerender()}.
+	 */
+	volatile boolean closed;
+	long bytesHeld;
+	LinkedHashMap<Integer, BufferedImage> frames = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * @param source      Wheel image at rotation 0 (BufferedImage)
+	 * @param frameCount  Number of frames in a full revolution (Integer)
+	 * @param budgetBytes Most memory the frames may use before they are evicted (Long)
+	 * @param blend       True to blend the two nearest frames instead of snapping to one (Boolean)
+	 */
+	public WheelSpriteCache(BufferedImage source, int frameCount, long budgetBytes, boolean blend) {
+		this.source = source;
+		this.frameCount = frameCount;
+		this.budgetBytes = budgetBytes;
+		this.blend = blend;
+		frameBytes = (long) source.getWidth() * source.getHeight() * 4;
+	}
+
+	/**
+	 * Draws the wheel rotated by the given angle, snapped to the nearest frame or blended between the two nearest.
+	 * The frames are already the size of the wheel in device pixels, so drawing them at the size in user space
+	 * copies them pixel for pixel.
+	 *
+	 * @param graphics2D Graphics to draw to (Graphics2D)
+	 * @param radians    Rotation of the wheel (Double)
+	 * @param x          X position of the top left corner of the wheel (Integer)
+	 * @param y          Y position of the top left corner of the wheel (Integer)
+	 * @param size       Diameter of the wheel in user space (Integer)
+	 */
+	public void draw(Graphics2D graphics2D, double radians, int x, int y, int size) {
+		double position = normalise(radians) / (Math.PI * 2) * frameCount;
+		if (!blend) {
+			graphics2D.drawImage(frame((int) Math.round(position) % frameCount, graphics2D), x, y, size, size, null);
+			return;
+		}
+		int before = (int) Math.floor(position) % frameCount;
+		float weight = (float) (position - Math.floor(position));
+		graphics2D.drawImage(frame(before, graphics2D), x, y, size, size, null);
+		if (weight > 0) {
+			Composite composite = graphics2D.getComposite();
+			graphics2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, weight));
+			graphics2D.drawImage(frame((before + 1) % frameCount, graphics2D), x, y, size, size, null);
+			graphics2D.setComposite(composite);
+		}
+	}
+
+	/**
+	 * Renders every frame that fits in the budget on a background thread, so spins don't have to render frames lazily.
+	 */
+	public void prerender() {
+		ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "wheel-sprites");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+		executor.execute(() -> {
+			long framesInBudget = Math.min(frameCount, budgetBytes / frameBytes);
+			for (int n = 0; n < framesInBudget && !closed; n++) frame(n, null);
+		});
+		executor.shutdown();
+	}
+
+	/**
+	 * Stops {@link WheelSpriteCache#prerender()} rendering any more frames, once the wheel is drawn at another size.
+	 */
+	public void close() {
+		closed = true;
+	}
+
+	/**
+	 * Finds a frame in the cache, or renders it and evicts the least recently used frames if the budget is used up.
+	 * Rendering happens outside the lock, so a frame needed by the EDT is never held up by the background thread
+	 * for longer than one cache lookup.
+	 *
+	 * @param index    Index of the frame (Integer)
+	 * @param graphics Graphics the frame will be drawn to, used to make a compatible image, or null (Graphics2D)
+	 * @return Frame (BufferedImage)
+	 */
+	BufferedImage frame(int index, Graphics2D graphics) {
+		synchronized (this) {
+			BufferedImage cached = frames.get(index);
+			if (cached != null) return cached;
+		}
+		BufferedImage rendered = render(index, graphics);
+		synchronized (this) {
+			BufferedImage cached = frames.get(index);
+			if (cached != null) return cached;
+			frames.put(index, rendered);
+			bytesHeld += frameBytes;
+			Iterator<Map.Entry<Integer, BufferedImage>> eldest = frames.entrySet().iterator();
+			while (bytesHeld > budgetBytes && eldest.hasNext()) {
+				if (eldest.next().getKey() == index) continue;
+				eldest.remove();
+				bytesHeld -= frameBytes;
+			}
+		}
+		return rendered;
+	}
+
+	/**
+	 * Renders one frame by rotating the source image about its centre with bicubic interpolation.
+	 *
+	 * @param index    Index of the frame (Integer)
+	 * @param graphics Graphics the frame will be drawn to, or null (Graphics2D)
+	 * @return New frame (BufferedImage)
+	 */
+	BufferedImage render(int index, Graphics2D graphics) {
+		BufferedImage frame = compatibleImage(source.getWidth(), source.getHeight(), graphics);
+		Graphics2D frameGraphics = frame.createGraphics();
+		frameGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		frameGraphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		frameGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		frameGraphics.drawImage(source, AffineTransform.getRotateInstance(Math.PI * 2 * index / frameCount,
+				source.getWidth() / 2.0, source.getHeight() / 2.0), null);
+		frameGraphics.dispose();
+		return frame;
+	}
+
+	/**
+	 * Makes a translucent image in the format of the screen, so drawing it needs no conversion.
+	 * Falls back to a premultiplied ARGB image when there is no screen.
+	 *
+	 * @param width    Width of the image (Integer)
+	 * @param height   Height of the image (Integer)
+	 * @param graphics Graphics the image will be drawn to, or null (Graphics2D)
+	 * @return New image (BufferedImage)
+	 */
+	static BufferedImage compatibleImage(int width, int height, Graphics2D graphics) {
+		GraphicsConfiguration configuration = graphics == null ? null : graphics.getDeviceConfiguration();
+		if (configuration == null && !GraphicsEnvironment.isHeadless()) {
+			configuration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+		}
+		if (configuration == null) return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+		return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+
+	/**
+	 * @param radians Rotation (Double)
+	 * @return Rotation between 0 and 2PI (Double)
+	 */
+	static double normalise(double radians) {
+		double normalised = radians % (Math.PI * 2);
+		return normalised < 0 ? normalised + Math.PI * 2 : normalised;
+	}
+}